@@ -0,0 +1,134 @@
+package com.scrabble.backend.dictionary;
+
+import com.scrabble.dictionary.CachingDictionary;
+import com.scrabble.dictionary.DawgDictionary;
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.FstDictionary;
+import com.scrabble.dictionary.FstGaddag;
+import com.scrabble.dictionary.PatchedDictionary;
+import com.scrabble.dictionary.ShardedDictionary;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import com.scrabble.dictionary.format.DictionaryPatchIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+
+// Loads the word artifact, a Lucene FST, a flat DAWG or per-letter shards as its meta says, and,
+// when present, the GADDAG built from the same source list. Word lookups go through a cache
+// owned by the version, so cached answers never outlive the artifacts they came from. A patch
+// next to the word artifact is laid over it; the GADDAG cannot see the patch, so it is left out
+// until the patch is folded into a full compile.
+@RequiredArgsConstructor
+final class DictionaryArtifacts implements ReloadableDictionary.Source {
+  private final DictionaryProperties properties;
+
+  // Hashes the meta bytes rather than its source hash: the meta carries createdAt, so any
+  // recompile changes it, even one that folds a patch or only switches encoding or layout.
+  @Override
+  public String fingerprint() throws IOException {
+    String metaSha256 = sha256(Files.readAllBytes(properties.getMetaPath()));
+    Path patchPath = DictionaryPaths.patchPathFor(properties.getFstPath());
+    if (!Files.exists(patchPath)) {
+      return metaSha256;
+    }
+    return metaSha256 + "+" + sha256(Files.readAllBytes(patchPath));
+  }
+
+  // The fingerprint is taken before reading the artifacts, so a change landing mid-load shows up
+  // as a different fingerprint on the next check.
+  @Override
+  public DictionaryVersion load(long number) throws IOException {
+    String fingerprint = fingerprint();
+    DictionaryMeta meta = DictionaryMetaIO.read(properties.getMetaPath());
+    List<Closeable> resources = new ArrayList<>();
+    try {
+      DictionaryPatch patch = loadPatch(meta);
+      Dictionary dictionary = loadWords(meta, resources);
+      if (patch != null) {
+        dictionary = new PatchedDictionary(dictionary, patch);
+      }
+      dictionary = cached(dictionary);
+      FstGaddag gaddag = patch == null ? loadGaddag(meta) : null;
+      if (gaddag != null) {
+        resources.add(gaddag);
+      }
+      return new DictionaryVersion(number, fingerprint, meta, dictionary, gaddag, resources);
+    } catch (IOException | RuntimeException e) {
+      for (Closeable resource : resources) {
+        resource.close();
+      }
+      throw e;
+    }
+  }
+
+  private Dictionary loadWords(DictionaryMeta meta, List<Closeable> resources)
+      throws IOException {
+    if (DictionaryFormat.LAYOUT_SHARDED.equals(meta.layout())) {
+      ShardedDictionary sharded = ShardedDictionary.load(
+          properties.getFstPath(), properties.getMetaPath(), properties.getLoadMode());
+      resources.add(sharded);
+      return sharded;
+    }
+    if (meta.usesDawg()) {
+      DawgDictionary dawg = DawgDictionary.load(
+          properties.getFstPath(), properties.getMetaPath(), properties.getLoadMode());
+      resources.add(dawg);
+      return dawg;
+    }
+    FstDictionary fst = FstDictionary.load(
+        properties.getFstPath(), properties.getMetaPath(), properties.getLoadMode());
+    resources.add(fst);
+    return fst;
+  }
+
+  private DictionaryPatch loadPatch(DictionaryMeta meta) throws IOException {
+    Path patchPath = DictionaryPaths.patchPathFor(properties.getFstPath());
+    if (!Files.exists(patchPath)) {
+      return null;
+    }
+    DictionaryPatch patch = DictionaryPatchIO.read(patchPath);
+    if (!meta.sourceSha256().equals(patch.baseSha256())) {
+      throw new IllegalStateException("Patch was made for a different word list");
+    }
+    return patch.size() == 0 ? null : patch;
+  }
+
+  private Dictionary cached(Dictionary dictionary) {
+    if (properties.getCacheSize() <= 0) {
+      return dictionary;
+    }
+    return new CachingDictionary(dictionary, properties.getCacheSize());
+  }
+
+  private FstGaddag loadGaddag(DictionaryMeta meta) throws IOException {
+    Path gaddagPath = DictionaryPaths.gaddagPathFor(properties.getFstPath());
+    Path metaPath = DictionaryPaths.metaPathFor(gaddagPath);
+    if (!Files.exists(gaddagPath) || !Files.exists(metaPath)) {
+      return null;
+    }
+    DictionaryMeta gaddagMeta = DictionaryMetaIO.read(metaPath);
+    if (!meta.sourceSha256().equals(gaddagMeta.sourceSha256())) {
+      throw new IllegalStateException("GADDAG was built from a different word list");
+    }
+    return FstGaddag.load(gaddagPath, metaPath, properties.getLoadMode());
+  }
+
+  private static String sha256(byte[] content) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
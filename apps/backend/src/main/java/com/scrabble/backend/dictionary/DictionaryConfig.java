@@ -1,7 +1,5 @@
 package com.scrabble.backend.dictionary;
 
-import com.scrabble.dictionary.Dictionary;
-import com.scrabble.dictionary.FstDictionary;
 import java.io.IOException;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -12,7 +10,11 @@ import org.springframework.context.annotation.Configuration;
 public class DictionaryConfig {
 
   @Bean
-  public Dictionary dictionary(DictionaryProperties properties) throws IOException {
-    return FstDictionary.load(properties.getFstPath(), properties.getMetaPath());
+  public ReloadableDictionary dictionary(DictionaryProperties properties) throws IOException {
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties));
+    if (properties.getReloadInterval() != null && !properties.getReloadInterval().isZero()) {
+      dictionary.watch(properties.getReloadInterval());
+    }
+    return dictionary;
   }
 }
@@ -1,19 +1,38 @@
 package com.scrabble.backend.dictionary;
 
+import com.scrabble.dictionary.AnagramQuery;
 import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.WordPattern;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequestMapping("/api/dictionary")
 @RequiredArgsConstructor
 public class DictionaryController {
+  static final int MAX_LETTERS = 15;
+  static final int MAX_BLANKS = 2;
+  static final int MAX_LIMIT = 10_000;
+  static final int MAX_BATCH = 10_000;
+  static final Duration SEARCH_BUDGET = Duration.ofSeconds(2);
+
   private final Dictionary dictionary;
 
   @GetMapping("/contains")
@@ -21,6 +40,70 @@ public class DictionaryController {
     return new DictionaryResponse(word, dictionary.contains(word));
   }
 
+  @PostMapping("/contains-batch")
+  public ResponseEntity<ContainsBatchResponse> containsBatch(@RequestBody ContainsBatchRequest request) {
+    List<String> words = request.getWords();
+    if (words == null || words.size() > MAX_BATCH) {
+      return ResponseEntity.badRequest().build();
+    }
+    BitSet found = dictionary.containsAll(words);
+    List<Boolean> contains = new ArrayList<>(words.size());
+    for (int i = 0; i < words.size(); i++) {
+      contains.add(found.get(i));
+    }
+    return ResponseEntity.ok(new ContainsBatchResponse(contains, found.cardinality()));
+  }
+
+  // Streams matches as NDJSON while the search runs; the limit stops the walk early.
+  @GetMapping(value = "/anagrams", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<Flux<WordResponse>> anagrams(
+      @RequestParam("letters") String letters,
+      @RequestParam(value = "blanks", defaultValue = "0") int blanks,
+      @RequestParam(value = "minLength", defaultValue = "2") int minLength,
+      @RequestParam(value = "maxLength", defaultValue = "15") int maxLength,
+      @RequestParam(value = "pattern", required = false) String pattern,
+      @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+    if (letters.length() > MAX_LETTERS || blanks > MAX_BLANKS || limit < 1 || limit > MAX_LIMIT) {
+      return ResponseEntity.badRequest().build();
+    }
+    try {
+      return stream(dictionary.anagrams(AnagramQuery.of(letters, blanks)
+          .withLength(minLength, maxLength)
+          .withPattern(pattern)), limit);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  // Wildcards by default ('?', '*', [..] classes); regex=true takes a regular expression.
+  @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<Flux<WordResponse>> search(
+      @RequestParam("pattern") String pattern,
+      @RequestParam(value = "regex", defaultValue = "false") boolean regex,
+      @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+    if (limit < 1 || limit > MAX_LIMIT) {
+      return ResponseEntity.badRequest().build();
+    }
+    try {
+      WordPattern query = regex ? WordPattern.regex(pattern) : WordPattern.wildcard(pattern);
+      return stream(dictionary.matching(query), limit);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  // The walk blocks, so it runs on the elastic pool rather than the event loop. A sparse pattern
+  // such as *Ą can walk most of the dictionary between matches; the budget ends the response
+  // with whatever was found, and the cancelled walk stops at its next match or when the
+  // dictionary runs out, since the deterministic automaton visits each path at most once.
+  private static ResponseEntity<Flux<WordResponse>> stream(Stream<String> words, int limit) {
+    return ResponseEntity.ok(Flux.fromStream(words)
+        .subscribeOn(Schedulers.boundedElastic())
+        .take(limit)
+        .take(SEARCH_BUDGET)
+        .map(WordResponse::new));
+  }
+
   @Data
   @NoArgsConstructor
   @AllArgsConstructor
@@ -28,4 +111,26 @@ public class DictionaryController {
     private String word;
     private boolean contains;
   }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ContainsBatchRequest {
+    private List<String> words;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ContainsBatchResponse {
+    private List<Boolean> contains;
+    private int found;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class WordResponse {
+    private String word;
+  }
 }
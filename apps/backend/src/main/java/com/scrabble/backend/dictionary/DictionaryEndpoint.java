@@ -0,0 +1,88 @@
+package com.scrabble.backend.dictionary;
+
+import com.scrabble.dictionary.CachingDictionary;
+import com.scrabble.dictionary.Dictionary;
+import java.io.IOException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// GET /actuator/dictionary shows the active version; POST reloads the artifacts from disk.
+@Component
+@Endpoint(id = "dictionary")
+@RequiredArgsConstructor
+public class DictionaryEndpoint {
+  private final Dictionary dictionary;
+
+  @ReadOperation
+  public DictionaryStatus status() {
+    return status(null);
+  }
+
+  @WriteOperation
+  public DictionaryStatus reload() {
+    if (!(dictionary instanceof ReloadableDictionary reloadable)) {
+      return status("Dictionary is not reloadable");
+    }
+    try {
+      reloadable.reload();
+      return status(null);
+    } catch (IOException | RuntimeException e) {
+      return status(e.getMessage());
+    }
+  }
+
+  private DictionaryStatus status(String error) {
+    if (!(dictionary instanceof ReloadableDictionary reloadable)) {
+      return new DictionaryStatus(false, 0, null, 0, null, null, false, null, error);
+    }
+    DictionaryVersion version = reloadable.current();
+    return new DictionaryStatus(
+        true,
+        version.number(),
+        version.sourceSha256(),
+        version.meta().wordCount(),
+        String.valueOf(version.meta().createdAt()),
+        version.loadedAt().toString(),
+        version.gaddag().isPresent(),
+        version.cacheStats().map(CacheStatus::from).orElse(null),
+        error);
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class DictionaryStatus {
+    private boolean reloadable;
+    private long version;
+    private String sourceSha256;
+    private long wordCount;
+    private String createdAt;
+    private String loadedAt;
+    private boolean gaddag;
+    private CacheStatus cache;
+    private String error;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class CacheStatus {
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long evictions;
+    private long size;
+    private long capacity;
+
+    static CacheStatus from(CachingDictionary.Stats stats) {
+      return new CacheStatus(stats.hits(), stats.misses(), stats.hitRatio(),
+          stats.evictions(), stats.size(), stats.capacity());
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.scrabble.backend.dictionary;
 
+import com.scrabble.dictionary.DictionaryLoadMode;
 import java.nio.file.Path;
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -9,4 +11,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class DictionaryProperties {
   private Path fstPath = Path.of("artifacts/osps.fst");
   private Path metaPath = Path.of("artifacts/osps.fst.meta.json");
+  private DictionaryLoadMode loadMode = DictionaryLoadMode.HEAP;
+  // How often to hash the meta file and patch and reload when they change; unset disables
+  // watching.
+  private Duration reloadInterval;
+  // Recent contains/containsPrefix/crossCheckMask answers kept per version; 0 disables the cache.
+  private int cacheSize = 65_536;
 }
@@ -0,0 +1,164 @@
+package com.scrabble.backend.dictionary;
+
+import com.scrabble.dictionary.AnagramQuery;
+import com.scrabble.dictionary.CachingDictionary;
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.FstGaddag;
+import com.scrabble.dictionary.PrefixCursor;
+import com.scrabble.dictionary.WordPattern;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// One loaded generation of the dictionary artifacts. Games pin the version they started with;
+// once nothing references it any more, its (possibly memory-mapped) files are closed.
+public final class DictionaryVersion implements Dictionary {
+  private static final Cleaner CLEANER = Cleaner.create();
+
+  private final long number;
+  private final String fingerprint;
+  private final DictionaryMeta meta;
+  private final Dictionary dictionary;
+  private final FstGaddag gaddag;
+  private final Instant loadedAt;
+
+  DictionaryVersion(
+      long number,
+      String fingerprint,
+      DictionaryMeta meta,
+      Dictionary dictionary,
+      FstGaddag gaddag,
+      List<Closeable> resources) {
+    this.number = number;
+    this.fingerprint = fingerprint;
+    this.meta = meta;
+    this.dictionary = dictionary;
+    this.gaddag = gaddag;
+    this.loadedAt = Instant.now();
+    CLEANER.register(this, new Release(List.copyOf(resources)));
+  }
+
+  public long number() {
+    return number;
+  }
+
+  // The source fingerprint of the artifacts this version was loaded from.
+  public String fingerprint() {
+    return fingerprint;
+  }
+
+  public DictionaryMeta meta() {
+    return meta;
+  }
+
+  public String sourceSha256() {
+    return meta.sourceSha256();
+  }
+
+  public Instant loadedAt() {
+    return loadedAt;
+  }
+
+  public Optional<FstGaddag> gaddag() {
+    return Optional.ofNullable(gaddag);
+  }
+
+  public Optional<CachingDictionary.Stats> cacheStats() {
+    return dictionary instanceof CachingDictionary cache
+        ? Optional.of(cache.stats())
+        : Optional.empty();
+  }
+
+  // Every delegate call fences this version so its files cannot be released mid-lookup.
+  @Override
+  public boolean contains(String word) {
+    try {
+      return dictionary.contains(word);
+    } finally {
+      Reference.reachabilityFence(this);
+    }
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    try {
+      return dictionary.containsPrefix(prefix);
+    } finally {
+      Reference.reachabilityFence(this);
+    }
+  }
+
+  @Override
+  public BitSet containsAll(Collection<? extends CharSequence> words) {
+    try {
+      return dictionary.containsAll(words);
+    } finally {
+      Reference.reachabilityFence(this);
+    }
+  }
+
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    try {
+      return dictionary.crossCheckMask(prefix, suffix);
+    } finally {
+      Reference.reachabilityFence(this);
+    }
+  }
+
+  @Override
+  public int ordinal(CharSequence word) {
+    try {
+      return dictionary.ordinal(word);
+    } finally {
+      Reference.reachabilityFence(this);
+    }
+  }
+
+  @Override
+  public String wordAt(int ordinal) {
+    try {
+      return dictionary.wordAt(ordinal);
+    } finally {
+      Reference.reachabilityFence(this);
+    }
+  }
+
+  // Cursors are only used while their caller holds this version (see EngineDictionary).
+  @Override
+  public PrefixCursor cursor() {
+    return dictionary.cursor();
+  }
+
+  // Lazy streams keep the version reachable until they are consumed or closed.
+  @Override
+  public Stream<String> anagrams(AnagramQuery query) {
+    return dictionary.anagrams(query).onClose(() -> Reference.reachabilityFence(this));
+  }
+
+  @Override
+  public Stream<String> matching(WordPattern pattern) {
+    return dictionary.matching(pattern).onClose(() -> Reference.reachabilityFence(this));
+  }
+
+  private record Release(List<Closeable> resources) implements Runnable {
+    @Override
+    public void run() {
+      for (Closeable resource : resources) {
+        try {
+          resource.close();
+        } catch (IOException ignored) {
+          // nothing left to do for a retired version
+        }
+      }
+    }
+  }
+}
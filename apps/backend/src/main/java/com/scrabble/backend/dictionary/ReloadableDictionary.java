@@ -0,0 +1,151 @@
+package com.scrabble.backend.dictionary;
+
+import com.scrabble.dictionary.AnagramQuery;
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.PrefixCursor;
+import com.scrabble.dictionary.WordPattern;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+// Serves lookups from the current DictionaryVersion. Reloads build and verify the next
+// version off the lookup path and publish it with a single atomic swap, so lookups never
+// take a lock.
+@Slf4j
+public final class ReloadableDictionary implements Dictionary, AutoCloseable {
+  private final Source source;
+  private final AtomicReference<DictionaryVersion> current;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+      runnable -> Thread.ofPlatform().daemon().name("dictionary-reload").unstarted(runnable));
+  private String failedFingerprint;
+
+  public interface Source {
+    // Cheap fingerprint of the artifacts on disk; a change triggers a reload when watching.
+    String fingerprint() throws IOException;
+
+    DictionaryVersion load(long number) throws IOException;
+  }
+
+  public ReloadableDictionary(Source source) throws IOException {
+    this.source = source;
+    this.current = new AtomicReference<>(source.load(1));
+  }
+
+  // A game keeps the version it started with, even if the dictionary is reloaded later.
+  public static Dictionary pin(Dictionary dictionary) {
+    return dictionary instanceof ReloadableDictionary reloadable ? reloadable.current() : dictionary;
+  }
+
+  public DictionaryVersion current() {
+    return current.get();
+  }
+
+  public synchronized DictionaryVersion reload() throws IOException {
+    DictionaryVersion next = source.load(current.get().number() + 1);
+    current.set(next);
+    failedFingerprint = null;
+    return next;
+  }
+
+  public CompletableFuture<DictionaryVersion> reloadAsync() {
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        return reload();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, executor);
+  }
+
+  public void watch(Duration interval) {
+    executor.scheduleWithFixedDelay(
+        this::reloadIfChanged, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  synchronized void reloadIfChanged() {
+    String fingerprint = null;
+    try {
+      fingerprint = source.fingerprint();
+      if (fingerprint.equals(current.get().fingerprint()) || fingerprint.equals(failedFingerprint)) {
+        return;
+      }
+      DictionaryVersion next = reload();
+      log.info("Reloaded dictionary version {} ({})", next.number(), next.sourceSha256());
+    } catch (IOException | RuntimeException e) {
+      // A compile that is still publishing can fail a load, so a failure is only remembered
+      // once the artifacts have stopped changing; otherwise the next tick tries again.
+      failedFingerprint = fingerprint != null && fingerprint.equals(currentFingerprint())
+          ? fingerprint
+          : null;
+      log.warn("Dictionary reload failed, keeping version {}", current.get().number(), e);
+    }
+  }
+
+  private String currentFingerprint() {
+    try {
+      return source.fingerprint();
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public boolean contains(String word) {
+    return current.get().contains(word);
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    return current.get().containsPrefix(prefix);
+  }
+
+  @Override
+  public BitSet containsAll(Collection<? extends CharSequence> words) {
+    return current.get().containsAll(words);
+  }
+
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    return current.get().crossCheckMask(prefix, suffix);
+  }
+
+  // Ordinals are only stable within one version; callers that store them should pin first.
+  @Override
+  public int ordinal(CharSequence word) {
+    return current.get().ordinal(word);
+  }
+
+  @Override
+  public String wordAt(int ordinal) {
+    return current.get().wordAt(ordinal);
+  }
+
+  @Override
+  public PrefixCursor cursor() {
+    return current.get().cursor();
+  }
+
+  @Override
+  public Stream<String> anagrams(AnagramQuery query) {
+    return current.get().anagrams(query);
+  }
+
+  @Override
+  public Stream<String> matching(WordPattern pattern) {
+    return current.get().matching(pattern);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,118 @@
+package com.scrabble.backend.game;
+
+import com.scrabble.backend.dictionary.DictionaryVersion;
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.FstGaddag;
+import com.scrabble.dictionary.PrefixCursor;
+import com.scrabble.engine.ai.Gaddag;
+import com.scrabble.engine.ai.WordCursor;
+import com.scrabble.engine.ai.WordDictionary;
+import java.util.Optional;
+
+// Adapts a runtime Dictionary to the engine's WordDictionary port. A DictionaryVersion also
+// contributes its GADDAG; the adapter holds the version, so its files stay open while in use.
+final class EngineDictionary implements WordDictionary {
+  private final Dictionary dictionary;
+  private final Optional<Gaddag> gaddag;
+
+  private EngineDictionary(Dictionary dictionary, Optional<Gaddag> gaddag) {
+    this.dictionary = dictionary;
+    this.gaddag = gaddag;
+  }
+
+  static WordDictionary of(Dictionary dictionary) {
+    Optional<Gaddag> gaddag = Optional.empty();
+    if (dictionary instanceof DictionaryVersion version) {
+      gaddag = version.gaddag().map(EngineDictionary::adapt);
+    }
+    return new EngineDictionary(dictionary, gaddag);
+  }
+
+  @Override
+  public boolean contains(String word) {
+    return dictionary.contains(word);
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    return dictionary.containsPrefix(prefix);
+  }
+
+  // Both masks follow the LetterTile order (DictionaryAlphabet.POLISH).
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    return dictionary.crossCheckMask(prefix, suffix);
+  }
+
+  @Override
+  public WordCursor cursor() {
+    return new Cursor(dictionary.cursor());
+  }
+
+  @Override
+  public Optional<Gaddag> gaddag() {
+    return gaddag;
+  }
+
+  private static Gaddag adapt(FstGaddag gaddag) {
+    return () -> new GaddagNode(gaddag.root());
+  }
+
+  private record Cursor(PrefixCursor cursor) implements WordCursor {
+    @Override
+    public boolean advance(char letter) {
+      return cursor.advance(letter);
+    }
+
+    @Override
+    public boolean isWord() {
+      return cursor.isWord();
+    }
+
+    @Override
+    public boolean isDead() {
+      return cursor.isDead();
+    }
+
+    @Override
+    public WordCursor copy() {
+      return new Cursor(cursor.copy());
+    }
+
+    @Override
+    public int minRemaining() {
+      return cursor.minRemaining();
+    }
+
+    @Override
+    public int maxRemaining() {
+      return cursor.maxRemaining();
+    }
+
+    @Override
+    public int reachableLetters() {
+      return cursor.reachableLetters();
+    }
+  }
+
+  private record GaddagNode(FstGaddag.Node node) implements Gaddag.Node {
+    @Override
+    public Gaddag.Node next(char letter) {
+      return wrap(node.next(letter));
+    }
+
+    @Override
+    public Gaddag.Node pivot() {
+      return wrap(node.pivot());
+    }
+
+    @Override
+    public boolean isWord() {
+      return node.isWord();
+    }
+
+    private static Gaddag.Node wrap(FstGaddag.Node next) {
+      return next == null ? null : new GaddagNode(next);
+    }
+  }
+}
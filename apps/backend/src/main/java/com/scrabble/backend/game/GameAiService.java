@@ -25,6 +25,7 @@ public final class GameAiService {
   private final GameAiSettings settings;
 
   void applyAiTurns(GameSession session, List<WsMessage> broadcast) {
+    WordDictionary dictionary = session.wordDictionary() != null ? session.wordDictionary() : wordDictionary;
     int safety = 0;
     while ("active".equals(session.status()) && session.state().pendingMove() == null) {
       GameState state = session.state();
@@ -37,7 +38,8 @@ public final class GameAiService {
       }
 
       Player bot = state.players().get(state.currentPlayerIndex());
-      Optional<AiMove> move = aiMoveGenerator.bestMove(state.board(), bot, Board.standard(), wordDictionary);
+      Optional<AiMove> move = aiMoveGenerator.bestMove(
+          session.boardAnalysis(dictionary), bot, Board.standard(), dictionary);
       if (move.isEmpty()) {
         state.advanceTurn();
         session.incrementPasses();
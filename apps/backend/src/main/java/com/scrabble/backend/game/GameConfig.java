@@ -1,5 +1,6 @@
 package com.scrabble.backend.game;
 
+import com.scrabble.backend.dictionary.ReloadableDictionary;
 import com.scrabble.dictionary.Dictionary;
 import com.scrabble.engine.ai.WordDictionary;
 import java.util.Random;
@@ -15,19 +16,10 @@ public class GameConfig {
     return new Random();
   }
 
+  // Games pin their own version (GameSession.wordDictionary); this one tracks startup.
   @Bean
   public WordDictionary wordDictionary(Dictionary dictionary) {
-    return new WordDictionary() {
-      @Override
-      public boolean contains(String word) {
-        return dictionary.contains(word);
-      }
-
-      @Override
-      public boolean containsPrefix(String prefix) {
-        return dictionary.containsPrefix(prefix);
-      }
-    };
+    return EngineDictionary.of(ReloadableDictionary.pin(dictionary));
   }
 
   @Bean
@@ -1,6 +1,8 @@
 package com.scrabble.backend.game;
 
+import com.scrabble.dictionary.Dictionary;
 import com.scrabble.engine.GameState;
+import com.scrabble.engine.ai.WordDictionary;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
@@ -14,8 +16,14 @@ public final class GameRegistry {
     return Optional.ofNullable(sessions.get(roomId));
   }
 
-  public GameSession create(String roomId, GameState state, Set<String> botPlayers) {
-    GameSession session = new GameSession(roomId, state, Instant.now(), "active", botPlayers);
+  public GameSession create(
+      String roomId,
+      GameState state,
+      Set<String> botPlayers,
+      Dictionary dictionary,
+      WordDictionary wordDictionary) {
+    GameSession session = new GameSession(
+        roomId, state, Instant.now(), "active", botPlayers, dictionary, wordDictionary);
     sessions.put(roomId, session);
     return session;
   }
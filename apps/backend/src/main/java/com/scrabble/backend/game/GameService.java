@@ -1,5 +1,6 @@
 package com.scrabble.backend.game;
 
+import com.scrabble.backend.dictionary.ReloadableDictionary;
 import com.scrabble.backend.lobby.Room;
 import com.scrabble.backend.lobby.RoomService;
 import com.scrabble.backend.ws.GameCommandResult;
@@ -20,6 +21,7 @@ import com.scrabble.engine.Tile;
 import com.scrabble.engine.TileBag;
 import com.scrabble.engine.Word;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -57,7 +59,9 @@ public class GameService {
       }
 
       GameState state = new GameState(BoardState.empty(), players, bag);
-      GameSession session = registry.create(roomId, state, room.botPlayers());
+      Dictionary pinned = ReloadableDictionary.pin(dictionary);
+      GameSession session = registry.create(
+          roomId, state, room.botPlayers(), pinned, EngineDictionary.of(pinned));
       session.bumpStateVersion();
       aiService.applyAiTurns(session, new ArrayList<>());
       return session;
@@ -101,10 +105,16 @@ public class GameService {
         MoveValidator.validatePlacement(state.board(), move);
         ScoringResult scoring = Scorer.score(state.board(), move, Board.standard());
         state.applyPendingMove(move, scoring);
-        List<String> invalidWords = scoring.words().stream()
+        List<String> words = scoring.words().stream()
             .map(Word::text)
-            .filter(word -> !dictionary.contains(word))
             .collect(Collectors.toList());
+        BitSet found = dictionaryFor(session).containsAll(words);
+        List<String> invalidWords = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+          if (!found.get(i)) {
+            invalidWords.add(words.get(i));
+          }
+        }
         boolean valid = invalidWords.isEmpty();
         if (!valid) {
           rackManager.restoreTiles(player.rack(), placements.values().stream()
@@ -233,6 +243,10 @@ public class GameService {
     return new GameCommandResult(broadcast, base.getDirect());
   }
 
+  private Dictionary dictionaryFor(GameSession session) {
+    return session.dictionary() != null ? session.dictionary() : dictionary;
+  }
+
   private GameSession requireSession(String roomId) {
     return registry.find(roomId)
         .orElseThrow(() -> GameCommandErrors.rejected(GameCommandReasons.GAME_NOT_STARTED));
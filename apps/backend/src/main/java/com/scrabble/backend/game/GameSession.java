@@ -2,7 +2,10 @@ package com.scrabble.backend.game;
 
 import com.scrabble.backend.ws.WsMessage;
 import com.scrabble.backend.ws.WsMessageType;
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.engine.BoardAnalysis;
 import com.scrabble.engine.GameState;
+import com.scrabble.engine.ai.WordDictionary;
 import java.time.Instant;
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -17,8 +20,12 @@ public final class GameSession {
   private final GameState state;
   private final Instant createdAt;
   private final Set<String> botPlayers;
+  private final Dictionary dictionary;
+  private final WordDictionary wordDictionary;
   private final Map<String, Integer> exchangesByPlayer = new HashMap<>();
   private final Deque<GameEvent> history = new ArrayDeque<>();
+  private BoardAnalysis boardAnalysis;
+  private WordDictionary analysedWith;
   private String status;
   private String winner;
   private int consecutivePasses;
@@ -26,11 +33,24 @@ public final class GameSession {
   private long lastEventId;
 
   GameSession(String roomId, GameState state, Instant createdAt, String status, Set<String> botPlayers) {
+    this(roomId, state, createdAt, status, botPlayers, null, null);
+  }
+
+  GameSession(
+      String roomId,
+      GameState state,
+      Instant createdAt,
+      String status,
+      Set<String> botPlayers,
+      Dictionary dictionary,
+      WordDictionary wordDictionary) {
     this.roomId = roomId;
     this.state = state;
     this.createdAt = createdAt;
     this.status = status;
     this.botPlayers = Set.copyOf(botPlayers);
+    this.dictionary = dictionary;
+    this.wordDictionary = wordDictionary;
   }
 
   public String roomId() {
@@ -49,6 +69,27 @@ public final class GameSession {
     return status;
   }
 
+  // The dictionary version pinned when the game started; null when not pinned.
+  public Dictionary dictionary() {
+    return dictionary;
+  }
+
+  public WordDictionary wordDictionary() {
+    return wordDictionary;
+  }
+
+  // Anchors and cross-checks of the current board. The previous analysis is carried forward, so
+  // only the rows and columns the latest moves touched are recomputed.
+  public BoardAnalysis boardAnalysis(WordDictionary crossChecks) {
+    if (boardAnalysis == null || analysedWith != crossChecks) {
+      boardAnalysis = BoardAnalysis.of(state.board(), crossChecks::crossCheckMask);
+      analysedWith = crossChecks;
+    } else {
+      boardAnalysis = boardAnalysis.update(state.board());
+    }
+    return boardAnalysis;
+  }
+
   public boolean isBot(String playerName) {
     return botPlayers.contains(playerName);
   }
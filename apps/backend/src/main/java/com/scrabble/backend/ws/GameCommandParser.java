@@ -30,7 +30,7 @@ public class GameCommandParser {
       }
       char letter = normalizeLetter(letterText);
       Tile tile = blank ? Tile.blankTile() : LetterTile.fromLetter(letter).toTile();
-      PlacedTile placed = new PlacedTile(tile, letter);
+      PlacedTile placed = PlacedTile.of(tile, letter);
       Coordinate coordinate = Coordinate.parse(coordinateText);
       if (placements.putIfAbsent(coordinate, placed) != null) {
         throw new GameCommandException(WsMessageType.MOVE_REJECTED, Map.of("reason", "duplicate_coordinate"));
@@ -1,8 +1,12 @@
 package com.scrabble.backend;
 
+import com.scrabble.backend.dictionary.DictionaryController;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 @SpringBootTest(
@@ -45,6 +49,86 @@ class DictionaryControllerTest {
         .jsonPath("$.contains").isEqualTo(false);
   }
 
+  @Test
+  void containsBatchEndpointReturnsOneFlagPerWord() {
+    // given
+    WebTestClient client = buildClient();
+    // when + then
+    client.post()
+        .uri("/api/dictionary/contains-batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(Map.of("words", List.of("zajawiałeś", "nieistniejace", "PÓŁROCZNIAKACH")))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.contains[0]").isEqualTo(true)
+        .jsonPath("$.contains[1]").isEqualTo(false)
+        .jsonPath("$.contains[2]").isEqualTo(true)
+        .jsonPath("$.found").isEqualTo(2);
+  }
+
+  @Test
+  void anagramsEndpointStreamsWordsFromRack() {
+    // given
+    WebTestClient client = buildClient();
+    // when + then
+    client.get()
+        .uri(uriBuilder -> uriBuilder.path("/api/dictionary/anagrams")
+            .queryParam("letters", "śełaiwjaz")
+            .queryParam("blanks", 1)
+            .build())
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(DictionaryController.WordResponse.class)
+        .isEqualTo(List.of(new DictionaryController.WordResponse("ZAJAWIAŁEŚ")));
+  }
+
+  @Test
+  void anagramsEndpointRejectsUnsupportedLetters() {
+    // given
+    WebTestClient client = buildClient();
+    // when + then
+    client.get()
+        .uri(uriBuilder -> uriBuilder.path("/api/dictionary/anagrams")
+            .queryParam("letters", "kot1")
+            .build())
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void searchEndpointStreamsWildcardMatches() {
+    // given
+    WebTestClient client = buildClient();
+    // when + then
+    client.get()
+        .uri(uriBuilder -> uriBuilder.path("/api/dictionary/search")
+            .queryParam("pattern", "?ÓŁ*")
+            .build())
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(DictionaryController.WordResponse.class)
+        .isEqualTo(List.of(new DictionaryController.WordResponse("PÓŁROCZNIAKACH")));
+  }
+
+  @Test
+  void searchEndpointRejectsInvalidRegex() {
+    // given
+    WebTestClient client = buildClient();
+    // when + then
+    client.get()
+        .uri(uriBuilder -> uriBuilder.path("/api/dictionary/search")
+            .queryParam("pattern", "(ZA")
+            .queryParam("regex", true)
+            .build())
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
   @Test
   void healthEndpointIsUp() {
     // given
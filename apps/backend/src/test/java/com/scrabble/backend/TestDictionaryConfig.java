@@ -10,10 +10,22 @@ import org.springframework.context.annotation.Primary;
 @TestConfiguration
 public class TestDictionaryConfig {
   private static final Set<String> WORDS = Set.of("ZAJAWIAŁEŚ", "PÓŁROCZNIAKACH");
+  private static final Locale POLISH = Locale.forLanguageTag("pl-PL");
 
   @Bean
   @Primary
   public Dictionary dictionary() {
-    return word -> WORDS.contains(word.toUpperCase(Locale.forLanguageTag("pl-PL")));
+    return new Dictionary() {
+      @Override
+      public boolean contains(String word) {
+        return WORDS.contains(word.toUpperCase(POLISH));
+      }
+
+      @Override
+      public boolean containsPrefix(String prefix) {
+        String upper = prefix.toUpperCase(POLISH);
+        return WORDS.stream().anyMatch(word -> word.startsWith(upper));
+      }
+    };
   }
 }
@@ -0,0 +1,195 @@
+package com.scrabble.backend.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import com.scrabble.dictionary.format.DictionaryPatchIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReloadableDictionaryTest {
+
+  @Test
+  void swapsInNewArtifactsWhilePinnedVersionStaysConsistent() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test").resolve("osps.fst");
+    compile(fstPath, "kot", "ala");
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties(fstPath)));
+    Dictionary pinned = ReloadableDictionary.pin(dictionary);
+    String firstSha = dictionary.current().sourceSha256();
+
+    // when
+    compile(fstPath, "pies", "ala");
+    dictionary.reloadIfChanged();
+
+    // then
+    assertThat(dictionary.current().number()).isEqualTo(2);
+    assertThat(dictionary.current().sourceSha256()).isNotEqualTo(firstSha);
+    assertThat(dictionary.contains("PIES")).isTrue();
+    assertThat(dictionary.contains("KOT")).isFalse();
+    assertThat(pinned.contains("KOT")).isTrue();
+    assertThat(pinned.contains("PIES")).isFalse();
+  }
+
+  @Test
+  void keepsCurrentVersionWhenNewArtifactsFailVerification() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test-invalid").resolve("osps.fst");
+    compile(fstPath, "kot");
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties(fstPath)));
+    Path metaPath = DictionaryPaths.metaPathFor(fstPath);
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+
+    // when
+    DictionaryMetaIO.write(metaPath, DictionaryMeta.of(meta.wordCount(), "changed", Instant.now())
+        .withNormalisation("NFD_LOWERCASE"));
+    dictionary.reloadIfChanged();
+
+    // then
+    assertThat(dictionary.current().number()).isEqualTo(1);
+    assertThat(dictionary.contains("KOT")).isTrue();
+  }
+
+  @Test
+  void loadsTheEncodingNamedByTheMeta() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test-dawg").resolve("osps.fst");
+    compile(fstPath, "kot");
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties(fstPath)));
+
+    // when
+    Path input = Files.write(fstPath.resolveSibling("words.txt"), List.of("kot", "koty"));
+    new DictionaryCompiler(CompileOptions.defaults().withDawg(true)).compile(input, fstPath);
+    dictionary.reloadIfChanged();
+
+    // then
+    assertThat(dictionary.current().meta().usesDawg()).isTrue();
+    assertThat(dictionary.contains("KOTY")).isTrue();
+    assertThat(dictionary.crossCheckMask("KOT", "")).isEqualTo(1 << 28);
+  }
+
+  @Test
+  void loadsShardedArtifactsWithTheirGaddag() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test-shards").resolve("osps.fst");
+    Path input = Files.write(fstPath.resolveSibling("words.txt"), List.of("kot", "koty", "żuk"));
+    new DictionaryCompiler(CompileOptions.defaults().withShards(true)).compile(input, fstPath);
+
+    // when
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties(fstPath)));
+
+    // then
+    assertThat(dictionary.current().meta().layout()).isEqualTo(DictionaryFormat.LAYOUT_SHARDED);
+    assertThat(dictionary.contains("KOTY")).isTrue();
+    assertThat(dictionary.contains("ŻUK")).isTrue();
+    assertThat(dictionary.contains("KOC")).isFalse();
+    assertThat(dictionary.current().gaddag()).isPresent();
+  }
+
+  @Test
+  void reloadsWhenAPatchIsWrittenAndLeavesTheGaddagOut() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test-patch").resolve("osps.fst");
+    compile(fstPath, "kot", "koc");
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties(fstPath)));
+    String sourceSha256 = dictionary.current().sourceSha256();
+
+    // when
+    DictionaryPatchIO.write(DictionaryPaths.patchPathFor(fstPath),
+        new DictionaryPatch(sourceSha256, List.of("ŻUK"), List.of("KOC")));
+    dictionary.reloadIfChanged();
+
+    // then
+    assertThat(dictionary.current().number()).isEqualTo(2);
+    assertThat(dictionary.contains("ŻUK")).isTrue();
+    assertThat(dictionary.contains("KOC")).isFalse();
+    assertThat(dictionary.contains("KOT")).isTrue();
+    assertThat(dictionary.current().gaddag()).isEmpty();
+  }
+
+  @Test
+  void reloadsOnceForAPatchAndAgainAfterARecompile() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test-fold").resolve("osps.fst");
+    compile(fstPath, "kot", "koc");
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties(fstPath)));
+    DictionaryPatchIO.write(DictionaryPaths.patchPathFor(fstPath),
+        new DictionaryPatch(dictionary.current().sourceSha256(), List.of("ŻUK"), List.of()));
+
+    // when
+    dictionary.reloadIfChanged();
+    dictionary.reloadIfChanged();
+    long afterPatch = dictionary.current().number();
+    Files.delete(DictionaryPaths.patchPathFor(fstPath));
+    compile(fstPath, "kot", "koc");
+    dictionary.reloadIfChanged();
+
+    // then
+    assertThat(afterPatch).isEqualTo(2);
+    assertThat(dictionary.current().number()).isEqualTo(3);
+    assertThat(dictionary.contains("ŻUK")).isFalse();
+  }
+
+  @Test
+  void cachesLookupsPerVersion() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test-cache").resolve("osps.fst");
+    compile(fstPath, "kot");
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties(fstPath)));
+    DictionaryVersion first = dictionary.current();
+
+    // when
+    dictionary.contains("KOT");
+    dictionary.contains("KOT");
+    compile(fstPath, "pies");
+    dictionary.reloadIfChanged();
+    dictionary.contains("KOT");
+
+    // then
+    assertThat(first.cacheStats()).hasValueSatisfying(stats -> {
+      assertThat(stats.hits()).isEqualTo(1);
+      assertThat(stats.misses()).isEqualTo(1);
+    });
+    assertThat(dictionary.current().cacheStats()).hasValueSatisfying(stats ->
+        assertThat(stats.misses()).isEqualTo(1));
+    assertThat(dictionary.contains("KOT")).isFalse();
+  }
+
+  @Test
+  void skipsTheCacheWhenItsSizeIsZero() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("reload-test-no-cache").resolve("osps.fst");
+    compile(fstPath, "kot");
+    DictionaryProperties properties = properties(fstPath);
+    properties.setCacheSize(0);
+
+    // when
+    ReloadableDictionary dictionary = new ReloadableDictionary(new DictionaryArtifacts(properties));
+
+    // then
+    assertThat(dictionary.contains("KOT")).isTrue();
+    assertThat(dictionary.current().cacheStats()).isEmpty();
+  }
+
+  private static void compile(Path fstPath, String... words) throws Exception {
+    Path input = Files.write(fstPath.resolveSibling("words.txt"), List.of(words));
+    new DictionaryCompiler().compile(input, fstPath);
+  }
+
+  private static DictionaryProperties properties(Path fstPath) {
+    DictionaryProperties properties = new DictionaryProperties();
+    properties.setFstPath(fstPath);
+    properties.setMetaPath(DictionaryPaths.metaPathFor(fstPath));
+    return properties;
+  }
+}
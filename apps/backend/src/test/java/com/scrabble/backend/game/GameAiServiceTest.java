@@ -2,6 +2,7 @@ package com.scrabble.backend.game;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.scrabble.engine.BoardAnalysis;
 import com.scrabble.engine.BoardState;
 import com.scrabble.engine.GameState;
 import com.scrabble.engine.Player;
@@ -44,4 +45,23 @@ class GameAiServiceTest {
     // then
     assertThat(session.consecutivePasses()).isEqualTo(1);
   }
+
+  @Test
+  void reusesTheBoardAnalysisUntilTheDictionaryChanges() {
+    // given
+    WordDictionary dictionary = word -> false;
+    GameState state = new GameState(
+        BoardState.empty(), List.of(new Player("Bot")), TileBag.standard(new java.util.Random(1)));
+    GameSession session = new GameSession("room-1", state, java.time.Instant.now(), "active", Set.of("Bot"));
+    BoardAnalysis first = session.boardAnalysis(dictionary);
+
+    // when
+    BoardAnalysis again = session.boardAnalysis(dictionary);
+    BoardAnalysis other = session.boardAnalysis(word -> true);
+
+    // then
+    assertThat(again).isSameAs(first);
+    assertThat(other).isNotSameAs(first);
+    assertThat(other.board()).isSameAs(state.board());
+  }
 }
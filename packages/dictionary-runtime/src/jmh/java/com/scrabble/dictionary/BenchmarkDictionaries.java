@@ -0,0 +1,125 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+// Shared setup for the benchmarks. -Ddictionary.fstPath points at a prebuilt FST and
+// -Ddictionary.wordlistPath at the word list to compile and sample from; otherwise the bundled
+// osps_shortened.txt is used. Sampling is seeded so runs stay comparable between releases.
+final class BenchmarkDictionaries {
+  static final long SEED = 20_240_611L;
+  private static final String DIACRITICS = "ĄĆĘŁŃÓŚŹŻ";
+  private static final DictionaryNormalizer NORMALIZER = new DictionaryNormalizer();
+
+  private BenchmarkDictionaries() { }
+
+  static Path wordlist() throws IOException {
+    String wordlistProperty = System.getProperty("dictionary.wordlistPath");
+    return (wordlistProperty == null || wordlistProperty.isBlank())
+        ? loadResourceToTempFile("osps_shortened.txt")
+        : Path.of(wordlistProperty);
+  }
+
+  static Path prebuiltFst() {
+    String fstPathProperty = System.getProperty("dictionary.fstPath");
+    return fstPathProperty == null || fstPathProperty.isBlank() ? null : Path.of(fstPathProperty);
+  }
+
+  static Path compile(Path wordlist, CompileOptions options) throws IOException {
+    Path fstPath = Files.createTempDirectory("fst-bench").resolve("osps.fst");
+    new DictionaryCompiler(options).compile(wordlist, fstPath);
+    return fstPath;
+  }
+
+  // The prebuilt FST when one is given, otherwise a fresh compile of the word list.
+  static FstDictionary load(CompileOptions options) throws IOException {
+    Path fstPath = prebuiltFst();
+    if (fstPath == null) {
+      fstPath = compile(wordlist(), options);
+    }
+    return FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+  }
+
+  // Distinct normalised words from the list, in file order.
+  static List<String> words(Path wordlist) throws IOException {
+    Set<String> words = new LinkedHashSet<>();
+    for (String line : Files.readAllLines(wordlist, StandardCharsets.UTF_8)) {
+      String word = NORMALIZER.normalize(line);
+      if (!word.isEmpty()) {
+        words.add(word);
+      }
+    }
+    return new ArrayList<>(words);
+  }
+
+  static List<String> sample(List<String> words, int count, Random random) {
+    List<String> sample = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      sample.add(words.get(random.nextInt(words.size())));
+    }
+    return sample;
+  }
+
+  // Words with at least two Polish diacritics; falls back to the whole list when too few.
+  static List<String> diacriticHeavy(List<String> words) {
+    List<String> heavy = new ArrayList<>();
+    for (String word : words) {
+      int diacritics = 0;
+      for (int i = 0; i < word.length(); i++) {
+        if (DIACRITICS.indexOf(word.charAt(i)) >= 0) {
+          diacritics++;
+        }
+      }
+      if (diacritics >= 2) {
+        heavy.add(word);
+      }
+    }
+    return heavy.size() < 16 ? words : heavy;
+  }
+
+  // Replaces one letter so the lookup diverges late, where misses are most expensive.
+  static String miss(String word, Dictionary dictionary, Random random) {
+    char[] letters = word.toCharArray();
+    for (int attempt = 0; attempt < 64; attempt++) {
+      int position = letters.length - 1 - random.nextInt(Math.min(3, letters.length));
+      char original = letters[position];
+      letters[position] = DictionaryAlphabet.POLISH.charAt(
+          random.nextInt(DictionaryAlphabet.POLISH.length()));
+      String candidate = new String(letters);
+      if (!dictionary.contains(candidate)) {
+        return candidate;
+      }
+      letters[position] = original;
+    }
+    return word + "Ź";
+  }
+
+  static String lowercase(String word) {
+    return word.toLowerCase(Locale.forLanguageTag("pl-PL"));
+  }
+
+  private static Path loadResourceToTempFile(String resourceName) throws IOException {
+    try (InputStream input = BenchmarkDictionaries.class.getResourceAsStream("/" + resourceName)) {
+      if (input == null) {
+        throw new IllegalStateException("Benchmark resource not found: " + resourceName);
+      }
+      Path tempFile = Files.createTempFile("dictionary-resource-", "-" + resourceName);
+      Files.copy(input, tempFile, StandardCopyOption.REPLACE_EXISTING);
+      return tempFile;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+// One shared dictionary hit from several threads, as the backend's game and AI threads do.
+// Each thread walks its own slice of a shared hit/miss stream. Compare the 1-thread and
+// 4-thread scores for per-thread throughput; -t overrides the thread count.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrentLookupBenchmark {
+  private static final int STREAM_SIZE = 16_384;
+
+  @State(Scope.Benchmark)
+  public static class SharedDictionary {
+    private FstDictionary dictionary;
+    private String[] stream;
+    private final AtomicLong offsets = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+      dictionary = BenchmarkDictionaries.load(CompileOptions.defaults());
+      List<String> words = BenchmarkDictionaries.words(BenchmarkDictionaries.wordlist());
+      Random random = new Random(BenchmarkDictionaries.SEED);
+      stream = new String[STREAM_SIZE];
+      for (int i = 0; i < STREAM_SIZE; i++) {
+        String word = words.get(random.nextInt(words.size()));
+        stream[i] = random.nextBoolean()
+            ? word
+            : BenchmarkDictionaries.miss(word, dictionary, random);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int next;
+
+    @Setup
+    public void setUp(SharedDictionary shared) {
+      next = (int) (shared.offsets.getAndAdd(STREAM_SIZE / 8) % STREAM_SIZE);
+    }
+
+    String nextWord(SharedDictionary shared) {
+      String word = shared.stream[next];
+      next = (next + 1) % STREAM_SIZE;
+      return word;
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean containsSingleThread(SharedDictionary shared, Cursor cursor) {
+    return shared.dictionary.contains(cursor.nextWord(shared));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean containsFourThreads(SharedDictionary shared, Cursor cursor) {
+    return shared.dictionary.contains(cursor.nextWord(shared));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int crossCheckMaskFourThreads(SharedDictionary shared, Cursor cursor) {
+    String word = cursor.nextWord(shared);
+    int split = word.length() / 2;
+    return shared.dictionary.crossCheckMask(word.substring(0, split), word.substring(split + 1));
+  }
+}
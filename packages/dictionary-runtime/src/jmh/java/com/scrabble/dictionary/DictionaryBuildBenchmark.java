@@ -0,0 +1,45 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Compile cost with and without the Bloom filter.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DictionaryBuildBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class BuildState {
+    @Param({"0.01", "0"})
+    public double bloomFalsePositiveRate;
+
+    private Path input;
+    private Path fstPath;
+    private DictionaryCompiler compiler;
+
+    @Setup
+    public void setUp() throws IOException {
+      input = BenchmarkDictionaries.wordlist();
+      fstPath = Files.createTempDirectory("fst-build-bench").resolve("osps.fst");
+      compiler = new DictionaryCompiler(
+          CompileOptions.defaults().withBloomFalsePositiveRate(bloomFalsePositiveRate));
+    }
+  }
+
+  @Benchmark
+  public DictionaryCompiler.Result compile(BuildState state) throws IOException {
+    return state.compiler.compile(state.input, state.fstPath);
+  }
+}
@@ -0,0 +1,115 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// FstDictionary against DawgDictionary, both compiled from the same word list without a Bloom
+// filter, so the scores compare the two traversals alone.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DictionaryEncodingBenchmark {
+  private static final int SAMPLE_SIZE = 4096;
+
+  @State(Scope.Thread)
+  public static class EncodingState {
+    @Param({"FST", "DAWG"})
+    public String encoding;
+
+    @Param({"HEAP", "MMAP"})
+    public DictionaryLoadMode mode;
+
+    private Dictionary dictionary;
+    private Closeable resources;
+    private String[] hits;
+    private String[] misses;
+    private String[] prefixes;
+    private String[] suffixes;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+      boolean dawg = "DAWG".equals(encoding);
+      Path wordlist = BenchmarkDictionaries.wordlist();
+      Path path = BenchmarkDictionaries.compile(wordlist,
+          CompileOptions.defaults().withBloomFalsePositiveRate(0).withDawg(dawg));
+      if (dawg) {
+        DawgDictionary loaded = DawgDictionary.load(path, DictionaryPaths.metaPathFor(path), mode);
+        dictionary = loaded;
+        resources = loaded;
+      } else {
+        FstDictionary loaded = FstDictionary.load(path, DictionaryPaths.metaPathFor(path), mode);
+        dictionary = loaded;
+        resources = loaded;
+      }
+
+      Random random = new Random(BenchmarkDictionaries.SEED);
+      List<String> sample = BenchmarkDictionaries.sample(
+          BenchmarkDictionaries.words(wordlist), SAMPLE_SIZE, random);
+      hits = sample.toArray(new String[0]);
+      misses = new String[SAMPLE_SIZE];
+      prefixes = new String[SAMPLE_SIZE];
+      suffixes = new String[SAMPLE_SIZE];
+      for (int i = 0; i < SAMPLE_SIZE; i++) {
+        misses[i] = BenchmarkDictionaries.miss(hits[i], dictionary, random);
+        int square = random.nextInt(hits[i].length());
+        prefixes[i] = hits[i].substring(0, square);
+        suffixes[i] = hits[i].substring(square + 1);
+      }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+      resources.close();
+    }
+
+    int nextIndex() {
+      int index = next;
+      next = (next + 1) % SAMPLE_SIZE;
+      return index;
+    }
+  }
+
+  @Benchmark
+  public boolean containsHit(EncodingState state) {
+    return state.dictionary.contains(state.hits[state.nextIndex()]);
+  }
+
+  @Benchmark
+  public boolean containsMiss(EncodingState state) {
+    return state.dictionary.contains(state.misses[state.nextIndex()]);
+  }
+
+  // The move generator's access pattern: extend a cursor one letter at a time.
+  @Benchmark
+  public boolean cursorWalk(EncodingState state) {
+    String word = state.hits[state.nextIndex()];
+    PrefixCursor cursor = state.dictionary.cursor();
+    for (int i = 0; i < word.length(); i++) {
+      if (!cursor.advance(word.charAt(i))) {
+        return false;
+      }
+    }
+    return cursor.isWord();
+  }
+
+  @Benchmark
+  public int crossCheckMask(EncodingState state) {
+    int index = state.nextIndex();
+    return state.dictionary.crossCheckMask(state.prefixes[index], state.suffixes[index]);
+  }
+}
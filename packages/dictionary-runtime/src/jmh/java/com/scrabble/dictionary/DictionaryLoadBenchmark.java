@@ -0,0 +1,55 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Startup cost: one FstDictionary.load plus the first lookup, timed per call, for each load
+// mode and with and without the Bloom filter.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class DictionaryLoadBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class LoadState {
+    @Param({"HEAP", "MMAP"})
+    public DictionaryLoadMode mode;
+
+    @Param({"true", "false"})
+    public boolean bloom;
+
+    private Path fstPath;
+
+    @Setup
+    public void setUp() throws IOException {
+      fstPath = BenchmarkDictionaries.prebuiltFst();
+      if (fstPath == null) {
+        CompileOptions options = CompileOptions.defaults();
+        fstPath = BenchmarkDictionaries.compile(BenchmarkDictionaries.wordlist(),
+            bloom ? options : options.withBloomFalsePositiveRate(0));
+      }
+    }
+  }
+
+  @Benchmark
+  public boolean loadAndLookUp(LoadState state) throws IOException {
+    try (FstDictionary dictionary = FstDictionary.load(
+        state.fstPath, DictionaryPaths.metaPathFor(state.fstPath), state.mode)) {
+      return dictionary.contains("ZAJAWIAŁEŚ");
+    }
+  }
+}
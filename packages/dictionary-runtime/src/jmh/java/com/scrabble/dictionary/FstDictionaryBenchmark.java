@@ -1,17 +1,13 @@
 package com.scrabble.dictionary;
 
-import com.scrabble.dictionary.compile.DictionaryCompiler;
-import com.scrabble.dictionary.format.DictionaryPaths;
+import com.scrabble.dictionary.compile.CompileOptions;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -19,41 +15,21 @@ import org.openjdk.jmh.annotations.State;
 @BenchmarkMode(Mode.Throughput)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 public class FstDictionaryBenchmark {
+  private static final char[] KNOWN_WORD = "ZAJAWIAŁEŚ".toCharArray();
 
   @State(Scope.Benchmark)
   public static class DictionaryState {
+    // Applies when the benchmark compiles its own dictionary.
+    @Param({"true", "false"})
+    public boolean bloom;
+
     private FstDictionary dictionary;
 
     @Setup
     public void setUp() throws IOException {
-      String fstPathProperty = System.getProperty("dictionary.fstPath");
-      if (fstPathProperty != null && !fstPathProperty.isBlank()) {
-        Path fstPath = Path.of(fstPathProperty);
-        dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
-        return;
-      }
-
-      Path tempDir = Files.createTempDirectory("fst-bench");
-      Path fstPath = tempDir.resolve("osps.fst");
-
-      String wordlistProperty = System.getProperty("dictionary.wordlistPath");
-      Path input = (wordlistProperty == null || wordlistProperty.isBlank())
-          ? loadResourceToTempFile("osps_shortened.txt")
-          : Path.of(wordlistProperty);
-      new DictionaryCompiler().compile(input, fstPath);
-
-      dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
-    }
-
-    private static Path loadResourceToTempFile(String resourceName) throws IOException {
-      try (InputStream input = DictionaryState.class.getResourceAsStream("/" + resourceName)) {
-        if (input == null) {
-          throw new IllegalStateException("Benchmark resource not found: " + resourceName);
-        }
-        Path tempFile = Files.createTempFile("dictionary-resource-", "-" + resourceName);
-        Files.copy(input, tempFile, StandardCopyOption.REPLACE_EXISTING);
-        return tempFile;
-      }
+      CompileOptions options = CompileOptions.defaults();
+      dictionary = BenchmarkDictionaries.load(
+          bloom ? options : options.withBloomFalsePositiveRate(0));
     }
   }
 
@@ -62,8 +38,29 @@ public class FstDictionaryBenchmark {
     return state.dictionary.contains("ZAJAWIAŁEŚ");
   }
 
+  @Benchmark
+  public boolean containsKnownWordFromCharArray(DictionaryState state) {
+    return state.dictionary.contains(KNOWN_WORD, 0, KNOWN_WORD.length);
+  }
+
+  @Benchmark
+  public boolean containsLowercaseWord(DictionaryState state) {
+    return state.dictionary.contains("zajawiałeś");
+  }
+
   @Benchmark
   public boolean containsUnknownWord(DictionaryState state) {
     return state.dictionary.contains("NIEISTNIEJACE");
   }
+
+  // Shares all but the last letter with a word, so the FST walk alone goes almost to the end.
+  @Benchmark
+  public boolean containsNearMiss(DictionaryState state) {
+    return state.dictionary.contains("ZAJAWIAŁEŚĄ");
+  }
+
+  @Benchmark
+  public int crossCheckMask(DictionaryState state) {
+    return state.dictionary.crossCheckMask("ZAJAWIAŁ", "Ś");
+  }
 }
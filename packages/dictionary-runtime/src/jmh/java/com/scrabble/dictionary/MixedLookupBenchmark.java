@@ -0,0 +1,71 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// contains over a seeded stream of hits and near-misses sampled from the word list.
+// SAMPLED draws from every word; DIACRITICS only from words with two or more Polish
+// diacritics; LOWERCASE_DIACRITICS sends the same words in lower case, so every lookup goes
+// through normalisation.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MixedLookupBenchmark {
+  private static final int STREAM_SIZE = 8192;
+
+  public enum Workload { SAMPLED, DIACRITICS, LOWERCASE_DIACRITICS }
+
+  @State(Scope.Thread)
+  public static class LookupState {
+    @Param({"SAMPLED", "DIACRITICS", "LOWERCASE_DIACRITICS"})
+    public Workload workload;
+
+    @Param({"0.1", "0.5", "0.9"})
+    public double hitRatio;
+
+    private FstDictionary dictionary;
+    private String[] stream;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+      dictionary = BenchmarkDictionaries.load(CompileOptions.defaults());
+      List<String> words = BenchmarkDictionaries.words(BenchmarkDictionaries.wordlist());
+      if (workload != Workload.SAMPLED) {
+        words = BenchmarkDictionaries.diacriticHeavy(words);
+      }
+      Random random = new Random(BenchmarkDictionaries.SEED);
+      stream = new String[STREAM_SIZE];
+      for (int i = 0; i < STREAM_SIZE; i++) {
+        String word = words.get(random.nextInt(words.size()));
+        if (random.nextDouble() >= hitRatio) {
+          word = BenchmarkDictionaries.miss(word, dictionary, random);
+        }
+        stream[i] = workload == Workload.LOWERCASE_DIACRITICS
+            ? BenchmarkDictionaries.lowercase(word)
+            : word;
+      }
+    }
+
+    String nextWord() {
+      String word = stream[next];
+      next = (next + 1) % stream.length;
+      return word;
+    }
+  }
+
+  @Benchmark
+  public boolean contains(LookupState state) {
+    return state.dictionary.contains(state.nextWord());
+  }
+}
@@ -0,0 +1,71 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// containsPrefix on prefixes of sampled words, cut at a fixed depth.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrefixLookupBenchmark {
+  private static final int SAMPLE_SIZE = 4096;
+
+  @State(Scope.Thread)
+  public static class PrefixState {
+    @Param({"1", "3", "5", "8"})
+    public int depth;
+
+    private FstDictionary dictionary;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+      dictionary = BenchmarkDictionaries.load(CompileOptions.defaults());
+      List<String> words = BenchmarkDictionaries.words(BenchmarkDictionaries.wordlist());
+      List<String> deepEnough = new ArrayList<>();
+      for (String word : words) {
+        if (word.length() >= depth) {
+          deepEnough.add(word.substring(0, depth));
+        }
+      }
+      prefixes = BenchmarkDictionaries.sample(
+          deepEnough, SAMPLE_SIZE, new Random(BenchmarkDictionaries.SEED))
+          .toArray(new String[0]);
+    }
+
+    String nextPrefix() {
+      String prefix = prefixes[next];
+      next = (next + 1) % prefixes.length;
+      return prefix;
+    }
+  }
+
+  @Benchmark
+  public boolean containsPrefix(PrefixState state) {
+    return state.dictionary.containsPrefix(state.nextPrefix());
+  }
+
+  @Benchmark
+  public boolean cursorWalk(PrefixState state) {
+    String prefix = state.nextPrefix();
+    PrefixCursor cursor = state.dictionary.cursor();
+    for (int i = 0; i < prefix.length(); i++) {
+      if (!cursor.advance(prefix.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,30 @@
+package com.scrabble.dictionary;
+
+import java.util.Objects;
+
+// Letters are the rack tiles. A pattern fixes the word length; its letters are already on the
+// board, so they are not taken from the rack, and '?' or '.' marks a square to fill.
+public record AnagramQuery(String letters, int blanks, int minLength, int maxLength, String pattern) {
+
+  public AnagramQuery {
+    Objects.requireNonNull(letters, "letters");
+    if (blanks < 0) {
+      throw new IllegalArgumentException("blanks must be >= 0");
+    }
+    if (minLength < 1 || maxLength < minLength) {
+      throw new IllegalArgumentException("Invalid length range: " + minLength + ".." + maxLength);
+    }
+  }
+
+  public static AnagramQuery of(String letters, int blanks) {
+    return new AnagramQuery(letters, blanks, 1, Integer.MAX_VALUE, null);
+  }
+
+  public AnagramQuery withLength(int minLength, int maxLength) {
+    return new AnagramQuery(letters, blanks, minLength, maxLength, pattern);
+  }
+
+  public AnagramQuery withPattern(String pattern) {
+    return new AnagramQuery(letters, blanks, minLength, maxLength, pattern);
+  }
+}
@@ -0,0 +1,139 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+// Depth-first walk over a prefix cursor with an explicit stack, so words are produced lazily
+// one tryAdvance at a time. Letters are only tried while the rack still holds them (or a
+// blank), and a real tile is always preferred over a blank so every word is produced once.
+final class AnagramSearch extends Spliterators.AbstractSpliterator<String> {
+  private static final String LETTERS = DictionaryAlphabet.POLISH;
+  private static final char BLANK = '?';
+  private static final int FROM_BOARD = -1;
+  private static final int FROM_BLANK = -2;
+
+  private final int[] counts = new int[LETTERS.length()];
+  private final char[] pattern;
+  private final int minLength;
+  private final int maxDepth;
+  private final char[] word;
+  private final PrefixCursor[] cursors;
+  private final int[] nextLetter;
+  private final int[] source;
+  private int blanks;
+  private int depth;
+
+  AnagramSearch(PrefixCursor root, AnagramQuery query) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    DictionaryNormalizer normalizer = new DictionaryNormalizer();
+    String letters = normalizer.normalize(query.letters());
+    for (int i = 0; i < letters.length(); i++) {
+      counts[indexOf(letters.charAt(i))]++;
+    }
+    this.blanks = query.blanks();
+    this.pattern = query.pattern() == null ? null : parsePattern(normalizer.normalize(query.pattern()));
+
+    int rackSize = letters.length() + blanks;
+    if (pattern != null) {
+      this.minLength = Math.max(query.minLength(), pattern.length);
+      this.maxDepth = Math.min(query.maxLength(), pattern.length);
+    } else {
+      this.minLength = query.minLength();
+      this.maxDepth = Math.min(query.maxLength(), rackSize);
+    }
+    int size = Math.max(maxDepth, 0);
+    this.word = new char[size];
+    this.cursors = new PrefixCursor[size + 1];
+    this.nextLetter = new int[size + 1];
+    this.source = new int[size];
+    this.cursors[0] = root;
+    this.depth = minLength > maxDepth ? -1 : 0;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    while (depth >= 0) {
+      if (depth == maxDepth || nextLetter[depth] >= LETTERS.length()) {
+        backtrack();
+        continue;
+      }
+      int index;
+      int from;
+      if (pattern != null && pattern[depth] != BLANK) {
+        index = indexOf(pattern[depth]);
+        from = FROM_BOARD;
+        nextLetter[depth] = LETTERS.length();
+      } else {
+        index = nextLetter[depth]++;
+        if (counts[index] > 0) {
+          from = index;
+        } else if (blanks > 0) {
+          from = FROM_BLANK;
+        } else {
+          continue;
+        }
+      }
+
+      char letter = LETTERS.charAt(index);
+      PrefixCursor child = cursors[depth].copy();
+      if (!child.advance(letter)) {
+        continue;
+      }
+      take(from);
+      source[depth] = from;
+      word[depth] = letter;
+      depth++;
+      cursors[depth] = child;
+      nextLetter[depth] = 0;
+      if (depth >= minLength && child.isWord()) {
+        action.accept(new String(word, 0, depth));
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void backtrack() {
+    cursors[depth] = null;
+    depth--;
+    if (depth >= 0) {
+      giveBack(source[depth]);
+    }
+  }
+
+  private void take(int from) {
+    if (from == FROM_BLANK) {
+      blanks--;
+    } else if (from != FROM_BOARD) {
+      counts[from]--;
+    }
+  }
+
+  private void giveBack(int from) {
+    if (from == FROM_BLANK) {
+      blanks++;
+    } else if (from != FROM_BOARD) {
+      counts[from]++;
+    }
+  }
+
+  private static char[] parsePattern(String pattern) {
+    char[] squares = pattern.replace('.', BLANK).toCharArray();
+    for (char square : squares) {
+      if (square != BLANK) {
+        indexOf(square);
+      }
+    }
+    return squares;
+  }
+
+  private static int indexOf(char letter) {
+    int index = LETTERS.indexOf(letter);
+    if (index < 0) {
+      throw new IllegalArgumentException("Unsupported letter: " + letter);
+    }
+    return index;
+  }
+}
@@ -0,0 +1,220 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.BlockedBloomFilter;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Remembers recent contains, containsPrefix and crossCheckMask answers of another dictionary.
+// The table is set-associative: a 64-bit fingerprint of the query picks a bucket of WAYS
+// slots, and a full bucket evicts with CLOCK (second chance), so the cache never grows past
+// its capacity and needs no lock. Slots are compared by fingerprint first; the strings are
+// only compared on a fingerprint match, and String.hashCode is never used.
+//
+// Entries are immutable and only hold final fields, so racing readers and writers see either
+// the old or the new entry, never a torn one. Lost updates only cost a later miss.
+public final class CachingDictionary implements Dictionary {
+  private static final int WAYS = 8;
+  private static final int CONTAINS = 1;
+  private static final int PREFIX = 2;
+  private static final int MASK = 3;
+  private static final char SEPARATOR = '\uFFFF';
+
+  private final Dictionary delegate;
+  private final Entry[] slots;
+  private final byte[] referenced;
+  private final byte[] hands;
+  private final int bucketMask;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  // Capacity is rounded up to a power of two, and to at least one bucket.
+  public CachingDictionary(Dictionary delegate, int capacity) {
+    this.delegate = Objects.requireNonNull(delegate, "delegate");
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Cache capacity must be positive: " + capacity);
+    }
+    int needed = (capacity + WAYS - 1) / WAYS;
+    int buckets = needed == 1 ? 1 : Integer.highestOneBit(needed - 1) << 1;
+    this.slots = new Entry[buckets * WAYS];
+    this.referenced = new byte[slots.length];
+    this.hands = new byte[buckets];
+    this.bucketMask = buckets - 1;
+  }
+
+  public Dictionary delegate() {
+    return delegate;
+  }
+
+  @Override
+  public boolean contains(String word) {
+    if (word == null) {
+      return delegate.contains(null);
+    }
+    long fingerprint = fingerprint(CONTAINS, word, "");
+    Entry entry = find(fingerprint, CONTAINS, word, "");
+    if (entry != null) {
+      return entry.value != 0;
+    }
+    boolean found = delegate.contains(word);
+    store(new Entry(fingerprint, CONTAINS, word, "", found ? 1 : 0));
+    return found;
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    if (prefix == null) {
+      return delegate.containsPrefix(null);
+    }
+    long fingerprint = fingerprint(PREFIX, prefix, "");
+    Entry entry = find(fingerprint, PREFIX, prefix, "");
+    if (entry != null) {
+      return entry.value != 0;
+    }
+    boolean found = delegate.containsPrefix(prefix);
+    store(new Entry(fingerprint, PREFIX, prefix, "", found ? 1 : 0));
+    return found;
+  }
+
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    if (prefix == null || suffix == null) {
+      return delegate.crossCheckMask(prefix, suffix);
+    }
+    long fingerprint = fingerprint(MASK, prefix, suffix);
+    Entry entry = find(fingerprint, MASK, prefix, suffix);
+    if (entry != null) {
+      return entry.value;
+    }
+    int mask = delegate.crossCheckMask(prefix, suffix);
+    store(new Entry(fingerprint, MASK, prefix, suffix, mask));
+    return mask;
+  }
+
+  // Batches go straight to the delegate, which may answer them in one pass.
+  @Override
+  public BitSet containsAll(Collection<? extends CharSequence> words) {
+    return delegate.containsAll(words);
+  }
+
+  @Override
+  public int ordinal(CharSequence word) {
+    return delegate.ordinal(word);
+  }
+
+  @Override
+  public String wordAt(int ordinal) {
+    return delegate.wordAt(ordinal);
+  }
+
+  @Override
+  public PrefixCursor cursor() {
+    return delegate.cursor();
+  }
+
+  @Override
+  public Stream<String> anagrams(AnagramQuery query) {
+    return delegate.anagrams(query);
+  }
+
+  @Override
+  public Stream<String> matching(WordPattern pattern) {
+    return delegate.matching(pattern);
+  }
+
+  // Occupancy is counted from the slots, since racing misses may fill the same free way.
+  public Stats stats() {
+    int size = 0;
+    for (Entry entry : slots) {
+      if (entry != null) {
+        size++;
+      }
+    }
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, slots.length);
+  }
+
+  private Entry find(long fingerprint, int kind, String key, String suffix) {
+    int base = firstSlot(fingerprint);
+    for (int way = 0; way < WAYS; way++) {
+      Entry entry = slots[base + way];
+      if (entry != null && entry.fingerprint == fingerprint
+          && entry.kind == kind && entry.key.equals(key) && entry.suffix.equals(suffix)) {
+        if (referenced[base + way] == 0) {
+          referenced[base + way] = 1;
+        }
+        hits.increment();
+        return entry;
+      }
+    }
+    misses.increment();
+    return null;
+  }
+
+  // Fills a free way if there is one, otherwise sweeps the bucket's clock hand past recently
+  // hit entries, clearing their bit, and replaces the first one that was not hit.
+  private void store(Entry entry) {
+    int base = firstSlot(entry.fingerprint);
+    for (int way = 0; way < WAYS; way++) {
+      if (slots[base + way] == null) {
+        slots[base + way] = entry;
+        return;
+      }
+    }
+    int bucket = base / WAYS;
+    int hand = hands[bucket];
+    for (int sweep = 0; sweep < 2 * WAYS; sweep++) {
+      if (referenced[base + hand] == 0) {
+        break;
+      }
+      referenced[base + hand] = 0;
+      hand = (hand + 1) & (WAYS - 1);
+    }
+    slots[base + hand] = entry;
+    referenced[base + hand] = 0;
+    hands[bucket] = (byte) ((hand + 1) & (WAYS - 1));
+    evictions.increment();
+  }
+
+  private int firstSlot(long fingerprint) {
+    return ((int) (fingerprint >>> 32) & bucketMask) * WAYS;
+  }
+
+  // The Bloom filter's FNV-1a over the query kind and both strings, then its finaliser.
+  private static long fingerprint(int kind, String key, String suffix) {
+    long hash = BlockedBloomFilter.update(BlockedBloomFilter.start(), (char) kind);
+    for (int i = 0; i < key.length(); i++) {
+      hash = BlockedBloomFilter.update(hash, key.charAt(i));
+    }
+    hash = BlockedBloomFilter.update(hash, SEPARATOR);
+    for (int i = 0; i < suffix.length(); i++) {
+      hash = BlockedBloomFilter.update(hash, suffix.charAt(i));
+    }
+    return BlockedBloomFilter.mix(hash);
+  }
+
+  public record Stats(long hits, long misses, long evictions, long size, long capacity) {
+    public double hitRatio() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+  }
+
+  private static final class Entry {
+    private final long fingerprint;
+    private final int kind;
+    private final String key;
+    private final String suffix;
+    private final int value;
+
+    Entry(long fingerprint, int kind, String key, String suffix, int value) {
+      this.fingerprint = fingerprint;
+      this.kind = kind;
+      this.key = key;
+      this.suffix = suffix;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import org.apache.lucene.util.automaton.Automaton;
+
+// Fallback for dictionaries without an FST: walks a prefix cursor letter by letter alongside
+// the pattern automaton. Words longer than the board are never explored, since a cursor
+// cannot tell where the dictionary ends.
+final class CursorPatternSearch extends Spliterators.AbstractSpliterator<String> {
+  static final int MAX_LENGTH = 15;
+  private static final DictionaryAlphabet ALPHABET = DictionaryAlphabet.of(DictionaryAlphabet.POLISH);
+  private static final String LETTERS = ALPHABET.letters();
+
+  private final Automaton automaton;
+  private final PrefixCursor[] cursors = new PrefixCursor[MAX_LENGTH + 1];
+  private final int[] states = new int[MAX_LENGTH + 1];
+  private final int[] nextLetter = new int[MAX_LENGTH + 1];
+  private final char[] word = new char[MAX_LENGTH];
+  private int depth;
+
+  CursorPatternSearch(PrefixCursor root, WordPattern pattern) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    this.automaton = pattern.automaton(ALPHABET);
+    this.cursors[0] = root;
+    this.depth = automaton.getNumStates() > 0 ? 0 : -1;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    while (depth >= 0) {
+      if (depth == MAX_LENGTH || nextLetter[depth] >= LETTERS.length()) {
+        cursors[depth] = null;
+        depth--;
+        continue;
+      }
+      char letter = LETTERS.charAt(nextLetter[depth]++);
+      int state = automaton.step(states[depth], ALPHABET.label(letter));
+      if (state < 0) {
+        continue;
+      }
+      PrefixCursor child = cursors[depth].copy();
+      if (!child.advance(letter)) {
+        continue;
+      }
+      word[depth] = letter;
+      depth++;
+      cursors[depth] = child;
+      states[depth] = state;
+      nextLetter[depth] = 0;
+      if (automaton.isAccept(state) && child.isWord()) {
+        action.accept(new String(word, 0, depth));
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,164 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import com.scrabble.dictionary.format.FlatDawg;
+import com.scrabble.dictionary.format.ReachTable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+// Word lookups over a FlatDawg: each letter is one scan over its node's adjacent arc ints, so
+// lookups keep no per-thread state and cursors are just an arc index.
+public final class DawgDictionary implements Dictionary, Closeable {
+  private final DictionaryNormalizer normalizer;
+  private final DictionaryAlphabet alphabet;
+  private final FlatDawg dawg;
+  // Optional; gives cursors their pruning bounds.
+  private final ReachTable reach;
+
+  private DawgDictionary(
+      DictionaryNormalizer normalizer,
+      DictionaryAlphabet alphabet,
+      FlatDawg dawg,
+      ReachTable reach) {
+    this.normalizer = normalizer;
+    this.alphabet = alphabet;
+    this.dawg = dawg;
+    this.reach = reach;
+  }
+
+  public static DawgDictionary load(Path dawgPath, Path metaPath) throws IOException {
+    return load(dawgPath, metaPath, DictionaryLoadMode.HEAP);
+  }
+
+  public static DawgDictionary load(Path dawgPath, Path metaPath, DictionaryLoadMode mode)
+      throws IOException {
+    Objects.requireNonNull(dawgPath, "dawgPath");
+    Objects.requireNonNull(metaPath, "metaPath");
+    Objects.requireNonNull(mode, "mode");
+
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+    validateMeta(meta);
+    FlatDawg dawg = switch (mode) {
+      case HEAP -> FlatDawg.read(dawgPath);
+      case MMAP -> FlatDawg.map(dawgPath);
+    };
+    return new DawgDictionary(
+        new DictionaryNormalizer(),
+        DictionaryAlphabet.forMeta(meta),
+        dawg,
+        ReachTable.loadIfMatches(DictionaryPaths.reachPathFor(dawgPath), meta.sourceSha256()));
+  }
+
+  @Override
+  public boolean contains(String word) {
+    return word != null && dawg.isTerminal(walk(canonical(word)));
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    if (prefix == null) {
+      return true;
+    }
+    String canonical = canonical(prefix);
+    return canonical.isEmpty() || walk(canonical) != FlatDawg.NONE;
+  }
+
+  // Walks to the end of the prefix once, then tries every outgoing letter arc against the
+  // suffix.
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    String head = prefix == null ? "" : canonical(prefix);
+    String tail = suffix == null ? "" : canonical(suffix);
+    // An empty prefix means the candidate letter starts the word, so its arcs leave the root.
+    int node = head.isEmpty() ? FlatDawg.ROOT : walk(FlatDawg.ROOT, head);
+    if (node == FlatDawg.NONE) {
+      return 0;
+    }
+    int mask = 0;
+    for (int arc = dawg.firstArc(node); arc != FlatDawg.NONE; arc++) {
+      int label = dawg.label(arc);
+      if (label >= 1 && label <= DictionaryAlphabet.POLISH.length()
+          && dawg.isTerminal(walk(arc, tail))) {
+        mask |= 1 << (label - 1);
+      }
+      if (dawg.isLast(arc)) {
+        break;
+      }
+    }
+    return mask;
+  }
+
+  @Override
+  public PrefixCursor cursor() {
+    return new DawgPrefixCursor(dawg, alphabet, reach);
+  }
+
+  public long sizeInBytes() {
+    return dawg.sizeInBytes();
+  }
+
+  // Every node is one run of sibling arcs ending in a last arc, so counting those counts nodes.
+  public DictionaryStats stats() {
+    long nodes = 0;
+    for (int arc = 0; arc < dawg.arcCount(); arc++) {
+      if (dawg.isLast(arc)) {
+        nodes++;
+      }
+    }
+    return DictionaryStats.tally(this, nodes, dawg.arcCount(), dawg.sizeInBytes());
+  }
+
+  @Override
+  public void close() throws IOException {
+    dawg.close();
+  }
+
+  private int walk(CharSequence word) {
+    return word.isEmpty() ? FlatDawg.NONE : walk(FlatDawg.ROOT, word);
+  }
+
+  private int walk(int from, CharSequence word) {
+    int arc = from;
+    for (int i = 0; i < word.length() && arc != FlatDawg.NONE; i++) {
+      int label = alphabet.label(word.charAt(i));
+      arc = label < 0 ? FlatDawg.NONE : dawg.follow(arc, label);
+    }
+    return arc;
+  }
+
+  // Input made only of canonical uppercase letters is already normalised.
+  private String canonical(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (!DictionaryAlphabet.isCanonical(text.charAt(i))) {
+        return normalizer.normalize(text);
+      }
+    }
+    return text;
+  }
+
+  private static void validateMeta(DictionaryMeta meta) {
+    if (meta.formatVersion() < 2 || !DictionaryFormat.isSupported(meta.formatVersion())) {
+      throw new IllegalStateException(
+          "Unsupported dictionary format: " + meta.formatVersion());
+    }
+    if (!DictionaryFormat.NORMALISATION.equals(meta.normalisation())) {
+      throw new IllegalStateException(
+          "Unsupported normalization: " + meta.normalisation());
+    }
+    if (DictionaryFormat.LAYOUT_SHARDED.equals(meta.layout())) {
+      throw new IllegalStateException("Dictionary is sharded; load it with ShardedDictionary");
+    }
+    if (!DictionaryFormat.LAYOUT_WORDS.equals(meta.layout())) {
+      throw new IllegalStateException("Unsupported dictionary layout: " + meta.layout());
+    }
+    if (!meta.usesDawg()) {
+      throw new IllegalStateException("Dictionary is not a flat DAWG: " + meta.encoding());
+    }
+  }
+}
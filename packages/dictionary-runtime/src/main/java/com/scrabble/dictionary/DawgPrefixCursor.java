@@ -0,0 +1,88 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.FlatDawg;
+import com.scrabble.dictionary.format.ReachTable;
+
+// The whole cursor state is the index of the last arc taken, so a copy is a single int.
+// Pruning bounds are looked up by the target node's first arc index.
+final class DawgPrefixCursor implements PrefixCursor {
+  private final FlatDawg dawg;
+  private final DictionaryAlphabet alphabet;
+  private final ReachTable reach;
+  private int arc;
+
+  DawgPrefixCursor(FlatDawg dawg, DictionaryAlphabet alphabet, ReachTable reach) {
+    this(dawg, alphabet, reach, FlatDawg.ROOT);
+  }
+
+  private DawgPrefixCursor(FlatDawg dawg, DictionaryAlphabet alphabet, ReachTable reach, int arc) {
+    this.dawg = dawg;
+    this.alphabet = alphabet;
+    this.reach = reach;
+    this.arc = arc;
+  }
+
+  @Override
+  public boolean advance(char letter) {
+    if (arc == FlatDawg.NONE) {
+      return false;
+    }
+    int label = alphabet.label(letter);
+    arc = label < 0 ? FlatDawg.NONE : dawg.follow(arc, label);
+    return arc != FlatDawg.NONE;
+  }
+
+  @Override
+  public boolean isWord() {
+    return dawg.isTerminal(arc);
+  }
+
+  @Override
+  public boolean isDead() {
+    return arc == FlatDawg.NONE;
+  }
+
+  @Override
+  public DawgPrefixCursor copy() {
+    return new DawgPrefixCursor(dawg, alphabet, reach, arc);
+  }
+
+  @Override
+  public int minRemaining() {
+    if (arc == FlatDawg.NONE) {
+      return Integer.MAX_VALUE;
+    }
+    if (dawg.isTerminal(arc)) {
+      return 0;
+    }
+    int index = reachIndex();
+    return index == ReachTable.UNKNOWN ? 0 : reach.minRemaining(index);
+  }
+
+  @Override
+  public int maxRemaining() {
+    int index = reachIndex();
+    if (index == ReachTable.UNKNOWN) {
+      return arc == FlatDawg.NONE || dawg.firstArc(arc) == FlatDawg.NONE ? 0 : Integer.MAX_VALUE;
+    }
+    return reach.maxRemaining(index);
+  }
+
+  @Override
+  public int reachableLetters() {
+    int index = reachIndex();
+    if (index == ReachTable.UNKNOWN) {
+      return arc == FlatDawg.NONE || dawg.firstArc(arc) == FlatDawg.NONE ? 0 : -1;
+    }
+    return reach.reachableLetters(index);
+  }
+
+  private int reachIndex() {
+    if (reach == null || arc == FlatDawg.NONE) {
+      return ReachTable.UNKNOWN;
+    }
+    int node = dawg.firstArc(arc);
+    return node == FlatDawg.NONE ? ReachTable.UNKNOWN : reach.indexOf(node);
+  }
+}
@@ -1,9 +1,63 @@
 package com.scrabble.dictionary;
 
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface Dictionary {
   boolean contains(String word);
 
   default boolean containsPrefix(String prefix) {
     return true;
   }
+
+  // Bit i is set when the i-th word, in iteration order, is in the dictionary.
+  default BitSet containsAll(Collection<? extends CharSequence> words) {
+    BitSet found = new BitSet(words.size());
+    int index = 0;
+    for (CharSequence word : words) {
+      if (word != null && contains(word.toString())) {
+        found.set(index);
+      }
+      index++;
+    }
+    return found;
+  }
+
+  // Bit i is set when prefix + the i-th letter of DictionaryAlphabet.POLISH + suffix is a word.
+  default int crossCheckMask(String prefix, String suffix) {
+    int mask = 0;
+    for (int i = 0; i < DictionaryAlphabet.POLISH.length(); i++) {
+      if (contains(prefix + DictionaryAlphabet.POLISH.charAt(i) + suffix)) {
+        mask |= 1 << i;
+      }
+    }
+    return mask;
+  }
+
+  // Dense word IDs: 0..wordCount-1 in alphabet order, -1 for unknown words. Only dictionaries
+  // compiled with ordinals support them.
+  default int ordinal(CharSequence word) {
+    throw new UnsupportedOperationException("Dictionary has no word ordinals");
+  }
+
+  default String wordAt(int ordinal) {
+    throw new UnsupportedOperationException("Dictionary has no word ordinals");
+  }
+
+  default PrefixCursor cursor() {
+    return new StringPrefixCursor(this);
+  }
+
+  // Lazily enumerates every word formable from the query's rack, in alphabet order.
+  default Stream<String> anagrams(AnagramQuery query) {
+    return StreamSupport.stream(new AnagramSearch(cursor(), query), false);
+  }
+
+  // Lazily streams every word matching the pattern, in alphabet order.
+  default Stream<String> matching(WordPattern pattern) {
+    return StreamSupport.stream(new CursorPatternSearch(cursor(), pattern), false);
+  }
 }
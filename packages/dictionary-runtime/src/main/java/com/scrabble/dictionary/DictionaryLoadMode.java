@@ -0,0 +1,9 @@
+package com.scrabble.dictionary;
+
+public enum DictionaryLoadMode {
+  // Copies the whole automaton onto the JVM heap.
+  HEAP,
+  // Maps the artifact read-only; lookups read straight from the page cache, which is shared
+  // by every JVM on the host that maps the same file.
+  MMAP
+}
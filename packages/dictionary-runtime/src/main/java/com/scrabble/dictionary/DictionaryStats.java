@@ -0,0 +1,71 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// nodeCount counts automaton states that have outgoing arcs; fstBytes is the size of the
+// automaton body, an FST or a flat DAWG.
+public record DictionaryStats(
+    long wordCount,
+    long nodeCount,
+    long arcCount,
+    long fstBytes,
+    SortedMap<Integer, Long> wordLengths,
+    Map<Character, Long> letterFrequencies) {
+
+  // Stats for any compiled layout. Meant for tooling, not for request paths.
+  public static DictionaryStats of(Dictionary dictionary) {
+    return switch (dictionary) {
+      case FstDictionary fst -> fst.stats();
+      case DawgDictionary dawg -> dawg.stats();
+      case ShardedDictionary sharded -> sharded.stats();
+      default -> throw new IllegalArgumentException(
+          "No stats for " + dictionary.getClass().getSimpleName());
+    };
+  }
+
+  // Enumerates every word of the dictionary for the length and letter tallies.
+  static DictionaryStats tally(Dictionary dictionary, long nodeCount, long arcCount, long bytes) {
+    SortedMap<Integer, Long> lengths = new TreeMap<>();
+    Map<Character, Long> letters = letterMap();
+    long words = 0;
+    try (Stream<String> all = dictionary.matching(WordPattern.wildcard("*"))) {
+      for (String word : (Iterable<String>) all::iterator) {
+        words++;
+        lengths.merge(word.length(), 1L, Long::sum);
+        for (int i = 0; i < word.length(); i++) {
+          letters.merge(word.charAt(i), 1L, Long::sum);
+        }
+      }
+    }
+    return new DictionaryStats(words, nodeCount, arcCount, bytes, lengths, letters);
+  }
+
+  // Sums parts that hold disjoint words, such as the shards of one dictionary.
+  static DictionaryStats combine(List<DictionaryStats> parts) {
+    SortedMap<Integer, Long> lengths = new TreeMap<>();
+    Map<Character, Long> letters = letterMap();
+    long words = 0;
+    long nodes = 0;
+    long arcs = 0;
+    long bytes = 0;
+    for (DictionaryStats part : parts) {
+      words += part.wordCount();
+      nodes += part.nodeCount();
+      arcs += part.arcCount();
+      bytes += part.fstBytes();
+      part.wordLengths().forEach((length, count) -> lengths.merge(length, count, Long::sum));
+      part.letterFrequencies().forEach((letter, count) -> letters.merge(letter, count, Long::sum));
+    }
+    return new DictionaryStats(words, nodes, arcs, bytes, lengths, letters);
+  }
+
+  private static Map<Character, Long> letterMap() {
+    return new TreeMap<>(
+        (a, b) -> DictionaryAlphabet.LABEL_ORDER.compare(String.valueOf(a), String.valueOf(b)));
+  }
+}
@@ -1,76 +1,425 @@
 package com.scrabble.dictionary;
 
+import com.scrabble.dictionary.format.BlockedBloomFilter;
+import com.scrabble.dictionary.format.DictionaryAlphabet;
 import com.scrabble.dictionary.format.DictionaryFormat;
 import com.scrabble.dictionary.format.DictionaryMeta;
 import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import com.scrabble.dictionary.format.ReachTable;
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.Objects;
-import org.apache.lucene.util.BytesRef;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.lucene.util.fst.FST.Arc;
 import org.apache.lucene.util.fst.FST.BytesReader;
 import org.apache.lucene.util.fst.FST;
 import org.apache.lucene.util.fst.NoOutputs;
-import org.apache.lucene.util.fst.Util;
+import org.apache.lucene.util.fst.PositiveIntOutputs;
 
-public final class FstDictionary implements Dictionary {
+public final class FstDictionary implements Dictionary, Closeable {
   private final DictionaryNormalizer normalizer;
+  private final DictionaryAlphabet alphabet;
   private final FST<Object> fst;
+  // Optional; rejects most misses before the FST walk.
+  private final BlockedBloomFilter bloom;
+  // Optional; gives cursors their pruning bounds.
+  private final ReachTable reach;
+  // Set when the FST outputs are word ordinals (Long), otherwise -1.
+  private final long ordinalCount;
+  private final Closeable resources;
+  private final ThreadLocal<Scratch> scratch;
 
-  private FstDictionary(DictionaryNormalizer normalizer, FST<Object> fst) {
+  private FstDictionary(
+      DictionaryNormalizer normalizer,
+      DictionaryAlphabet alphabet,
+      FST<Object> fst,
+      BlockedBloomFilter bloom,
+      ReachTable reach,
+      long ordinalCount,
+      Closeable resources) {
     this.normalizer = normalizer;
+    this.alphabet = alphabet;
     this.fst = fst;
+    this.bloom = bloom;
+    this.reach = reach;
+    this.ordinalCount = ordinalCount;
+    this.resources = resources;
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch(fst.getBytesReader()));
   }
 
   public static FstDictionary load(Path fstPath, Path metaPath) throws IOException {
+    return load(fstPath, metaPath, DictionaryLoadMode.HEAP);
+  }
+
+  public static FstDictionary load(Path fstPath, Path metaPath, DictionaryLoadMode mode)
+      throws IOException {
     Objects.requireNonNull(fstPath, "fstPath");
     Objects.requireNonNull(metaPath, "metaPath");
+    Objects.requireNonNull(mode, "mode");
 
     DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
     validateMeta(meta);
+    DictionaryAlphabet alphabet = DictionaryAlphabet.forMeta(meta);
+    BlockedBloomFilter bloom = BlockedBloomFilter.loadIfMatches(
+        DictionaryPaths.bloomPathFor(fstPath), meta.sourceSha256());
+    ReachTable reach = ReachTable.loadIfMatches(
+        DictionaryPaths.reachPathFor(fstPath), meta.sourceSha256());
 
-    NoOutputs outputs = NoOutputs.getSingleton();
-    FST<Object> fst = FST.read(fstPath, outputs);
-    return new FstDictionary(new DictionaryNormalizer(), fst);
+    FstLoader.LoadedFst loaded = FstLoader.load(fstPath, mode, meta.hasOrdinals()
+        ? PositiveIntOutputs.getSingleton()
+        : NoOutputs.getSingleton());
+    return new FstDictionary(
+        new DictionaryNormalizer(),
+        alphabet,
+        loaded.fst(),
+        bloom,
+        reach,
+        meta.hasOrdinals() ? meta.wordCount() : -1,
+        loaded.resources());
+  }
+
+  public boolean hasBloomFilter() {
+    return bloom != null;
+  }
+
+  public boolean hasReachTable() {
+    return reach != null;
+  }
+
+  public boolean hasOrdinals() {
+    return ordinalCount >= 0;
   }
 
   @Override
   public boolean contains(String word) {
-    String normalized = normalizer.normalize(word);
-    if (normalized.isEmpty()) {
+    return contains((CharSequence) word);
+  }
+
+  public boolean contains(CharSequence word) {
+    if (word == null) {
       return false;
     }
+    return contains(scratch.get(), word);
+  }
+
+  public boolean contains(char[] chars, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, chars.length);
+    return contains(scratch.get().view.wrap(chars, offset, length));
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    return containsPrefix((CharSequence) prefix);
+  }
+
+  public boolean containsPrefix(CharSequence prefix) {
+    if (prefix == null) {
+      return true;
+    }
+    if (isCanonical(prefix)) {
+      return walk(scratch.get(), prefix, false);
+    }
+    String normalized = normalizer.normalize(prefix.toString());
+    return normalized.isEmpty() || walk(scratch.get(), normalized, false);
+  }
+
+  // One scratch state, and so one BytesReader and Arc, serves the whole batch.
+  @Override
+  public BitSet containsAll(Collection<? extends CharSequence> words) {
+    Scratch state = scratch.get();
+    BitSet found = new BitSet(words.size());
+    int index = 0;
+    for (CharSequence word : words) {
+      if (word != null && contains(state, word)) {
+        found.set(index);
+      }
+      index++;
+    }
+    return found;
+  }
+
+  public boolean containsPrefix(char[] chars, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, chars.length);
+    return containsPrefix(scratch.get().view.wrap(chars, offset, length));
+  }
+
+  // Walks to the end of the prefix once, then tries every outgoing letter arc against the
+  // suffix instead of looking up 32 separate words.
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    String head = canonical(prefix);
+    String tail = canonical(suffix);
+    Scratch state = scratch.get();
+    Arc<Object> arc = fst.getFirstArc(state.arc);
+    try {
+      for (int i = 0; i < head.length(); i++) {
+        if (!FstPrefixCursor.follow(fst, alphabet, head.charAt(i), arc, state.reader)) {
+          return 0;
+        }
+      }
+      long prefixHash = bloom == null ? 0 : BlockedBloomFilter.hash(head);
+      return alphabet.isUtf8()
+          ? maskByLetter(arc, prefixHash, tail, state)
+          : maskByArc(arc, prefixHash, tail, state);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read FST", e);
+    }
+  }
+
+  // Sums the arc outputs along the word's path; each dense label is exactly one arc.
+  @Override
+  public int ordinal(CharSequence word) {
+    requireOrdinals();
+    if (word == null) {
+      return -1;
+    }
+    CharSequence canonical = isCanonical(word) ? word : normalizer.normalize(word.toString());
+    if (canonical.isEmpty() || !mightContain(canonical)) {
+      return -1;
+    }
+    Scratch state = scratch.get();
+    Arc<Object> arc = fst.getFirstArc(state.arc);
+    long ordinal = 0;
     try {
-      return Util.get(fst, new BytesRef(normalized)) != null;
+      for (int i = 0; i < canonical.length(); i++) {
+        if (!FstPrefixCursor.follow(fst, alphabet, canonical.charAt(i), arc, state.reader)) {
+          return -1;
+        }
+        ordinal += (Long) arc.output();
+      }
     } catch (IOException e) {
       throw new IllegalStateException("Failed to read FST", e);
     }
+    return arc.isFinal() ? (int) (ordinal + (Long) arc.nextFinalOutput()) : -1;
   }
 
+  // Reverse lookup in the manner of Util.getByOutput: ordinals grow with label order, so at
+  // each node the target lies under the last arc whose output does not overshoot it. Reuses
+  // the per-thread arcs instead of allocating new ones per step.
   @Override
-  public boolean containsPrefix(String prefix) {
-    String normalized = normalizer.normalize(prefix);
-    if (normalized.isEmpty()) {
-      return true;
+  public String wordAt(int ordinal) {
+    requireOrdinals();
+    Objects.checkIndex(ordinal, ordinalCount);
+    Scratch state = scratch.get();
+    Arc<Object> arc = fst.getFirstArc(state.arc);
+    long reached = 0;
+    int length = 0;
+    try {
+      while (!arc.isFinal() || reached + (Long) arc.nextFinalOutput() != ordinal) {
+        Arc<Object> child = fst.readFirstTargetArc(arc, state.child, state.reader);
+        long best = -1;
+        while (true) {
+          long candidate = reached + (Long) child.output();
+          if (candidate > ordinal) {
+            break;
+          }
+          // Final nodes start with a virtual END_LABEL arc; the word ending here is not a match.
+          if (child.label() != FST.END_LABEL) {
+            best = candidate;
+            state.probe.copyFrom(child);
+          }
+          if (child.isLast()) {
+            break;
+          }
+          fst.readNextArc(child, state.reader);
+        }
+        if (best < 0) {
+          throw new IllegalStateException("Ordinal not found in FST: " + ordinal);
+        }
+        state.labels = ensureCapacity(state.labels, length + 1);
+        state.labels[length++] = (byte) state.probe.label();
+        reached = best;
+        arc.copyFrom(state.probe);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read FST", e);
     }
-    BytesRef bytes = new BytesRef(normalized);
-    Arc<Object> arc = fst.getFirstArc(new Arc<>());
+    return alphabet.decode(state.labels, length);
+  }
+
+  // Counts every node once, by target address, then enumerates the words for the length and
+  // letter tallies. Meant for tooling, not for request paths.
+  public DictionaryStats stats() {
+    long nodes = 0;
+    long arcs = 0;
     BytesReader reader = fst.getBytesReader();
+    BitSet visited = new BitSet();
+    Deque<Arc<Object>> pending = new ArrayDeque<>();
+    pending.push(fst.getFirstArc(new Arc<>()));
     try {
-      for (int i = 0; i < bytes.length; i++) {
-        int label = bytes.bytes[bytes.offset + i] & 0xFF;
-        if (fst.findTargetArc(label, arc, arc, reader) == null) {
-          return false;
+      while (!pending.isEmpty()) {
+        Arc<Object> follow = pending.pop();
+        if (!FST.targetHasArcs(follow)) {
+          continue;
+        }
+        nodes++;
+        Arc<Object> arc = fst.readFirstTargetArc(follow, new Arc<>(), reader);
+        while (true) {
+          if (arc.label() != FST.END_LABEL) {
+            arcs++;
+            int target = Math.toIntExact(arc.target());
+            if (FST.targetHasArcs(arc) && !visited.get(target)) {
+              visited.set(target);
+              pending.push(new Arc<>().copyFrom(arc));
+            }
+          }
+          if (arc.isLast()) {
+            break;
+          }
+          fst.readNextArc(arc, reader);
         }
       }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read FST", e);
+    }
+
+    return DictionaryStats.tally(this, nodes, arcs, fst.numBytes());
+  }
+
+  @Override
+  public Stream<String> matching(WordPattern pattern) {
+    return StreamSupport.stream(
+        new FstPatternSearch(fst, alphabet, pattern.automaton(alphabet)), false);
+  }
+
+  @Override
+  public PrefixCursor cursor() {
+    return new FstPrefixCursor(fst, alphabet, reach);
+  }
+
+  @Override
+  public void close() throws IOException {
+    resources.close();
+  }
+
+  // Input made only of canonical uppercase letters is already normalised, so it can skip
+  // Normalizer and toUpperCase entirely.
+  private static boolean isCanonical(CharSequence word) {
+    int length = word.length();
+    if (length == 0) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (!DictionaryAlphabet.isCanonical(word.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private String canonical(String text) {
+    if (text == null) {
+      return "";
+    }
+    return isCanonical(text) ? text : normalizer.normalize(text);
+  }
+
+  // Dense labels 1..32 are the Polish letters, so each outgoing arc is one candidate letter.
+  private int maskByArc(Arc<Object> arc, long prefixHash, String suffix, Scratch state)
+      throws IOException {
+    if (!FST.targetHasArcs(arc)) {
+      return 0;
+    }
+    int mask = 0;
+    Arc<Object> child = fst.readFirstTargetArc(arc, state.child, state.reader);
+    while (true) {
+      int label = child.label();
+      if (label >= 1 && label <= DictionaryAlphabet.POLISH.length()
+          && mightBeWord(prefixHash, DictionaryAlphabet.POLISH.charAt(label - 1), suffix)
+          && endsWord(state.probe.copyFrom(child), suffix, state)) {
+        mask |= 1 << (label - 1);
+      }
+      if (child.isLast()) {
+        return mask;
+      }
+      fst.readNextArc(child, state.reader);
+    }
+  }
+
+  // UTF-8 labels split Polish letters over several arcs, so v1 artifacts follow each letter.
+  private int maskByLetter(Arc<Object> arc, long prefixHash, String suffix, Scratch state)
+      throws IOException {
+    int mask = 0;
+    for (int i = 0; i < DictionaryAlphabet.POLISH.length(); i++) {
+      Arc<Object> probe = state.probe.copyFrom(arc);
+      char letter = DictionaryAlphabet.POLISH.charAt(i);
+      if (mightBeWord(prefixHash, letter, suffix)
+          && FstPrefixCursor.follow(fst, alphabet, letter, probe, state.reader)
+          && endsWord(probe, suffix, state)) {
+        mask |= 1 << i;
+      }
+    }
+    return mask;
+  }
+
+  // Extends the prefix hash with the candidate letter and the suffix, so the filter can rule a
+  // letter out before its arcs are read.
+  private boolean mightBeWord(long prefixHash, char letter, String suffix) {
+    if (bloom == null) {
       return true;
+    }
+    long hash = BlockedBloomFilter.update(prefixHash, letter);
+    for (int i = 0; i < suffix.length(); i++) {
+      hash = BlockedBloomFilter.update(hash, suffix.charAt(i));
+    }
+    return bloom.mightContainHash(hash);
+  }
+
+  private boolean endsWord(Arc<Object> arc, String suffix, Scratch state) throws IOException {
+    for (int i = 0; i < suffix.length(); i++) {
+      if (!FstPrefixCursor.follow(fst, alphabet, suffix.charAt(i), arc, state.reader)) {
+        return false;
+      }
+    }
+    return arc.isFinal();
+  }
+
+  private boolean contains(Scratch state, CharSequence word) {
+    if (isCanonical(word)) {
+      return mightContain(word) && walk(state, word, true);
+    }
+    String normalized = normalizer.normalize(word.toString());
+    return !normalized.isEmpty() && mightContain(normalized) && walk(state, normalized, true);
+  }
+
+  private void requireOrdinals() {
+    if (ordinalCount < 0) {
+      throw new UnsupportedOperationException("Dictionary was compiled without word ordinals");
+    }
+  }
+
+  private static byte[] ensureCapacity(byte[] labels, int length) {
+    return length <= labels.length ? labels : Arrays.copyOf(labels, labels.length * 2);
+  }
+
+  private boolean mightContain(CharSequence word) {
+    return bloom == null || bloom.mightContain(word);
+  }
+
+  private boolean walk(Scratch state, CharSequence word, boolean wholeWord) {
+    Arc<Object> arc = fst.getFirstArc(state.arc);
+    try {
+      for (int i = 0; i < word.length(); i++) {
+        if (!FstPrefixCursor.follow(fst, alphabet, word.charAt(i), arc, state.reader)) {
+          return false;
+        }
+      }
     } catch (IOException e) {
       throw new IllegalStateException("Failed to read FST", e);
     }
+    return !wholeWord || arc.isFinal();
   }
 
   private static void validateMeta(DictionaryMeta meta) {
-    if (meta.formatVersion() != DictionaryFormat.FORMAT_VERSION) {
+    if (!DictionaryFormat.isSupported(meta.formatVersion())) {
       throw new IllegalStateException(
           "Unsupported dictionary format: " + meta.formatVersion());
     }
@@ -78,5 +427,61 @@ public final class FstDictionary implements Dictionary {
       throw new IllegalStateException(
           "Unsupported normalization: " + meta.normalisation());
     }
+    if (DictionaryFormat.LAYOUT_SHARDED.equals(meta.layout())) {
+      throw new IllegalStateException("Dictionary is sharded; load it with ShardedDictionary");
+    }
+    if (!DictionaryFormat.LAYOUT_WORDS.equals(meta.layout())) {
+      throw new IllegalStateException("Unsupported dictionary layout: " + meta.layout());
+    }
+    if (meta.usesDawg()) {
+      throw new IllegalStateException("Dictionary is a flat DAWG; load it with DawgDictionary");
+    }
+  }
+
+  // Per-thread lookup state, reused across calls so lookups do not allocate.
+  private static final class Scratch {
+    private final BytesReader reader;
+    private final Arc<Object> arc = new Arc<>();
+    private final Arc<Object> child = new Arc<>();
+    private final Arc<Object> probe = new Arc<>();
+    private final CharArrayView view = new CharArrayView();
+    private byte[] labels = new byte[32];
+
+    Scratch(BytesReader reader) {
+      this.reader = reader;
+    }
+  }
+
+  private static final class CharArrayView implements CharSequence {
+    private char[] chars;
+    private int offset;
+    private int length;
+
+    CharArrayView wrap(char[] chars, int offset, int length) {
+      this.chars = chars;
+      this.offset = offset;
+      this.length = length;
+      return this;
+    }
+
+    @Override
+    public int length() {
+      return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      return toString().subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      return new String(chars, offset, length);
+    }
   }
 }
@@ -0,0 +1,88 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import org.apache.lucene.util.fst.FST;
+
+public final class FstGaddag implements Closeable {
+  private final DictionaryAlphabet alphabet;
+  private final FST<Object> fst;
+  private final Closeable resources;
+
+  private FstGaddag(DictionaryAlphabet alphabet, FST<Object> fst, Closeable resources) {
+    this.alphabet = alphabet;
+    this.fst = fst;
+    this.resources = resources;
+  }
+
+  public static FstGaddag load(Path gaddagPath, Path metaPath) throws IOException {
+    return load(gaddagPath, metaPath, DictionaryLoadMode.HEAP);
+  }
+
+  public static FstGaddag load(Path gaddagPath, Path metaPath, DictionaryLoadMode mode)
+      throws IOException {
+    Objects.requireNonNull(gaddagPath, "gaddagPath");
+    Objects.requireNonNull(metaPath, "metaPath");
+    Objects.requireNonNull(mode, "mode");
+
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+    validateMeta(meta);
+    DictionaryAlphabet alphabet = DictionaryAlphabet.forMeta(meta);
+
+    FstLoader.LoadedFst loaded = FstLoader.load(gaddagPath, mode);
+    return new FstGaddag(alphabet, loaded.fst(), loaded.resources());
+  }
+
+  public Node root() {
+    return new Node(new FstPrefixCursor(fst, alphabet));
+  }
+
+  @Override
+  public void close() throws IOException {
+    resources.close();
+  }
+
+  private static void validateMeta(DictionaryMeta meta) {
+    if (!DictionaryFormat.isSupported(meta.formatVersion())) {
+      throw new IllegalStateException(
+          "Unsupported dictionary format: " + meta.formatVersion());
+    }
+    if (!DictionaryFormat.NORMALISATION.equals(meta.normalisation())) {
+      throw new IllegalStateException(
+          "Unsupported normalization: " + meta.normalisation());
+    }
+    if (!DictionaryFormat.LAYOUT_GADDAG.equals(meta.layout())) {
+      throw new IllegalStateException("Not a GADDAG artifact: " + meta.layout());
+    }
+  }
+
+  // A position in the GADDAG. Nodes are immutable; each step returns a new node or null when
+  // no entry continues with the given letter. Nodes share a BytesReader, so a single traversal
+  // must stay on one thread.
+  public static final class Node {
+    private final FstPrefixCursor cursor;
+
+    private Node(FstPrefixCursor cursor) {
+      this.cursor = cursor;
+    }
+
+    public Node next(char letter) {
+      FstPrefixCursor next = cursor.copy();
+      return next.advance(letter) ? new Node(next) : null;
+    }
+
+    public Node pivot() {
+      return next(DictionaryFormat.GADDAG_SEPARATOR);
+    }
+
+    public boolean isWord() {
+      return cursor.isWord();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.scrabble.dictionary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.NoOutputs;
+import org.apache.lucene.util.fst.OffHeapFSTStore;
+import org.apache.lucene.util.fst.Outputs;
+
+final class FstLoader {
+  private FstLoader() { }
+
+  static LoadedFst load(Path fstPath, DictionaryLoadMode mode) throws IOException {
+    return load(fstPath, mode, NoOutputs.getSingleton());
+  }
+
+  // Callers traverse arcs without looking at outputs, except where they know the output type
+  // (ordinal FSTs hold Long outputs), so every FST is exposed as FST<Object>.
+  @SuppressWarnings("unchecked")
+  static LoadedFst load(Path fstPath, DictionaryLoadMode mode, Outputs<?> outputs)
+      throws IOException {
+    Outputs<Object> untyped = (Outputs<Object>) outputs;
+    return switch (mode) {
+      case HEAP -> new LoadedFst(FST.read(fstPath, untyped), () -> { });
+      case MMAP -> map(fstPath, untyped);
+    };
+  }
+
+  private static LoadedFst map(Path fstPath, Outputs<Object> outputs) throws IOException {
+    Path absolute = fstPath.toAbsolutePath();
+    MMapDirectory directory = new MMapDirectory(absolute.getParent());
+    IndexInput input = null;
+    try {
+      input = directory.openInput(absolute.getFileName().toString(), IOContext.DEFAULT);
+      FST.FSTMetadata<Object> metadata = FST.readMetadata(input, outputs);
+      OffHeapFSTStore store = new OffHeapFSTStore(input, input.getFilePointer(), metadata);
+      FST<Object> fst = FST.fromFSTReader(metadata, store);
+      IndexInput mapped = input;
+      return new LoadedFst(fst, () -> IOUtils.close(mapped, directory));
+    } catch (IOException | RuntimeException e) {
+      IOUtils.closeWhileHandlingException(input, directory);
+      throw e;
+    }
+  }
+
+  record LoadedFst(FST<Object> fst, Closeable resources) { }
+}
@@ -0,0 +1,96 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.fst.FST.Arc;
+import org.apache.lucene.util.fst.FST.BytesReader;
+import org.apache.lucene.util.fst.FST;
+
+// Intersects a deterministic label automaton with the FST: a depth-first walk over FST arcs
+// that only descends while the automaton still has a live state, producing words lazily.
+final class FstPatternSearch extends Spliterators.AbstractSpliterator<String> {
+  private final FST<Object> fst;
+  private final DictionaryAlphabet alphabet;
+  private final Automaton automaton;
+  private final BytesReader reader;
+  private final List<Arc<Object>> arcs = new ArrayList<>();
+  private int[] states = new int[16];
+  private boolean[] expanded = new boolean[16];
+  private byte[] labels = new byte[16];
+  private int depth = -1;
+
+  FstPatternSearch(FST<Object> fst, DictionaryAlphabet alphabet, Automaton automaton) {
+    super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    this.fst = fst;
+    this.alphabet = alphabet;
+    this.automaton = automaton;
+    this.reader = fst.getBytesReader();
+    try {
+      Arc<Object> root = fst.getFirstArc(new Arc<>());
+      if (automaton.getNumStates() > 0 && FST.targetHasArcs(root)) {
+        push(root, 0);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read FST", e);
+    }
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super String> action) {
+    try {
+      while (depth >= 0) {
+        Arc<Object> arc = arcs.get(depth);
+        if (expanded[depth]) {
+          if (arc.isLast()) {
+            depth--;
+            continue;
+          }
+          fst.readNextArc(arc, reader);
+        }
+        expanded[depth] = true;
+        if (arc.label() == FST.END_LABEL) {
+          continue;
+        }
+        int state = automaton.step(states[depth], arc.label());
+        if (state < 0) {
+          continue;
+        }
+        labels[depth] = (byte) arc.label();
+        int length = depth + 1;
+        boolean match = arc.isFinal() && automaton.isAccept(state);
+        if (FST.targetHasArcs(arc)) {
+          push(arc, state);
+        }
+        if (match) {
+          action.accept(alphabet.decode(labels, length));
+          return true;
+        }
+      }
+      return false;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read FST", e);
+    }
+  }
+
+  private void push(Arc<Object> parent, int state) throws IOException {
+    depth++;
+    if (depth == arcs.size()) {
+      arcs.add(new Arc<>());
+    }
+    if (depth == states.length) {
+      states = Arrays.copyOf(states, depth * 2);
+      expanded = Arrays.copyOf(expanded, depth * 2);
+      labels = Arrays.copyOf(labels, depth * 2);
+    }
+    fst.readFirstTargetArc(parent, arcs.get(depth), reader);
+    states[depth] = state;
+    expanded[depth] = false;
+  }
+}
@@ -0,0 +1,142 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.ReachTable;
+import java.io.IOException;
+import org.apache.lucene.util.fst.FST.Arc;
+import org.apache.lucene.util.fst.FST.BytesReader;
+import org.apache.lucene.util.fst.FST;
+
+// Follows the labels of each letter from the current arc, so advancing costs one arc lookup
+// (up to three for v1 UTF-8 artifacts) regardless of how long the prefix already is. Pruning
+// bounds come from the reach table entry of the current arc's target node, looked up once per
+// position.
+final class FstPrefixCursor implements PrefixCursor {
+  private static final int NOT_LOOKED_UP = -2;
+
+  private final FST<Object> fst;
+  private final DictionaryAlphabet alphabet;
+  private final ReachTable reach;
+  private final BytesReader reader;
+  private final Arc<Object> arc;
+  private boolean dead;
+  private int reachIndex = NOT_LOOKED_UP;
+
+  FstPrefixCursor(FST<Object> fst, DictionaryAlphabet alphabet) {
+    this(fst, alphabet, null);
+  }
+
+  FstPrefixCursor(FST<Object> fst, DictionaryAlphabet alphabet, ReachTable reach) {
+    this(fst, alphabet, reach, fst.getBytesReader(), fst.getFirstArc(new Arc<>()), false);
+  }
+
+  private FstPrefixCursor(
+      FST<Object> fst,
+      DictionaryAlphabet alphabet,
+      ReachTable reach,
+      BytesReader reader,
+      Arc<Object> arc,
+      boolean dead) {
+    this.fst = fst;
+    this.alphabet = alphabet;
+    this.reach = reach;
+    this.reader = reader;
+    this.arc = arc;
+    this.dead = dead;
+  }
+
+  @Override
+  public boolean advance(char letter) {
+    if (dead) {
+      return false;
+    }
+    reachIndex = NOT_LOOKED_UP;
+    try {
+      dead = !follow(fst, alphabet, letter, arc, reader);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read FST", e);
+    }
+    return !dead;
+  }
+
+  @Override
+  public boolean isWord() {
+    return !dead && arc.isFinal();
+  }
+
+  @Override
+  public boolean isDead() {
+    return dead;
+  }
+
+  @Override
+  public FstPrefixCursor copy() {
+    return new FstPrefixCursor(
+        fst, alphabet, reach, reader, new Arc<Object>().copyFrom(arc), dead);
+  }
+
+  @Override
+  public int minRemaining() {
+    if (dead) {
+      return Integer.MAX_VALUE;
+    }
+    if (arc.isFinal()) {
+      return 0;
+    }
+    int index = reachIndex();
+    return index == ReachTable.UNKNOWN ? 0 : reach.minRemaining(index);
+  }
+
+  @Override
+  public int maxRemaining() {
+    if (dead || !FST.targetHasArcs(arc)) {
+      return 0;
+    }
+    int index = reachIndex();
+    return index == ReachTable.UNKNOWN ? Integer.MAX_VALUE : reach.maxRemaining(index);
+  }
+
+  @Override
+  public int reachableLetters() {
+    if (dead || !FST.targetHasArcs(arc)) {
+      return 0;
+    }
+    int index = reachIndex();
+    return index == ReachTable.UNKNOWN ? -1 : reach.reachableLetters(index);
+  }
+
+  private int reachIndex() {
+    if (reachIndex == NOT_LOOKED_UP) {
+      reachIndex = reach == null ? ReachTable.UNKNOWN : reach.indexOf(arc.target());
+    }
+    return reachIndex;
+  }
+
+  // Moves arc along the labels of one letter; shared with FstDictionary's lookups.
+  static boolean follow(
+      FST<Object> fst,
+      DictionaryAlphabet alphabet,
+      char letter,
+      Arc<Object> arc,
+      BytesReader reader) throws IOException {
+    if (!alphabet.isUtf8()) {
+      int label = alphabet.label(letter);
+      return label >= 0 && step(fst, label, arc, reader);
+    }
+    if (letter < 0x80) {
+      return step(fst, letter, arc, reader);
+    }
+    if (letter < 0x800) {
+      return step(fst, 0xC0 | (letter >> 6), arc, reader)
+          && step(fst, 0x80 | (letter & 0x3F), arc, reader);
+    }
+    return step(fst, 0xE0 | (letter >> 12), arc, reader)
+        && step(fst, 0x80 | ((letter >> 6) & 0x3F), arc, reader)
+        && step(fst, 0x80 | (letter & 0x3F), arc, reader);
+  }
+
+  private static boolean step(FST<Object> fst, int label, Arc<Object> arc, BytesReader reader)
+      throws IOException {
+    return fst.findTargetArc(label, arc, arc, reader) != null;
+  }
+}
@@ -0,0 +1,202 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// A compiled base with a DictionaryPatch laid over it: removed words are hidden and added words
+// answered from the patch's sorted lists. A lookup the patch does not touch costs a binary
+// search per list on top of the base lookup. Ordinals are not offered, since the patch would
+// shift them.
+public final class PatchedDictionary implements Dictionary {
+  private final DictionaryNormalizer normalizer = new DictionaryNormalizer();
+  private final Dictionary base;
+  private final DictionaryPatch patch;
+  private final String[] added;
+  private final String[] removed;
+
+  public PatchedDictionary(Dictionary base, DictionaryPatch patch) {
+    this.base = Objects.requireNonNull(base, "base");
+    this.patch = Objects.requireNonNull(patch, "patch");
+    this.added = patch.added().toArray(String[]::new);
+    this.removed = patch.removed().toArray(String[]::new);
+  }
+
+  public Dictionary base() {
+    return base;
+  }
+
+  public DictionaryPatch patch() {
+    return patch;
+  }
+
+  @Override
+  public boolean contains(String word) {
+    String key = canonical(word);
+    if (key.isEmpty() || has(removed, key)) {
+      return false;
+    }
+    return has(added, key) || base.contains(key);
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    String key = canonical(prefix);
+    if (hasPrefix(added, key)) {
+      return true;
+    }
+    if (!base.containsPrefix(key)) {
+      return false;
+    }
+    if (!hasPrefix(removed, key)) {
+      return true;
+    }
+    // Only removed words are skipped, so this reads at most one more word than were removed.
+    try (Stream<String> words = base.matching(WordPattern.wildcard(key + "*"))) {
+      return words.anyMatch(word -> !has(removed, word));
+    }
+  }
+
+  @Override
+  public BitSet containsAll(Collection<? extends CharSequence> words) {
+    BitSet found = base.containsAll(words);
+    int index = 0;
+    for (CharSequence word : words) {
+      if (word != null) {
+        String key = canonical(word.toString());
+        if (has(removed, key)) {
+          found.clear(index);
+        } else if (has(added, key)) {
+          found.set(index);
+        }
+      }
+      index++;
+    }
+    return found;
+  }
+
+  // Only patch words sharing the prefix can change the base mask.
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    String head = canonical(prefix);
+    String tail = canonical(suffix);
+    int mask = base.crossCheckMask(head, tail);
+    mask = adjust(removed, head, tail, mask, false);
+    return adjust(added, head, tail, mask, true);
+  }
+
+  // Anagram and pattern search run on this cursor through the Dictionary defaults.
+  @Override
+  public PrefixCursor cursor() {
+    return new Cursor(base.cursor(), new StringBuilder(), added.length + removed.length > 0);
+  }
+
+  private String canonical(String text) {
+    if (text == null) {
+      return "";
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (!DictionaryAlphabet.isCanonical(text.charAt(i))) {
+        return normalizer.normalize(text);
+      }
+    }
+    return text;
+  }
+
+  private static boolean has(String[] words, String word) {
+    return Arrays.binarySearch(words, word) >= 0;
+  }
+
+  private static boolean hasPrefix(String[] words, String prefix) {
+    int index = firstAtOrAfter(words, prefix);
+    return index < words.length && words[index].startsWith(prefix);
+  }
+
+  private static int firstAtOrAfter(String[] words, String key) {
+    int index = Arrays.binarySearch(words, key);
+    return index >= 0 ? index : -index - 1;
+  }
+
+  private static int adjust(String[] words, String prefix, String suffix, int mask, boolean set) {
+    int length = prefix.length() + 1 + suffix.length();
+    for (int i = firstAtOrAfter(words, prefix);
+        i < words.length && words[i].startsWith(prefix); i++) {
+      String word = words[i];
+      if (word.length() == length && word.endsWith(suffix)) {
+        int letter = DictionaryAlphabet.POLISH.indexOf(word.charAt(prefix.length()));
+        if (letter >= 0) {
+          mask = set ? mask | (1 << letter) : mask & ~(1 << letter);
+        }
+      }
+    }
+    return mask;
+  }
+
+  // Follows the base cursor and checks the patch while some patch word still shares the
+  // prefix. A base cursor that is dead stays alive here while added words continue it; one
+  // whose remaining words were all removed is reported alive, but never as a word.
+  private final class Cursor implements PrefixCursor {
+    private final PrefixCursor base;
+    private final StringBuilder prefix;
+    private boolean patched;
+
+    Cursor(PrefixCursor base, StringBuilder prefix, boolean patched) {
+      this.base = base;
+      this.prefix = prefix;
+      this.patched = patched;
+    }
+
+    @Override
+    public boolean advance(char letter) {
+      base.advance(letter);
+      if (patched) {
+        prefix.append(letter);
+        String current = prefix.toString();
+        patched = hasPrefix(added, current) || hasPrefix(removed, current);
+      }
+      return !isDead();
+    }
+
+    @Override
+    public boolean isWord() {
+      if (!patched) {
+        return base.isWord();
+      }
+      String word = prefix.toString();
+      if (has(removed, word)) {
+        return false;
+      }
+      return has(added, word) || base.isWord();
+    }
+
+    @Override
+    public boolean isDead() {
+      return base.isDead() && !(patched && hasPrefix(added, prefix.toString()));
+    }
+
+    @Override
+    public PrefixCursor copy() {
+      return new Cursor(base.copy(), new StringBuilder(prefix), patched);
+    }
+
+    // Below a prefix the patch touches, the base's pruning bounds no longer hold.
+    @Override
+    public int minRemaining() {
+      return patched ? 0 : base.minRemaining();
+    }
+
+    @Override
+    public int maxRemaining() {
+      return patched ? Integer.MAX_VALUE : base.maxRemaining();
+    }
+
+    @Override
+    public int reachableLetters() {
+      return patched ? -1 : base.reachableLetters();
+    }
+  }
+}
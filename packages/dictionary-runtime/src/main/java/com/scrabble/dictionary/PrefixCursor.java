@@ -0,0 +1,29 @@
+package com.scrabble.dictionary;
+
+// Extends a prefix one letter at a time without re-walking it from the root. Letters must
+// already be normalized. A cursor is not thread-safe; copies share its read state, so a cursor
+// and its copies must stay on one thread.
+public interface PrefixCursor {
+  boolean advance(char letter);
+
+  boolean isWord();
+
+  boolean isDead();
+
+  PrefixCursor copy();
+
+  // Pruning bounds, when the dictionary was compiled with them: the fewest and most letters
+  // that can still complete a word (0 when the prefix is one), and the letters that appear
+  // below the prefix as a DictionaryAlphabet.POLISH mask. Without them these report no bound.
+  default int minRemaining() {
+    return 0;
+  }
+
+  default int maxRemaining() {
+    return Integer.MAX_VALUE;
+  }
+
+  default int reachableLetters() {
+    return -1;
+  }
+}
@@ -0,0 +1,377 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import com.scrabble.dictionary.format.ShardManifest;
+import com.scrabble.dictionary.format.ShardManifestIO;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+// One word artifact per initial letter, as listed by the shard manifest. Shards load in
+// parallel, and every lookup goes straight to the shard of its first letter. Ordinals continue
+// across shards, which hold consecutive ranges of the alphabet order.
+public final class ShardedDictionary implements Dictionary, Closeable {
+  private final DictionaryNormalizer normalizer = new DictionaryNormalizer();
+  private final DictionaryAlphabet alphabet;
+  private final Shard[] shards;
+  // Indexed by the label of a shard's initial letter; null where no word starts with it.
+  private final Shard[] byLabel;
+  private final long wordCount;
+  private final boolean ordinals;
+
+  private ShardedDictionary(
+      DictionaryAlphabet alphabet, Shard[] shards, long wordCount, boolean ordinals) {
+    this.alphabet = alphabet;
+    this.shards = shards;
+    this.byLabel = new Shard[alphabet.letters().length() + 1];
+    for (Shard shard : shards) {
+      byLabel[alphabet.label(shard.initial())] = shard;
+    }
+    this.wordCount = wordCount;
+    this.ordinals = ordinals;
+  }
+
+  public static ShardedDictionary load(Path fstPath, Path metaPath) throws IOException {
+    return load(fstPath, metaPath, DictionaryLoadMode.HEAP);
+  }
+
+  public static ShardedDictionary load(Path fstPath, Path metaPath, DictionaryLoadMode mode)
+      throws IOException {
+    Objects.requireNonNull(fstPath, "fstPath");
+    Objects.requireNonNull(metaPath, "metaPath");
+    Objects.requireNonNull(mode, "mode");
+
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+    validateMeta(meta);
+    ShardManifest manifest = ShardManifestIO.read(DictionaryPaths.shardManifestPathFor(fstPath));
+    if (!meta.sourceSha256().equals(manifest.sourceSha256())) {
+      throw new IllegalStateException("Shard manifest was built from a different word list");
+    }
+    DictionaryAlphabet alphabet = DictionaryAlphabet.forMeta(meta);
+    Shard[] shards = loadShards(
+        DictionaryPaths.shardDirectoryFor(fstPath), manifest, alphabet, mode);
+    return new ShardedDictionary(alphabet, shards, manifest.wordCount(), meta.hasOrdinals());
+  }
+
+  public int shardCount() {
+    return shards.length;
+  }
+
+  @Override
+  public boolean contains(String word) {
+    String key = canonical(word);
+    Shard shard = shardFor(key);
+    return shard != null && shard.words().contains(key);
+  }
+
+  @Override
+  public boolean containsPrefix(String prefix) {
+    String key = canonical(prefix);
+    if (key.isEmpty()) {
+      return true;
+    }
+    Shard shard = shardFor(key);
+    return shard != null && shard.words().containsPrefix(key);
+  }
+
+  // With an empty prefix the candidate letter is the initial, so each shard answers for its own
+  // letter only.
+  @Override
+  public int crossCheckMask(String prefix, String suffix) {
+    String head = canonical(prefix);
+    String tail = canonical(suffix);
+    if (!head.isEmpty()) {
+      Shard shard = shardFor(head);
+      return shard == null ? 0 : shard.words().crossCheckMask(head, tail);
+    }
+    int mask = 0;
+    for (Shard shard : shards) {
+      int letter = DictionaryAlphabet.POLISH.indexOf(shard.initial());
+      if (letter >= 0 && shard.words().contains(shard.initial() + tail)) {
+        mask |= 1 << letter;
+      }
+    }
+    return mask;
+  }
+
+  @Override
+  public int ordinal(CharSequence word) {
+    requireOrdinals();
+    String key = canonical(word == null ? null : word.toString());
+    Shard shard = shardFor(key);
+    if (shard == null) {
+      return -1;
+    }
+    int local = shard.words().ordinal(key);
+    return local < 0 ? -1 : Math.toIntExact(shard.firstOrdinal() + local);
+  }
+
+  @Override
+  public String wordAt(int ordinal) {
+    requireOrdinals();
+    Objects.checkIndex(ordinal, wordCount);
+    int low = 0;
+    int high = shards.length - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (shards[middle].firstOrdinal() <= ordinal) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return shards[low].words().wordAt(Math.toIntExact(ordinal - shards[low].firstOrdinal()));
+  }
+
+  @Override
+  public PrefixCursor cursor() {
+    return new Cursor(null, false);
+  }
+
+  // Shards hold consecutive ranges of the alphabet order, so their results concatenate in order.
+  @Override
+  public Stream<String> matching(WordPattern pattern) {
+    return Arrays.stream(shards).flatMap(shard -> shard.words().matching(pattern));
+  }
+
+  public DictionaryStats stats() {
+    List<DictionaryStats> parts = new ArrayList<>(shards.length);
+    for (Shard shard : shards) {
+      parts.add(DictionaryStats.of(shard.words()));
+    }
+    return DictionaryStats.combine(parts);
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeAll(shards);
+  }
+
+  private Shard shardFor(String key) {
+    return key.isEmpty() ? null : shardFor(key.charAt(0));
+  }
+
+  private Shard shardFor(char initial) {
+    int label = alphabet.label(initial);
+    return label < 0 || label >= byLabel.length ? null : byLabel[label];
+  }
+
+  private String canonical(String text) {
+    if (text == null) {
+      return "";
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (!DictionaryAlphabet.isCanonical(text.charAt(i))) {
+        return normalizer.normalize(text);
+      }
+    }
+    return text;
+  }
+
+  private void requireOrdinals() {
+    if (!ordinals) {
+      throw new UnsupportedOperationException("Dictionary was compiled without word ordinals");
+    }
+  }
+
+  // Manifest file names are relative to the shard directory; one that leaves it is rejected.
+  private static Path shardPath(Path directory, ShardManifest.Shard entry) {
+    Path base = directory.toAbsolutePath().normalize();
+    Path path = base.resolve(entry.file()).normalize();
+    if (!path.startsWith(base) || path.equals(base)) {
+      throw new IllegalStateException("Shard file is outside the shard directory: " + entry.file());
+    }
+    return path;
+  }
+
+  // Each shard loads on a pool of its own; if any fails, the ones already loaded are closed.
+  private static Shard[] loadShards(
+      Path directory,
+      ShardManifest manifest,
+      DictionaryAlphabet alphabet,
+      DictionaryLoadMode mode) throws IOException {
+    List<ShardManifest.Shard> entries = manifest.shards();
+    if (entries.isEmpty()) {
+      throw new IllegalStateException("Shard manifest lists no shards");
+    }
+    Shard[] shards = new Shard[entries.size()];
+    List<Callable<Void>> tasks = new ArrayList<>();
+    long firstOrdinal = 0;
+    for (int i = 0; i < entries.size(); i++) {
+      ShardManifest.Shard entry = entries.get(i);
+      if (alphabet.label(entry.letter()) < 0) {
+        throw new IllegalStateException("Shard initial is not in the alphabet: " + entry.initial());
+      }
+      Path shardPath = shardPath(directory, entry);
+      int index = i;
+      long first = firstOrdinal;
+      tasks.add(() -> {
+        shards[index] = loadShard(
+            entry.letter(), shardPath, manifest.sourceSha256(), first, mode);
+        return null;
+      });
+      firstOrdinal += entry.wordCount();
+    }
+
+    Throwable failure = null;
+    int parallelism = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+    try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+      for (Future<Void> future : pool.invokeAll(tasks)) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          failure = failure == null ? e.getCause() : failure;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = new InterruptedIOException("Interrupted while loading shards");
+    }
+    if (failure == null) {
+      return shards;
+    }
+    closeAll(shards);
+    if (failure instanceof IOException io) {
+      throw io;
+    }
+    if (failure instanceof RuntimeException runtime) {
+      throw runtime;
+    }
+    throw new IllegalStateException("Failed to load shard", failure);
+  }
+
+  private static Shard loadShard(
+      char initial,
+      Path shardPath,
+      String sourceSha256,
+      long firstOrdinal,
+      DictionaryLoadMode mode) throws IOException {
+    Path metaPath = DictionaryPaths.metaPathFor(shardPath);
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+    if (!sourceSha256.equals(meta.sourceSha256())) {
+      throw new IllegalStateException("Shard was built from a different word list: " + shardPath);
+    }
+    if (meta.usesDawg()) {
+      DawgDictionary dawg = DawgDictionary.load(shardPath, metaPath, mode);
+      return new Shard(initial, dawg, dawg, firstOrdinal);
+    }
+    FstDictionary fst = FstDictionary.load(shardPath, metaPath, mode);
+    return new Shard(initial, fst, fst, firstOrdinal);
+  }
+
+  private static void closeAll(Shard[] shards) throws IOException {
+    IOException failure = null;
+    for (Shard shard : shards) {
+      if (shard == null) {
+        continue;
+      }
+      try {
+        shard.resource().close();
+      } catch (IOException e) {
+        failure = failure == null ? e : failure;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private static void validateMeta(DictionaryMeta meta) {
+    if (meta.formatVersion() < 2 || !DictionaryFormat.isSupported(meta.formatVersion())) {
+      throw new IllegalStateException(
+          "Unsupported dictionary format: " + meta.formatVersion());
+    }
+    if (!DictionaryFormat.NORMALISATION.equals(meta.normalisation())) {
+      throw new IllegalStateException(
+          "Unsupported normalization: " + meta.normalisation());
+    }
+    if (!DictionaryFormat.LAYOUT_SHARDED.equals(meta.layout())) {
+      throw new IllegalStateException("Dictionary is not sharded: " + meta.layout());
+    }
+  }
+
+  private record Shard(char initial, Dictionary words, Closeable resource, long firstOrdinal) {
+  }
+
+  // Picks its shard on the first letter and follows that shard's cursor from there. At the root
+  // no shard is chosen yet, so it reports no pruning bounds.
+  private final class Cursor implements PrefixCursor {
+    private PrefixCursor shard;
+    private boolean dead;
+
+    Cursor(PrefixCursor shard, boolean dead) {
+      this.shard = shard;
+      this.dead = dead;
+    }
+
+    @Override
+    public boolean advance(char letter) {
+      if (dead) {
+        return false;
+      }
+      if (shard == null) {
+        Shard initial = shardFor(letter);
+        if (initial == null) {
+          dead = true;
+          return false;
+        }
+        shard = initial.words().cursor();
+      }
+      dead = !shard.advance(letter);
+      return !dead;
+    }
+
+    @Override
+    public boolean isWord() {
+      return !dead && shard != null && shard.isWord();
+    }
+
+    @Override
+    public boolean isDead() {
+      return dead;
+    }
+
+    @Override
+    public PrefixCursor copy() {
+      return new Cursor(shard == null ? null : shard.copy(), dead);
+    }
+
+    @Override
+    public int minRemaining() {
+      if (dead) {
+        return Integer.MAX_VALUE;
+      }
+      return shard == null ? PrefixCursor.super.minRemaining() : shard.minRemaining();
+    }
+
+    @Override
+    public int maxRemaining() {
+      if (dead) {
+        return 0;
+      }
+      return shard == null ? PrefixCursor.super.maxRemaining() : shard.maxRemaining();
+    }
+
+    @Override
+    public int reachableLetters() {
+      if (dead) {
+        return 0;
+      }
+      return shard == null ? PrefixCursor.super.reachableLetters() : shard.reachableLetters();
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.scrabble.dictionary;
+
+final class StringPrefixCursor implements PrefixCursor {
+  private final Dictionary dictionary;
+  private final StringBuilder prefix;
+  private boolean dead;
+
+  StringPrefixCursor(Dictionary dictionary) {
+    this(dictionary, new StringBuilder(), false);
+  }
+
+  private StringPrefixCursor(Dictionary dictionary, StringBuilder prefix, boolean dead) {
+    this.dictionary = dictionary;
+    this.prefix = prefix;
+    this.dead = dead;
+  }
+
+  @Override
+  public boolean advance(char letter) {
+    if (dead) {
+      return false;
+    }
+    prefix.append(letter);
+    dead = !dictionary.containsPrefix(prefix.toString());
+    return !dead;
+  }
+
+  @Override
+  public boolean isWord() {
+    return !dead && dictionary.contains(prefix.toString());
+  }
+
+  @Override
+  public boolean isDead() {
+    return dead;
+  }
+
+  @Override
+  public PrefixCursor copy() {
+    return new StringPrefixCursor(dictionary, new StringBuilder(prefix), dead);
+  }
+}
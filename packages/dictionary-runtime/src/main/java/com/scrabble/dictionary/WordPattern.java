@@ -0,0 +1,96 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.util.Objects;
+import org.apache.lucene.util.automaton.Automaton;
+import org.apache.lucene.util.automaton.Operations;
+import org.apache.lucene.util.automaton.RegExp;
+import org.apache.lucene.util.automaton.TooComplexToDeterminizeException;
+import org.apache.lucene.util.automaton.Transition;
+import org.apache.lucene.util.automaton.UTF32ToUTF8;
+
+// A word pattern held as a Lucene regular expression. Wildcards: '?' is one letter, '*' any
+// run of letters and [..] a character class. Matching ignores letter case.
+public record WordPattern(String regex) {
+
+  public WordPattern {
+    Objects.requireNonNull(regex, "regex");
+  }
+
+  public static WordPattern wildcard(String pattern) {
+    StringBuilder regex = new StringBuilder();
+    boolean inClass = false;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (inClass) {
+        regex.append(c);
+        inClass = c != ']';
+      } else if (c == '?') {
+        regex.append('.');
+      } else if (c == '*') {
+        regex.append(".*");
+      } else if (c == '[') {
+        regex.append(c);
+        inClass = true;
+      } else if (Character.isLetterOrDigit(c)) {
+        regex.append(c);
+      } else {
+        regex.append('\\').append(c);
+      }
+    }
+    return new WordPattern(regex.toString());
+  }
+
+  public static WordPattern regex(String regex) {
+    return new WordPattern(regex);
+  }
+
+  // A deterministic automaton over the alphabet's FST labels, without dead states.
+  Automaton automaton(DictionaryAlphabet alphabet) {
+    Automaton chars = new RegExp(regex, RegExp.NONE).toAutomaton();
+    try {
+      Automaton labels = determinize(relabel(chars, alphabet));
+      if (alphabet.isUtf8()) {
+        labels = determinize(new UTF32ToUTF8().convert(labels));
+      }
+      return Operations.removeDeadStates(labels);
+    } catch (TooComplexToDeterminizeException e) {
+      throw new IllegalArgumentException("Pattern is too complex: " + regex, e);
+    }
+  }
+
+  private static Automaton determinize(Automaton automaton) {
+    return Operations.determinize(automaton, Operations.DEFAULT_DETERMINIZE_WORK_LIMIT);
+  }
+
+  // Keeps only transitions on alphabet letters, in either case, and maps them to labels.
+  // UTF-8 alphabets keep code points so the automaton can be converted to bytes afterwards.
+  private static Automaton relabel(Automaton chars, DictionaryAlphabet alphabet) {
+    String letters = alphabet.isUtf8() ? DictionaryAlphabet.POLISH : alphabet.letters();
+    Automaton relabeled = new Automaton();
+    for (int state = 0; state < chars.getNumStates(); state++) {
+      relabeled.createState();
+    }
+    Transition transition = new Transition();
+    for (int state = 0; state < chars.getNumStates(); state++) {
+      relabeled.setAccept(state, chars.isAccept(state));
+      int count = chars.initTransition(state, transition);
+      for (int i = 0; i < count; i++) {
+        chars.getNextTransition(transition);
+        for (int j = 0; j < letters.length(); j++) {
+          char letter = letters.charAt(j);
+          if (inRange(transition, letter) || inRange(transition, Character.toLowerCase(letter))) {
+            int label = alphabet.isUtf8() ? letter : alphabet.label(letter);
+            relabeled.addTransition(state, transition.dest, label);
+          }
+        }
+      }
+    }
+    relabeled.finishState();
+    return relabeled;
+  }
+
+  private static boolean inRange(Transition transition, int codePoint) {
+    return codePoint >= transition.min && codePoint <= transition.max;
+  }
+}
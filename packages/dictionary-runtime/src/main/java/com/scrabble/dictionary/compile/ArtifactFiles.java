@@ -0,0 +1,58 @@
+package com.scrabble.dictionary.compile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+// File operations the compiler publishes artifacts and cleans up with.
+final class ArtifactFiles {
+  private ArtifactFiles() {
+  }
+
+  // Writes to a temporary file next to the target and moves it into place, so a reader never
+  // sees a partial artifact and one that has the old file mapped keeps reading the old inode.
+  static void publish(Path target, ArtifactWriter writer) throws IOException {
+    Path absolute = target.toAbsolutePath();
+    Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName() + ".", ".tmp");
+    try {
+      writer.write(temp);
+      Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  // Moves a fully built directory into place. A rename can't replace a non-empty directory, so
+  // a live one is first renamed aside; it is returned for the caller to delete once nothing
+  // names it, or null when the target did not exist. Both renames stay within the parent.
+  static Path replaceDirectory(Path built, Path target) throws IOException {
+    Path absolute = target.toAbsolutePath();
+    Path retired = null;
+    if (Files.isDirectory(absolute)) {
+      retired = absolute.resolveSibling(absolute.getFileName() + ".old");
+      if (Files.exists(retired)) {
+        deleteDirectory(retired);
+      }
+      Files.move(absolute, retired, StandardCopyOption.ATOMIC_MOVE);
+    }
+    Files.move(built, absolute, StandardCopyOption.ATOMIC_MOVE);
+    return retired;
+  }
+
+  // Deletes children before their parents.
+  static void deleteDirectory(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  interface ArtifactWriter {
+    void write(Path path) throws IOException;
+  }
+}
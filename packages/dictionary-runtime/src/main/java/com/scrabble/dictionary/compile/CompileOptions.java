@@ -0,0 +1,75 @@
+package com.scrabble.dictionary.compile;
+
+import java.nio.file.Path;
+
+// memoryLimitBytes bounds the sort buffers and FST suffix caches. A null tempDir spills runs to
+// the system temp directory, a Bloom false-positive rate of 0 skips the filter, ordinals make
+// the word FST map every word to its position in alphabet order, dawg writes the word
+// artifact as a FlatDawg instead of a Lucene FST, shards splits it into one artifact per
+// initial letter, compiled in parallel, and gaddag writes the GADDAG the AI grows moves from.
+public record CompileOptions(
+    long memoryLimitBytes,
+    Path tempDir,
+    double bloomFalsePositiveRate,
+    boolean ordinals,
+    boolean dawg,
+    boolean shards,
+    boolean gaddag) {
+  public static final long DEFAULT_MEMORY_LIMIT_BYTES = 256L * 1024 * 1024;
+  public static final long MIN_MEMORY_LIMIT_BYTES = 4L * 1024 * 1024;
+  public static final double DEFAULT_BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+  public CompileOptions {
+    if (memoryLimitBytes < MIN_MEMORY_LIMIT_BYTES) {
+      throw new IllegalArgumentException(
+          "Memory limit must be at least " + MIN_MEMORY_LIMIT_BYTES + " bytes");
+    }
+    if (!(bloomFalsePositiveRate >= 0 && bloomFalsePositiveRate < 1)) {
+      throw new IllegalArgumentException("Bloom false-positive rate must be in [0, 1)");
+    }
+    if (ordinals && dawg) {
+      throw new IllegalArgumentException("Word ordinals are not supported by the DAWG encoding");
+    }
+  }
+
+  public static CompileOptions defaults() {
+    return new CompileOptions(
+        DEFAULT_MEMORY_LIMIT_BYTES, null, DEFAULT_BLOOM_FALSE_POSITIVE_RATE, false, false, false,
+        true);
+  }
+
+  public CompileOptions withMemoryLimit(long memoryLimitBytes) {
+    return new CompileOptions(
+        memoryLimitBytes, tempDir, bloomFalsePositiveRate, ordinals, dawg, shards, gaddag);
+  }
+
+  public CompileOptions withTempDir(Path tempDir) {
+    return new CompileOptions(
+        memoryLimitBytes, tempDir, bloomFalsePositiveRate, ordinals, dawg, shards, gaddag);
+  }
+
+  public CompileOptions withBloomFalsePositiveRate(double bloomFalsePositiveRate) {
+    return new CompileOptions(
+        memoryLimitBytes, tempDir, bloomFalsePositiveRate, ordinals, dawg, shards, gaddag);
+  }
+
+  public CompileOptions withOrdinals(boolean ordinals) {
+    return new CompileOptions(
+        memoryLimitBytes, tempDir, bloomFalsePositiveRate, ordinals, dawg, shards, gaddag);
+  }
+
+  public CompileOptions withDawg(boolean dawg) {
+    return new CompileOptions(
+        memoryLimitBytes, tempDir, bloomFalsePositiveRate, ordinals, dawg, shards, gaddag);
+  }
+
+  public CompileOptions withShards(boolean shards) {
+    return new CompileOptions(
+        memoryLimitBytes, tempDir, bloomFalsePositiveRate, ordinals, dawg, shards, gaddag);
+  }
+
+  public CompileOptions withGaddag(boolean gaddag) {
+    return new CompileOptions(
+        memoryLimitBytes, tempDir, bloomFalsePositiveRate, ordinals, dawg, shards, gaddag);
+  }
+}
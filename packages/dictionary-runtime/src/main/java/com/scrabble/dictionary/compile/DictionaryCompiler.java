@@ -1,13 +1,23 @@
 package com.scrabble.dictionary.compile;
 
 import com.scrabble.dictionary.DictionaryNormalizer;
+import com.scrabble.dictionary.format.BlockedBloomFilter;
+import com.scrabble.dictionary.format.DictionaryAlphabet;
 import com.scrabble.dictionary.format.DictionaryFormat;
 import com.scrabble.dictionary.format.DictionaryMeta;
 import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPatch;
 import com.scrabble.dictionary.format.DictionaryPaths;
+import com.scrabble.dictionary.format.FlatDawg;
+import com.scrabble.dictionary.format.ReachTable;
+import com.scrabble.dictionary.format.ShardManifest;
+import com.scrabble.dictionary.format.ShardManifestIO;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -15,86 +25,432 @@ import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HexFormat;
-import java.util.Set;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SortedSet;
 import java.util.TreeSet;
-import org.apache.lucene.util.BytesRef;
-import org.apache.lucene.util.IntsRefBuilder;
-import org.apache.lucene.util.fst.FSTCompiler;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import org.apache.lucene.util.fst.FST;
 import org.apache.lucene.util.fst.NoOutputs;
-import org.apache.lucene.util.fst.Util;
 
+// Streams the word list through an external sort instead of holding it in memory. Lines are
+// normalised in parallel chunks, spilled to temp files as sorted runs once the memory limit
+// is reached, then merged straight into the FST compilers. A quarter of the limit goes to
+// each sort buffer and to the FST compiler's suffix cache.
 public final class DictionaryCompiler {
+  private static final int CHUNK_LINES = 16_384;
   private static final HexFormat HEX = HexFormat.of();
 
   private final DictionaryNormalizer normalizer = new DictionaryNormalizer();
+  private final CompileOptions options;
 
-  public void compile(Path inputPath, Path fstOutputPath) throws IOException {
-    Set<String> words = readNormalizedWords(inputPath);
-    if (words.isEmpty()) {
+  public DictionaryCompiler() {
+    this(CompileOptions.defaults());
+  }
+
+  public DictionaryCompiler(CompileOptions options) {
+    this.options = Objects.requireNonNull(options, "options");
+  }
+
+  public Result compile(Path inputPath, Path fstOutputPath) throws IOException {
+    return compile(inputPath, fstOutputPath, null);
+  }
+
+  // Folds a patch into the new base: its added words join the source and its removed words are
+  // dropped, and the meta records the patch's hash so verify can ask for it. Any patch left next
+  // to the output was made for the previous base and is deleted.
+  public Result compile(Path inputPath, Path fstOutputPath, DictionaryPatch patch)
+      throws IOException {
+    Path workDir = options.tempDir() == null
+        ? Files.createTempDirectory("dictionary-compile-")
+        : Files.createTempDirectory(
+            Files.createDirectories(options.tempDir()), "dictionary-compile-");
+    long share = options.memoryLimitBytes() / 4;
+    // Closed last, after the sorts and writers release their files; a failed cleanup is added
+    // to the compile's own exception rather than replacing it.
+    try (Closeable cleanup = () -> ArtifactFiles.deleteDirectory(workDir);
+        ExternalSort words = new ExternalSort(DictionaryAlphabet.LABEL_ORDER, share, workDir);
+        ExternalSort gaddag = options.gaddag()
+            ? new ExternalSort(DictionaryAlphabet.LABEL_ORDER, share, workDir)
+            : null;
+        FstWriter gaddagWriter = options.gaddag()
+            ? new FstWriter(workDir.resolve("gaddag.body"), share, false)
+            : null) {
+      SortedSet<Character> extras = new TreeSet<>();
+      String sourceSha256 = readNormalizedWords(inputPath, words, extras);
+      if (patch != null) {
+        addChunk(patch.added(), words, extras);
+      }
+      Job job = new Job(
+          words,
+          gaddag,
+          gaddagWriter,
+          patch == null ? List.of() : patch.removed(),
+          DictionaryAlphabet.of(DictionaryAlphabet.alphabetFor(extras)),
+          sourceSha256,
+          Instant.now(),
+          workDir,
+          share);
+      if (fstOutputPath.getParent() != null) {
+        Files.createDirectories(fstOutputPath.getParent());
+      }
+      return options.shards()
+          ? compileSharded(job, inputPath, fstOutputPath, patch)
+          : compileSingle(job, inputPath, fstOutputPath, patch);
+    }
+  }
+
+  // One words artifact next to the GADDAG. A shard directory left by an earlier sharded compile
+  // is removed once the new meta is published.
+  private Result compileSingle(Job job, Path inputPath, Path fstOutputPath, DictionaryPatch patch)
+      throws IOException {
+    // Sized before de-duplication, so duplicates only lower the false-positive rate.
+    BlockedBloomFilter bloom = options.bloomFalsePositiveRate() > 0
+        ? BlockedBloomFilter.create(
+            job.words().added(), options.bloomFalsePositiveRate(), job.sourceSha256())
+        : null;
+    try (FstWriter wordWriter = new FstWriter(
+        job.workDir().resolve("words.body"), job.suffixCacheBytes(), options.ordinals())) {
+      forEachWord(job, word -> {
+        wordWriter.add(job.alphabet().encode(word));
+        if (bloom != null) {
+          bloom.add(word);
+        }
+      });
+      requireWords(wordWriter.entries(), inputPath);
+      if (options.gaddag()) {
+        compileGaddag(job, DictionaryPaths.gaddagPathFor(fstOutputPath));
+      }
+      WrittenWords written = writeWords(wordWriter, bloom, fstOutputPath,
+          job.workDir().resolve("words.fst"), job.alphabet(), job.sourceSha256(),
+          job.createdAt());
+      publishMetas(job, written.meta(), fstOutputPath, patch);
+      Path shardDirectory = DictionaryPaths.shardDirectoryFor(fstOutputPath);
+      if (Files.isDirectory(shardDirectory)) {
+        ArtifactFiles.deleteDirectory(shardDirectory);
+      }
+      return job.result(wordWriter.entries(), written, 0);
+    }
+  }
+
+  // Every shard compiles from its own sorted run on a dedicated pool, alongside the GADDAG, and
+  // the suffix cache share is split between the shards. The top-level meta only names the
+  // layout and the manifest lists the shards; the single-artifact files are removed once the
+  // meta is published.
+  //
+  // The shards and manifest are built in a staging directory next to the live one and swapped
+  // in before the meta, so a reader of the previous compile never sees a half-written set.
+  private Result compileSharded(Job job, Path inputPath, Path fstOutputPath, DictionaryPatch patch)
+      throws IOException {
+    Path shardDirectory = DictionaryPaths.shardDirectoryFor(fstOutputPath).toAbsolutePath();
+    Path directory = Files.createTempDirectory(
+        shardDirectory.getParent(), shardDirectory.getFileName() + ".");
+    try (Closeable discard = () -> {
+          if (Files.exists(directory)) {
+            ArtifactFiles.deleteDirectory(directory);
+          }
+        };
+        ShardSplitter splitter = new ShardSplitter(job.workDir())) {
+      forEachWord(job, splitter::add);
+      requireWords(splitter.wordCount(), inputPath);
+      List<ShardSplitter.Run> runs = splitter.runs();
+      long shardCacheBytes = job.suffixCacheBytes() / runs.size();
+      Path gaddagOutputPath = DictionaryPaths.gaddagPathFor(fstOutputPath);
+      List<Callable<WrittenWords>> tasks = new ArrayList<>();
+      if (options.gaddag()) {
+        tasks.add(() -> {
+          compileGaddag(job, gaddagOutputPath);
+          return WrittenWords.NONE;
+        });
+      }
+      List<ShardManifest.Shard> shards = new ArrayList<>();
+      for (ShardSplitter.Run run : runs) {
+        String name = String.format(Locale.ROOT, "%02d", job.alphabet().label(run.initial()));
+        shards.add(new ShardManifest.Shard(
+            String.valueOf(run.initial()), name + ".fst", run.wordCount()));
+        tasks.add(() -> compileShard(run, directory.resolve(name + ".fst"),
+            job.workDir().resolve("shard-" + name), job.alphabet(), job.sourceSha256(),
+            job.createdAt(), shardCacheBytes));
+      }
+
+      long bloomBytes = 0;
+      int reachNodes = 0;
+      for (WrittenWords written : runAll(tasks)) {
+        bloomBytes += written.bloomFilterBytes();
+        reachNodes += written.reachNodes();
+      }
+      ShardManifest manifest = new ShardManifest(job.sourceSha256(), shards);
+      ArtifactFiles.publish(
+          directory.resolve(DictionaryPaths.shardManifestPathFor(fstOutputPath).getFileName()),
+          path -> ShardManifestIO.write(path, manifest));
+      Path retired = ArtifactFiles.replaceDirectory(directory, shardDirectory);
+      DictionaryMeta meta = wordsMeta(
+          splitter.wordCount(), job.alphabet(), job.sourceSha256(), job.createdAt())
+          .withLayout(DictionaryFormat.LAYOUT_SHARDED);
+      publishMetas(job, meta, fstOutputPath, patch);
+      if (retired != null) {
+        ArtifactFiles.deleteDirectory(retired);
+      }
+      Files.deleteIfExists(fstOutputPath);
+      Files.deleteIfExists(DictionaryPaths.bloomPathFor(fstOutputPath));
+      Files.deleteIfExists(DictionaryPaths.reachPathFor(fstOutputPath));
+      return job.result(splitter.wordCount(), new WrittenWords(reachNodes, bloomBytes, meta),
+          runs.size());
+    }
+  }
+
+  // Skips the patch's removed words and adds every kept word's GADDAG entries, if any.
+  private static void forEachWord(Job job, ExternalSort.EntryConsumer consumer)
+      throws IOException {
+    StringBuilder entry = new StringBuilder();
+    job.words().forEachSorted(word -> {
+      if (Collections.binarySearch(job.removed(), word) >= 0) {
+        return;
+      }
+      consumer.accept(word);
+      if (job.gaddag() != null) {
+        addGaddagEntries(word, job.gaddag(), entry);
+      }
+    });
+  }
+
+  private static void requireWords(long wordCount, Path inputPath) {
+    if (wordCount == 0) {
       throw new IllegalArgumentException("No words found in input: " + inputPath);
     }
+  }
 
-    if (fstOutputPath.getParent() != null) {
-      Files.createDirectories(fstOutputPath.getParent());
+  // The words meta goes last: readers watch it, and by the time it changes every artifact it
+  // names has been published. Without a GADDAG, one left by an earlier compile is deleted first,
+  // since it no longer matches the words.
+  private static void publishMetas(
+      Job job, DictionaryMeta wordsMeta, Path fstOutputPath, DictionaryPatch patch)
+      throws IOException {
+    Path gaddagPath = DictionaryPaths.gaddagPathFor(fstOutputPath);
+    Path gaddagMetaPath = DictionaryPaths.metaPathFor(gaddagPath);
+    if (job.gaddag() != null) {
+      DictionaryMeta gaddagMeta = DictionaryMeta.of(
+              wordsMeta.wordCount(), job.sourceSha256(), job.createdAt())
+          .withLayout(DictionaryFormat.LAYOUT_GADDAG)
+          .withAlphabet(job.alphabet().letters());
+      ArtifactFiles.publish(gaddagMetaPath, path -> DictionaryMetaIO.write(path, gaddagMeta));
+    } else {
+      Files.deleteIfExists(gaddagMetaPath);
+      Files.deleteIfExists(gaddagPath);
     }
+    DictionaryMeta meta = patch == null ? wordsMeta : wordsMeta.withPatchSha256(patch.sha256());
+    ArtifactFiles.publish(DictionaryPaths.metaPathFor(fstOutputPath),
+        path -> DictionaryMetaIO.write(path, meta));
+    Files.deleteIfExists(DictionaryPaths.patchPathFor(fstOutputPath));
+  }
 
-    writeFst(words, fstOutputPath);
-    DictionaryMeta meta = new DictionaryMeta(
-        DictionaryFormat.FORMAT_VERSION,
-        DictionaryFormat.NORMALISATION,
-        words.size(),
-        sha256(inputPath),
-        Instant.now());
-    DictionaryMetaIO.write(DictionaryPaths.metaPathFor(fstOutputPath), meta);
+  private WrittenWords compileShard(
+      ShardSplitter.Run run,
+      Path shardPath,
+      Path scratchPrefix,
+      DictionaryAlphabet alphabet,
+      String sourceSha256,
+      Instant createdAt,
+      long suffixCacheBytes) throws IOException {
+    BlockedBloomFilter bloom = options.bloomFalsePositiveRate() > 0
+        ? BlockedBloomFilter.create(
+            run.wordCount(), options.bloomFalsePositiveRate(), sourceSha256)
+        : null;
+    try (FstWriter writer = new FstWriter(
+            scratchPrefix.resolveSibling(scratchPrefix.getFileName() + ".body"),
+            suffixCacheBytes, options.ordinals());
+        BufferedReader reader = Files.newBufferedReader(run.path(), StandardCharsets.UTF_8)) {
+      String word;
+      while ((word = reader.readLine()) != null) {
+        writer.add(alphabet.encode(word));
+        if (bloom != null) {
+          bloom.add(word);
+        }
+      }
+      WrittenWords written = writeWords(writer, bloom, shardPath,
+          scratchPrefix.resolveSibling(scratchPrefix.getFileName() + ".fst"),
+          alphabet, sourceSha256, createdAt);
+      ArtifactFiles.publish(DictionaryPaths.metaPathFor(shardPath),
+          path -> DictionaryMetaIO.write(path, written.meta()));
+      return written;
+    }
+  }
+
+  private static void compileGaddag(Job job, Path outputPath) throws IOException {
+    job.gaddag().forEachSorted(
+        gaddagEntry -> job.gaddagWriter().add(job.alphabet().encode(gaddagEntry)));
+    ArtifactFiles.publish(outputPath, job.gaddagWriter()::save);
+  }
+
+  // Publishes a word artifact in the configured encoding, with its reach table and Bloom filter,
+  // and returns the meta describing them for the caller to publish once its set is complete. A
+  // DAWG is converted from an FST saved to scratchPath first.
+  private WrittenWords writeWords(
+      FstWriter writer,
+      BlockedBloomFilter bloom,
+      Path outputPath,
+      Path scratchPath,
+      DictionaryAlphabet alphabet,
+      String sourceSha256,
+      Instant createdAt) throws IOException {
+    ReachTable reach;
+    if (options.dawg()) {
+      writer.save(scratchPath);
+      try (FlatDawg dawg = FlatDawg.fromFst(FST.read(scratchPath, NoOutputs.getSingleton()))) {
+        ArtifactFiles.publish(outputPath, dawg::write);
+        reach = ReachTable.ofDawg(dawg, sourceSha256);
+      }
+    } else {
+      ArtifactFiles.publish(outputPath, writer::save);
+      reach = writer.reach(outputPath, sourceSha256);
+    }
+    ArtifactFiles.publish(DictionaryPaths.reachPathFor(outputPath), reach::write);
+    DictionaryMeta meta = wordsMeta(writer.entries(), alphabet, sourceSha256, createdAt);
+
+    Path bloomPath = DictionaryPaths.bloomPathFor(outputPath);
+    if (bloom != null) {
+      ArtifactFiles.publish(bloomPath, bloom::write);
+    } else {
+      Files.deleteIfExists(bloomPath);
+    }
+    return new WrittenWords(reach.size(), bloom == null ? 0 : bloom.sizeInBytes(), meta);
+  }
+
+  // Words layout, in the configured encoding and outputs.
+  private DictionaryMeta wordsMeta(
+      long wordCount, DictionaryAlphabet alphabet, String sourceSha256, Instant createdAt) {
+    return DictionaryMeta.of(wordCount, sourceSha256, createdAt)
+        .withAlphabet(alphabet.letters())
+        .withOutputs(options.ordinals() ? DictionaryFormat.OUTPUTS_ORDINAL : null)
+        .withEncoding(options.dawg() ? DictionaryFormat.ENCODING_DAWG : null);
   }
 
-  private Set<String> readNormalizedWords(Path inputPath) throws IOException {
-    Set<String> words = new TreeSet<>();
-    try (BufferedReader reader = Files.newBufferedReader(inputPath, StandardCharsets.UTF_8)) {
+  // Hashes the raw input in the same pass that reads it.
+  private String readNormalizedWords(Path inputPath, ExternalSort words, SortedSet<Character> extras)
+      throws IOException {
+    MessageDigest digest = sha256();
+    try (InputStream input = Files.newInputStream(inputPath);
+        DigestInputStream digestStream = new DigestInputStream(input, digest);
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(digestStream, StandardCharsets.UTF_8))) {
+      List<String> chunk = new ArrayList<>(CHUNK_LINES);
       String line;
       while ((line = reader.readLine()) != null) {
-        String normalized = normalizer.normalize(line);
-        if (!normalized.isEmpty()) {
-          words.add(normalized);
+        chunk.add(line);
+        if (chunk.size() == CHUNK_LINES) {
+          addChunk(chunk, words, extras);
+          chunk.clear();
         }
       }
+      addChunk(chunk, words, extras);
     }
-    return words;
+    return HEX.formatHex(digest.digest());
   }
 
-  private void writeFst(Set<String> words, Path fstOutputPath) throws IOException {
-    NoOutputs outputs = NoOutputs.getSingleton();
-    FSTCompiler<Object> compiler =
-        new FSTCompiler.Builder<>(FST.INPUT_TYPE.BYTE1, outputs).build();
-    IntsRefBuilder scratch = new IntsRefBuilder();
-
-    for (String word : words) {
-      compiler.add(Util.toIntsRef(new BytesRef(word), scratch), outputs.getNoOutput());
+  private void addChunk(List<String> lines, ExternalSort words, SortedSet<Character> extras)
+      throws IOException {
+    List<String> normalized = lines.parallelStream()
+        .map(normalizer::normalize)
+        .filter(word -> !word.isEmpty())
+        .toList();
+    for (String word : normalized) {
+      for (int i = 0; i < word.length(); i++) {
+        char letter = word.charAt(i);
+        if (!DictionaryAlphabet.isCanonical(letter)) {
+          extras.add(letter);
+        }
+      }
+      words.add(word);
     }
+  }
 
-    FST.FSTMetadata<Object> metadata = compiler.compile();
-    FST<Object> fst = FST.fromFSTReader(metadata, compiler.getFSTReader());
-    fst.save(fstOutputPath);
+  // Every word is stored once per letter as REV(prefix) + SEPARATOR + suffix.
+  private static void addGaddagEntries(String word, ExternalSort gaddag, StringBuilder entry)
+      throws IOException {
+    for (int split = 1; split <= word.length(); split++) {
+      entry.setLength(0);
+      entry.append(word, 0, split).reverse();
+      entry.append(DictionaryFormat.GADDAG_SEPARATOR);
+      entry.append(word, split, word.length());
+      gaddag.add(entry.toString());
+    }
   }
 
-  private String sha256(Path inputPath) throws IOException {
-    MessageDigest digest;
+  private static MessageDigest sha256() {
     try {
-      digest = MessageDigest.getInstance("SHA-256");
+      return MessageDigest.getInstance("SHA-256");
     } catch (NoSuchAlgorithmException e) {
       throw new IllegalStateException("SHA-256 not available", e);
     }
+  }
 
-    try (InputStream input = Files.newInputStream(inputPath);
-        DigestInputStream digestStream = new DigestInputStream(input, digest)) {
-      byte[] buffer = new byte[8192];
-      while (digestStream.read(buffer) != -1) {
-        // digest updates via stream
+  // Runs the tasks on a pool of their own and rethrows the first failure as it was thrown.
+  private static <T> List<T> runAll(List<Callable<T>> tasks) throws IOException {
+    int parallelism = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+    try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+      List<T> results = new ArrayList<>(tasks.size());
+      for (Future<T> future : pool.invokeAll(tasks)) {
+        results.add(future.get());
+      }
+      return results;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException io) {
+        throw io;
       }
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Shard compilation failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while compiling shards");
     }
+  }
 
-    return HEX.formatHex(digest.digest());
+  // shards is 0 unless the words were split by initial letter, and gaddagEntryCount is 0 when
+  // the GADDAG was skipped.
+  public record Result(
+      long wordCount,
+      long gaddagEntryCount,
+      int spilledRuns,
+      long bloomFilterBytes,
+      int reachNodes,
+      int shards) {
+  }
+
+  // meta is null for the GADDAG task, which publishes its own meta.
+  private record WrittenWords(int reachNodes, long bloomFilterBytes, DictionaryMeta meta) {
+    static final WrittenWords NONE = new WrittenWords(0, 0, null);
+  }
+
+  // The sorted input and settings both layouts compile from. removed is sorted; gaddag and
+  // gaddagWriter are null when the GADDAG is not compiled.
+  private record Job(
+      ExternalSort words,
+      ExternalSort gaddag,
+      FstWriter gaddagWriter,
+      List<String> removed,
+      DictionaryAlphabet alphabet,
+      String sourceSha256,
+      Instant createdAt,
+      Path workDir,
+      long suffixCacheBytes) {
+
+    Result result(long wordCount, WrittenWords written, int shards) {
+      return new Result(
+          wordCount,
+          gaddagWriter == null ? 0 : gaddagWriter.entries(),
+          words.spilledRuns() + (gaddag == null ? 0 : gaddag.spilledRuns()),
+          written.bloomFilterBytes(),
+          written.reachNodes(),
+          shards);
+    }
   }
 }
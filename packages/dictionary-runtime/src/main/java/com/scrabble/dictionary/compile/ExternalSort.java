@@ -0,0 +1,183 @@
+package com.scrabble.dictionary.compile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Sorts and de-duplicates strings within a memory budget. Entries are buffered until the
+// budget is spent, then sorted in parallel and spilled to a temp file as a run. forEachSorted
+// k-way merges the spilled runs with whatever is still buffered.
+final class ExternalSort implements Closeable {
+  // Rough heap cost of a buffered String beyond its chars: object and array headers plus the
+  // list slot.
+  private static final long ENTRY_OVERHEAD = 56;
+
+  private final Comparator<String> order;
+  private final long memoryLimitBytes;
+  private final Path tempDir;
+  private final List<Path> runs = new ArrayList<>();
+  private List<String> buffer = new ArrayList<>();
+  private long bufferedBytes;
+  private long added;
+
+  ExternalSort(Comparator<String> order, long memoryLimitBytes, Path tempDir) {
+    this.order = order;
+    this.memoryLimitBytes = memoryLimitBytes;
+    this.tempDir = tempDir;
+  }
+
+  void add(String entry) throws IOException {
+    buffer.add(entry);
+    added++;
+    bufferedBytes += ENTRY_OVERHEAD + 2L * entry.length();
+    if (bufferedBytes >= memoryLimitBytes) {
+      spill();
+    }
+  }
+
+  // Entries added so far, duplicates included.
+  long added() {
+    return added;
+  }
+
+  int spilledRuns() {
+    return runs.size();
+  }
+
+  void forEachSorted(EntryConsumer consumer) throws IOException {
+    String[] buffered = sortBuffer();
+    PriorityQueue<Run> queue = new PriorityQueue<>((a, b) -> order.compare(a.head, b.head));
+    List<FileRun> open = new ArrayList<>(runs.size());
+    try {
+      Run memory = new MemoryRun(buffered);
+      if (memory.advance()) {
+        queue.add(memory);
+      }
+      for (Path run : runs) {
+        FileRun fileRun = new FileRun(run);
+        open.add(fileRun);
+        if (fileRun.advance()) {
+          queue.add(fileRun);
+        }
+      }
+
+      String last = null;
+      while (!queue.isEmpty()) {
+        Run run = queue.poll();
+        String entry = run.head;
+        if (last == null || order.compare(last, entry) != 0) {
+          consumer.accept(entry);
+          last = entry;
+        }
+        if (run.advance()) {
+          queue.add(run);
+        }
+      }
+    } finally {
+      for (FileRun run : open) {
+        run.close();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    buffer = new ArrayList<>();
+    for (Path run : runs) {
+      Files.deleteIfExists(run);
+    }
+    runs.clear();
+  }
+
+  private void spill() throws IOException {
+    String[] sorted = sortBuffer();
+    Path run = Files.createTempFile(tempDir, "run-", ".bin");
+    runs.add(run);
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(run)))) {
+      out.writeInt(sorted.length);
+      for (String entry : sorted) {
+        out.writeUTF(entry);
+      }
+    }
+  }
+
+  // Sorts and de-duplicates the buffer, then hands it over so a new one can fill up.
+  private String[] sortBuffer() {
+    String[] sorted = buffer.toArray(new String[0]);
+    buffer = new ArrayList<>();
+    bufferedBytes = 0;
+    Arrays.parallelSort(sorted, order);
+    int unique = 0;
+    for (String entry : sorted) {
+      if (unique == 0 || order.compare(sorted[unique - 1], entry) != 0) {
+        sorted[unique++] = entry;
+      }
+    }
+    return unique == sorted.length ? sorted : Arrays.copyOf(sorted, unique);
+  }
+
+  @FunctionalInterface
+  interface EntryConsumer {
+    void accept(String entry) throws IOException;
+  }
+
+  private abstract static class Run {
+    String head;
+
+    abstract boolean advance() throws IOException;
+  }
+
+  private static final class MemoryRun extends Run {
+    private final String[] entries;
+    private int next;
+
+    MemoryRun(String[] entries) {
+      this.entries = entries;
+    }
+
+    @Override
+    boolean advance() {
+      if (next == entries.length) {
+        return false;
+      }
+      head = entries[next++];
+      return true;
+    }
+  }
+
+  private static final class FileRun extends Run implements Closeable {
+    private final DataInputStream in;
+    private int remaining;
+
+    FileRun(Path path) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+      this.remaining = in.readInt();
+    }
+
+    @Override
+    boolean advance() throws IOException {
+      if (remaining == 0) {
+        return false;
+      }
+      remaining--;
+      head = in.readUTF();
+      return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.scrabble.dictionary.compile;
+
+import com.scrabble.dictionary.format.ReachTable;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.lucene.store.OutputStreamDataOutput;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.fst.FSTCompiler;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.NoOutputs;
+import org.apache.lucene.util.fst.Outputs;
+import org.apache.lucene.util.fst.PositiveIntOutputs;
+import org.apache.lucene.util.fst.Util;
+
+// Streams the FST body to a temp file while compiling. The artifact is the FST metadata
+// followed by that body, the same layout FST.save writes. With ordinals each entry's output
+// is its position in the sorted input.
+final class FstWriter implements Closeable {
+  private final IntsRefBuilder scratch = new IntsRefBuilder();
+  private final Path bodyPath;
+  private final OutputStream body;
+  private final boolean ordinals;
+  private final Outputs<Object> outputs;
+  private final FSTCompiler<Object> compiler;
+  private long entries;
+
+  @SuppressWarnings("unchecked")
+  FstWriter(Path bodyPath, long suffixCacheBytes, boolean ordinals) throws IOException {
+    this.bodyPath = bodyPath;
+    this.body = new BufferedOutputStream(Files.newOutputStream(bodyPath));
+    this.ordinals = ordinals;
+    this.outputs = ordinals
+        ? (Outputs<Object>) (Outputs<?>) PositiveIntOutputs.getSingleton()
+        : NoOutputs.getSingleton();
+    this.compiler = new FSTCompiler.Builder<>(FST.INPUT_TYPE.BYTE1, outputs)
+        .suffixRAMLimitMB(suffixCacheBytes / (1024.0 * 1024.0))
+        .dataOutput(new OutputStreamDataOutput(body))
+        .build();
+  }
+
+  long entries() {
+    return entries;
+  }
+
+  void add(BytesRef entry) throws IOException {
+    Object output = ordinals && entries > 0 ? Long.valueOf(entries) : outputs.getNoOutput();
+    compiler.add(Util.toIntsRef(entry, scratch), output);
+    entries++;
+  }
+
+  // Pruning bounds for the saved FST, read back so nodes are keyed by their final addresses.
+  ReachTable reach(Path savedPath, String sourceSha256) throws IOException {
+    return ReachTable.ofFst(FST.read(savedPath, outputs), sourceSha256);
+  }
+
+  void save(Path outputPath) throws IOException {
+    FST.FSTMetadata<Object> metadata = compiler.compile();
+    body.close();
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(outputPath))) {
+      metadata.save(new OutputStreamDataOutput(out));
+      Files.copy(bodyPath, out);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    body.close();
+  }
+}
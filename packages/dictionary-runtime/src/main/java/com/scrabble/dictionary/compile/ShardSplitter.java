@@ -0,0 +1,67 @@
+package com.scrabble.dictionary.compile;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes the sorted words to one run file per initial letter. The input is sorted by label,
+// so each initial's words arrive together and only one run is open at a time.
+final class ShardSplitter implements Closeable {
+  private final Path workDir;
+  private final List<Run> runs = new ArrayList<>();
+  private BufferedWriter out;
+  private Path path;
+  private char initial;
+  private long count;
+  private long total;
+
+  ShardSplitter(Path workDir) {
+    this.workDir = workDir;
+  }
+
+  void add(String word) throws IOException {
+    if (out == null || word.charAt(0) != initial) {
+      finishRun();
+      initial = word.charAt(0);
+      path = workDir.resolve("shard-" + runs.size() + ".words");
+      out = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    }
+    out.write(word);
+    out.newLine();
+    count++;
+    total++;
+  }
+
+  long wordCount() {
+    return total;
+  }
+
+  List<Run> runs() throws IOException {
+    finishRun();
+    return runs;
+  }
+
+  private void finishRun() throws IOException {
+    if (out != null) {
+      out.close();
+      out = null;
+      runs.add(new Run(initial, path, count));
+      count = 0;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (out != null) {
+      out.close();
+    }
+  }
+
+  record Run(char initial, Path path, long wordCount) {
+  }
+}
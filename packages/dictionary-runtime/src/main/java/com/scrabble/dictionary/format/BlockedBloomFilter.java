@@ -0,0 +1,164 @@
+package com.scrabble.dictionary.format;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Bloom filter over normalised words, split into 512-bit blocks. A word picks one block and
+// sets or tests all of its bits there, so a lookup touches a single cache line. Hashing is
+// incremental (start, update per char, then mightContainHash) so callers can extend a shared
+// prefix without building strings.
+public final class BlockedBloomFilter {
+  private static final int MAGIC = 0x424C4F4D;
+  private static final int VERSION = 1;
+  private static final int BLOCK_BITS = 512;
+  private static final int WORDS_PER_BLOCK = BLOCK_BITS / Long.SIZE;
+  private static final int MAX_HASHES = 16;
+  // Blocking skews the bit load between blocks; the extra bits keep the measured
+  // false-positive rate at or below the target.
+  private static final double BLOCKING_OVERHEAD = 1.5;
+  private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+  private static final long FNV_PRIME = 0x100000001B3L;
+
+  private final long[] bits;
+  private final int blocks;
+  private final int hashes;
+  private final String sourceSha256;
+
+  private BlockedBloomFilter(long[] bits, int hashes, String sourceSha256) {
+    this.bits = bits;
+    this.blocks = bits.length / WORDS_PER_BLOCK;
+    this.hashes = hashes;
+    this.sourceSha256 = sourceSha256;
+  }
+
+  public static BlockedBloomFilter create(
+      long expectedEntries,
+      double falsePositiveRate,
+      String sourceSha256) {
+    if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+      throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+    }
+    double bitsPerEntry = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    long totalBits = (long) Math.ceil(
+        Math.max(1, expectedEntries) * bitsPerEntry * BLOCKING_OVERHEAD);
+    long blocks = (totalBits + BLOCK_BITS - 1) / BLOCK_BITS;
+    if (blocks * WORDS_PER_BLOCK > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Bloom filter too large: " + blocks + " blocks");
+    }
+    int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round(bitsPerEntry * Math.log(2))));
+    return new BlockedBloomFilter(
+        new long[(int) blocks * WORDS_PER_BLOCK], hashes, sourceSha256);
+  }
+
+  // Returns null when the file is missing or was built from another word list: the filter is
+  // only an accelerator, so lookups fall back to the FST alone.
+  public static BlockedBloomFilter loadIfMatches(Path path, String sourceSha256)
+      throws IOException {
+    if (!Files.exists(path)) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IllegalStateException("Not a Bloom filter file: " + path);
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IllegalStateException("Unsupported Bloom filter version: " + version);
+      }
+      String fileSha256 = in.readUTF();
+      if (!fileSha256.equals(sourceSha256)) {
+        return null;
+      }
+      int hashes = in.readInt();
+      int blocks = in.readInt();
+      long[] bits = new long[blocks * WORDS_PER_BLOCK];
+      for (int i = 0; i < bits.length; i++) {
+        bits[i] = in.readLong();
+      }
+      return new BlockedBloomFilter(bits, hashes, fileSha256);
+    }
+  }
+
+  public void write(Path path) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(sourceSha256);
+      out.writeInt(hashes);
+      out.writeInt(blocks);
+      for (long word : bits) {
+        out.writeLong(word);
+      }
+    }
+  }
+
+  public static long start() {
+    return FNV_OFFSET;
+  }
+
+  public static long update(long hash, char letter) {
+    return (hash ^ letter) * FNV_PRIME;
+  }
+
+  public static long hash(CharSequence word) {
+    long hash = start();
+    for (int i = 0; i < word.length(); i++) {
+      hash = update(hash, word.charAt(i));
+    }
+    return hash;
+  }
+
+  public void add(CharSequence word) {
+    long hash = mix(hash(word));
+    int base = blockBase(hash);
+    int probe = (int) hash;
+    int step = (int) mix(hash ^ FNV_PRIME) | 1;
+    for (int i = 0; i < hashes; i++, probe += step) {
+      int bit = probe & (BLOCK_BITS - 1);
+      bits[base + (bit >>> 6)] |= 1L << bit;
+    }
+  }
+
+  public boolean mightContain(CharSequence word) {
+    return mightContainHash(hash(word));
+  }
+
+  public boolean mightContainHash(long hash) {
+    hash = mix(hash);
+    int base = blockBase(hash);
+    int probe = (int) hash;
+    int step = (int) mix(hash ^ FNV_PRIME) | 1;
+    for (int i = 0; i < hashes; i++, probe += step) {
+      int bit = probe & (BLOCK_BITS - 1);
+      if ((bits[base + (bit >>> 6)] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long sizeInBytes() {
+    return (long) bits.length * Long.BYTES;
+  }
+
+  private int blockBase(long hash) {
+    return (int) (((hash >>> 32) * blocks) >>> 32) * WORDS_PER_BLOCK;
+  }
+
+  // MurmurHash3 finaliser, so every output bit depends on every input char.
+  public static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
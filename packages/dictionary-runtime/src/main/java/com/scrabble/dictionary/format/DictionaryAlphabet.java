@@ -0,0 +1,158 @@
+package com.scrabble.dictionary.format;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SortedSet;
+import org.apache.lucene.util.BytesRef;
+
+// Maps letters to FST labels. Format v1 labels are the UTF-8 bytes of each letter; v2 gives
+// every letter of the alphabet a dense one-byte code (1..n), so Polish letters take a single
+// arc and lookups need no UTF-8 encoding. Label 0 is reserved for the GADDAG separator.
+public final class DictionaryAlphabet {
+  // Same order as the engine's LetterTile.
+  public static final String POLISH = "AĄBCĆDEĘFGHIJKLŁMNŃOÓPRSŚTUWYZŹŻ";
+  public static final int SEPARATOR_LABEL = 0;
+  private static final int MAX_LETTERS = 255;
+  private static final DictionaryAlphabet UTF8 = new DictionaryAlphabet(null, null);
+  private static final int[] POLISH_INDEX = polishIndexTable();
+  // Orders text the way its labels sort under any alphabet built by alphabetFor: the GADDAG
+  // separator first, then the Polish letters, then other letters in char order. Lets the
+  // compiler sort words before it has seen the whole alphabet.
+  public static final Comparator<String> LABEL_ORDER = DictionaryAlphabet::compareLabels;
+
+  private final String letters;
+  private final int[] labels;
+
+  private DictionaryAlphabet(String letters, int[] labels) {
+    this.letters = letters;
+    this.labels = labels;
+  }
+
+  public static DictionaryAlphabet utf8() {
+    return UTF8;
+  }
+
+  public static DictionaryAlphabet of(String letters) {
+    if (letters.isEmpty() || letters.length() > MAX_LETTERS) {
+      throw new IllegalArgumentException("Alphabet must have 1-" + MAX_LETTERS + " letters");
+    }
+    int max = DictionaryFormat.GADDAG_SEPARATOR;
+    for (int i = 0; i < letters.length(); i++) {
+      max = Math.max(max, letters.charAt(i));
+    }
+    int[] labels = new int[max + 1];
+    Arrays.fill(labels, -1);
+    labels[DictionaryFormat.GADDAG_SEPARATOR] = SEPARATOR_LABEL;
+    for (int i = 0; i < letters.length(); i++) {
+      char letter = letters.charAt(i);
+      if (letter == DictionaryFormat.GADDAG_SEPARATOR || labels[letter] > 0) {
+        throw new IllegalArgumentException("Invalid or duplicate alphabet letter: " + letter);
+      }
+      labels[letter] = i + 1;
+    }
+    return new DictionaryAlphabet(letters, labels);
+  }
+
+  public static DictionaryAlphabet forMeta(DictionaryMeta meta) {
+    if (meta.formatVersion() == 1) {
+      return UTF8;
+    }
+    if (meta.alphabet() == null || meta.alphabet().isEmpty()) {
+      throw new IllegalStateException("Dictionary meta has no alphabet");
+    }
+    // Cross-check masks and reach tables take label i + 1 to be POLISH[i].
+    if (!meta.alphabet().startsWith(POLISH)) {
+      throw new IllegalStateException("Dictionary alphabet does not start with the Polish letters");
+    }
+    return of(meta.alphabet());
+  }
+
+  // The Polish alphabet followed by the other letters the word list uses, in char order.
+  public static String alphabetFor(SortedSet<Character> extras) {
+    StringBuilder alphabet = new StringBuilder(POLISH);
+    for (char extra : extras) {
+      alphabet.append(extra);
+    }
+    return alphabet.toString();
+  }
+
+  // True for letters that normalisation leaves unchanged: the uppercase Polish alphabet.
+  public static boolean isCanonical(char letter) {
+    return letter < POLISH_INDEX.length && POLISH_INDEX[letter] >= 0;
+  }
+
+  public boolean isUtf8() {
+    return labels == null;
+  }
+
+  public String letters() {
+    return letters;
+  }
+
+  // Dense alphabets only: the label of a letter or separator, or -1 when it has none.
+  public int label(char letter) {
+    return letter < labels.length ? labels[letter] : -1;
+  }
+
+  public String decode(byte[] labels, int length) {
+    if (this.labels == null) {
+      return new String(labels, 0, length, StandardCharsets.UTF_8);
+    }
+    char[] word = new char[length];
+    for (int i = 0; i < length; i++) {
+      word[i] = letters.charAt((labels[i] & 0xFF) - 1);
+    }
+    return new String(word);
+  }
+
+  public BytesRef encode(CharSequence word) {
+    if (labels == null) {
+      return new BytesRef(word);
+    }
+    byte[] bytes = new byte[word.length()];
+    for (int i = 0; i < bytes.length; i++) {
+      int label = label(word.charAt(i));
+      if (label < 0) {
+        return null;
+      }
+      bytes[i] = (byte) label;
+    }
+    return new BytesRef(bytes);
+  }
+
+  private static int compareLabels(String left, String right) {
+    int length = Math.min(left.length(), right.length());
+    for (int i = 0; i < length; i++) {
+      char a = left.charAt(i);
+      char b = right.charAt(i);
+      if (a != b) {
+        return Integer.compare(rank(a), rank(b));
+      }
+    }
+    return Integer.compare(left.length(), right.length());
+  }
+
+  private static int rank(char letter) {
+    if (letter == DictionaryFormat.GADDAG_SEPARATOR) {
+      return SEPARATOR_LABEL;
+    }
+    if (isCanonical(letter)) {
+      return POLISH_INDEX[letter] + 1;
+    }
+    return POLISH.length() + 1 + letter;
+  }
+
+  private static int[] polishIndexTable() {
+    int max = 0;
+    for (int i = 0; i < POLISH.length(); i++) {
+      max = Math.max(max, POLISH.charAt(i));
+    }
+    int[] table = new int[max + 1];
+    Arrays.fill(table, -1);
+    for (int i = 0; i < POLISH.length(); i++) {
+      table[POLISH.charAt(i)] = i;
+    }
+    return table;
+  }
+}
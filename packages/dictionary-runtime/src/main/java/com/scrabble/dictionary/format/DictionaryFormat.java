@@ -3,8 +3,23 @@ package com.scrabble.dictionary.format;
 import com.scrabble.dictionary.DictionaryNormalizer;
 
 public final class DictionaryFormat {
-  public static final int FORMAT_VERSION = 1;
+  public static final int FORMAT_VERSION = 2;
+  public static final int MIN_FORMAT_VERSION = 1;
   public static final String NORMALISATION = DictionaryNormalizer.POLICY;
+  public static final String LAYOUT_WORDS = "WORDS";
+  public static final String LAYOUT_GADDAG = "GADDAG";
+  // Words split into one artifact per initial letter, listed by a ShardManifest.
+  public static final String LAYOUT_SHARDED = "SHARDED";
+  public static final char GADDAG_SEPARATOR = '^';
+  // Word FSTs without an outputs field carry no outputs.
+  public static final String OUTPUTS_ORDINAL = "ORDINAL";
+  // Word artifacts without an encoding field are Lucene FSTs.
+  public static final String ENCODING_FST = "FST";
+  public static final String ENCODING_DAWG = "DAWG";
 
   private DictionaryFormat() { }
+
+  public static boolean isSupported(int formatVersion) {
+    return formatVersion >= MIN_FORMAT_VERSION && formatVersion <= FORMAT_VERSION;
+  }
 }
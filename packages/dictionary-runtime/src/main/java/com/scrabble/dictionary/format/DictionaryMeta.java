@@ -1,11 +1,78 @@
 package com.scrabble.dictionary.format;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record DictionaryMeta(
     @JsonProperty("formatVersion") int formatVersion,
     @JsonProperty("normalisation") String normalisation,
     @JsonProperty("wordCount") long wordCount,
     @JsonProperty("sourceSha256") String sourceSha256,
-    @JsonProperty("createdAt") Instant createdAt) { }
+    @JsonProperty("createdAt") Instant createdAt,
+    @JsonProperty("layout") String layout,
+    @JsonProperty("alphabet") String alphabet,
+    @JsonProperty("outputs") String outputs,
+    @JsonProperty("encoding") String encoding,
+    @JsonProperty("patchSha256") String patchSha256) {
+
+  @JsonCreator
+  public DictionaryMeta {
+    if (layout == null) {
+      layout = DictionaryFormat.LAYOUT_WORDS;
+    }
+  }
+
+  // A words meta in the current format and normalisation; the optional fields are filled in
+  // with the with* methods.
+  public static DictionaryMeta of(long wordCount, String sourceSha256, Instant createdAt) {
+    return new DictionaryMeta(DictionaryFormat.FORMAT_VERSION, DictionaryFormat.NORMALISATION,
+        wordCount, sourceSha256, createdAt, DictionaryFormat.LAYOUT_WORDS, null, null, null, null);
+  }
+
+  public boolean hasOrdinals() {
+    return DictionaryFormat.OUTPUTS_ORDINAL.equals(outputs);
+  }
+
+  public boolean usesDawg() {
+    return DictionaryFormat.ENCODING_DAWG.equals(encoding);
+  }
+
+  public DictionaryMeta withFormatVersion(int formatVersion) {
+    return new DictionaryMeta(formatVersion, normalisation, wordCount, sourceSha256, createdAt,
+        layout, alphabet, outputs, encoding, patchSha256);
+  }
+
+  public DictionaryMeta withNormalisation(String normalisation) {
+    return new DictionaryMeta(formatVersion, normalisation, wordCount, sourceSha256, createdAt,
+        layout, alphabet, outputs, encoding, patchSha256);
+  }
+
+  public DictionaryMeta withLayout(String layout) {
+    return new DictionaryMeta(formatVersion, normalisation, wordCount, sourceSha256, createdAt,
+        layout, alphabet, outputs, encoding, patchSha256);
+  }
+
+  public DictionaryMeta withAlphabet(String alphabet) {
+    return new DictionaryMeta(formatVersion, normalisation, wordCount, sourceSha256, createdAt,
+        layout, alphabet, outputs, encoding, patchSha256);
+  }
+
+  public DictionaryMeta withOutputs(String outputs) {
+    return new DictionaryMeta(formatVersion, normalisation, wordCount, sourceSha256, createdAt,
+        layout, alphabet, outputs, encoding, patchSha256);
+  }
+
+  public DictionaryMeta withEncoding(String encoding) {
+    return new DictionaryMeta(formatVersion, normalisation, wordCount, sourceSha256, createdAt,
+        layout, alphabet, outputs, encoding, patchSha256);
+  }
+
+  // patchSha256 is the DictionaryPatch.sha256() of the patch folded in by the compile, if any.
+  public DictionaryMeta withPatchSha256(String patchSha256) {
+    return new DictionaryMeta(formatVersion, normalisation, wordCount, sourceSha256, createdAt,
+        layout, alphabet, outputs, encoding, patchSha256);
+  }
+}
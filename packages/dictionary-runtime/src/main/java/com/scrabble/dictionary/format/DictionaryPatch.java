@@ -0,0 +1,60 @@
+package com.scrabble.dictionary.format;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+// Words added to and removed from a compiled base without recompiling it. Both lists hold
+// normalised words, sorted and de-duplicated, and baseSha256 names the source the base was
+// compiled from.
+public record DictionaryPatch(
+    int formatVersion,
+    String baseSha256,
+    List<String> added,
+    List<String> removed) {
+  public static final int FORMAT_VERSION = 1;
+
+  public DictionaryPatch {
+    Objects.requireNonNull(baseSha256, "baseSha256");
+    added = sorted(added);
+    removed = sorted(removed);
+    for (String word : added) {
+      if (Collections.binarySearch(removed, word) >= 0) {
+        throw new IllegalArgumentException("Word is both added and removed: " + word);
+      }
+    }
+  }
+
+  public DictionaryPatch(String baseSha256, List<String> added, List<String> removed) {
+    this(FORMAT_VERSION, baseSha256, added, removed);
+  }
+
+  public int size() {
+    return added.size() + removed.size();
+  }
+
+  // Hashes the base and both word lists, not the file bytes, so formatting does not matter.
+  public String sha256() {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(baseSha256.getBytes(StandardCharsets.UTF_8));
+      for (String word : added) {
+        digest.update(("\n+" + word).getBytes(StandardCharsets.UTF_8));
+      }
+      for (String word : removed) {
+        digest.update(("\n-" + word).getBytes(StandardCharsets.UTF_8));
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static List<String> sorted(List<String> words) {
+    return words == null ? List.of() : words.stream().sorted().distinct().toList();
+  }
+}
@@ -0,0 +1,27 @@
+package com.scrabble.dictionary.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class DictionaryPatchIO {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private DictionaryPatchIO() { }
+
+  public static DictionaryPatch read(Path path) throws IOException {
+    DictionaryPatch patch = MAPPER.readValue(Files.readAllBytes(path), DictionaryPatch.class);
+    if (patch.formatVersion() != DictionaryPatch.FORMAT_VERSION) {
+      throw new IllegalStateException("Unsupported patch version: " + patch.formatVersion());
+    }
+    return patch;
+  }
+
+  public static void write(Path path, DictionaryPatch patch) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    Files.write(path, MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(patch));
+  }
+}
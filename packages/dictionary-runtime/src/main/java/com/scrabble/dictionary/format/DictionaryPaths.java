@@ -3,9 +3,44 @@ package com.scrabble.dictionary.format;
 import java.nio.file.Path;
 
 public final class DictionaryPaths {
+  private static final String FST_EXTENSION = ".fst";
+
   private DictionaryPaths() { }
 
   public static Path metaPathFor(Path fstPath) {
     return fstPath.resolveSibling(fstPath.getFileName() + ".meta.json");
   }
+
+  public static Path gaddagPathFor(Path fstPath) {
+    String suffix = fstPath.getFileName().toString().endsWith(FST_EXTENSION) ? FST_EXTENSION : "";
+    return fstPath.resolveSibling(baseName(fstPath) + ".gaddag" + suffix);
+  }
+
+  public static Path bloomPathFor(Path fstPath) {
+    return fstPath.resolveSibling(baseName(fstPath) + ".bloom");
+  }
+
+  public static Path reachPathFor(Path fstPath) {
+    return fstPath.resolveSibling(baseName(fstPath) + ".reach");
+  }
+
+  public static Path patchPathFor(Path fstPath) {
+    return fstPath.resolveSibling(baseName(fstPath) + ".patch.json");
+  }
+
+  public static Path shardDirectoryFor(Path fstPath) {
+    return fstPath.resolveSibling(baseName(fstPath) + ".shards");
+  }
+
+  public static Path shardManifestPathFor(Path fstPath) {
+    return shardDirectoryFor(fstPath).resolve("manifest.json");
+  }
+
+  // The file name without its .fst extension, if it has one.
+  private static String baseName(Path fstPath) {
+    String name = fstPath.getFileName().toString();
+    return name.endsWith(FST_EXTENSION)
+        ? name.substring(0, name.length() - FST_EXTENSION.length())
+        : name;
+  }
 }
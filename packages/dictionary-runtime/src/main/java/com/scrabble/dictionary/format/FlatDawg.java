@@ -0,0 +1,260 @@
+package com.scrabble.dictionary.format;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.FST.Arc;
+import org.apache.lucene.util.fst.FST.BytesReader;
+
+// A minimised DAWG as one int per arc. A node is a run of sibling arcs in label order, and
+// each arc packs its dense label (bits 0-5), whether the word ending on it is complete (bit 6),
+// whether it is the node's last arc (bit 7) and the index of its target node's first arc
+// (bits 8-31, 0 when the target has no arcs). The root node starts at index 0, so no arc ever
+// points back to it. Walking a letter is a scan over a few adjacent ints with no decoding of
+// arc formats or outputs.
+public final class FlatDawg implements Closeable {
+  public static final int ROOT = -1;
+  public static final int NONE = -2;
+  public static final int MAX_LABEL = 63;
+  private static final int MAGIC = 0x44415747;
+  private static final int VERSION = 1;
+  // Keeps the arcs 4-byte aligned in a mapped file.
+  private static final int HEADER_BYTES = 16;
+  private static final int LABEL_MASK = 0x3F;
+  private static final int TERMINAL = 1 << 6;
+  private static final int LAST = 1 << 7;
+  private static final int CHILD_SHIFT = 8;
+  private static final int MAX_ARCS = 1 << (Integer.SIZE - CHILD_SHIFT);
+  private static final ValueLayout.OfInt FILE_INT =
+      ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  private final MemorySegment arcs;
+  private final ValueLayout.OfInt layout;
+  private final int arcCount;
+  private final Arena arena;
+
+  private FlatDawg(MemorySegment arcs, ValueLayout.OfInt layout, int arcCount, Arena arena) {
+    this.arcs = arcs;
+    this.layout = layout;
+    this.arcCount = arcCount;
+    this.arena = arena;
+  }
+
+  static FlatDawg of(int[] arcs) {
+    return new FlatDawg(MemorySegment.ofArray(arcs), ValueLayout.JAVA_INT, arcs.length, null);
+  }
+
+  public static FlatDawg fromFst(FST<Object> fst) throws IOException {
+    return new FstConversion(fst).convert();
+  }
+
+  public void write(Path path) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeInt(Integer.reverseBytes(MAGIC));
+      out.writeInt(Integer.reverseBytes(VERSION));
+      out.writeInt(Integer.reverseBytes(arcCount));
+      out.writeInt(0);
+      for (int i = 0; i < arcCount; i++) {
+        out.writeInt(Integer.reverseBytes(word(i)));
+      }
+    }
+  }
+
+  public int arcCount() {
+    return arcCount;
+  }
+
+  public long sizeInBytes() {
+    return (long) arcCount * Integer.BYTES;
+  }
+
+  // Index of the arc leaving `from` (an arc index, or ROOT) with the label, or NONE.
+  public int follow(int from, int label) {
+    int index = firstArc(from);
+    if (index == NONE) {
+      return NONE;
+    }
+    while (true) {
+      int word = word(index);
+      int arcLabel = word & LABEL_MASK;
+      if (arcLabel == label) {
+        return index;
+      }
+      if (arcLabel > label || (word & LAST) != 0) {
+        return NONE;
+      }
+      index++;
+    }
+  }
+
+  // Index of the first arc leaving `from` (an arc index, or ROOT), or NONE.
+  public int firstArc(int from) {
+    if (from == ROOT) {
+      return arcCount == 0 ? NONE : 0;
+    }
+    int child = word(from) >>> CHILD_SHIFT;
+    return child == 0 ? NONE : child;
+  }
+
+  public int label(int index) {
+    return word(index) & LABEL_MASK;
+  }
+
+  public boolean isTerminal(int index) {
+    return index >= 0 && (word(index) & TERMINAL) != 0;
+  }
+
+  public boolean isLast(int index) {
+    return (word(index) & LAST) != 0;
+  }
+
+  @Override
+  public void close() {
+    if (arena != null) {
+      arena.close();
+    }
+  }
+
+  static int encode(int label, boolean terminal, boolean last, int child) {
+    if (label < 0 || label > MAX_LABEL) {
+      throw new IllegalStateException("Label " + label + " does not fit the DAWG encoding");
+    }
+    return label | (terminal ? TERMINAL : 0) | (last ? LAST : 0) | (child << CHILD_SHIFT);
+  }
+
+  private int word(int index) {
+    return arcs.getAtIndex(layout, index);
+  }
+
+  // Copies the arcs onto the heap.
+  public static FlatDawg read(Path path) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+    if (buffer.capacity() < HEADER_BYTES) {
+      throw new IllegalStateException("Truncated DAWG file: " + path);
+    }
+    int arcCount = readHeader(path, buffer.getInt(0), buffer.getInt(4), buffer.getInt(8));
+    if (buffer.capacity() < HEADER_BYTES + (long) arcCount * Integer.BYTES) {
+      throw new IllegalStateException("Truncated DAWG file: " + path);
+    }
+    int[] arcs = new int[arcCount];
+    buffer.position(HEADER_BYTES).asIntBuffer().get(arcs);
+    return of(arcs);
+  }
+
+  // Maps the file read-only; the arcs stay in the page cache until the DAWG is closed.
+  public static FlatDawg map(Path path) throws IOException {
+    Arena arena = Arena.ofShared();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+      if (file.byteSize() < HEADER_BYTES) {
+        throw new IllegalStateException("Truncated DAWG file: " + path);
+      }
+      int arcCount = readHeader(path,
+          file.get(FILE_INT, 0), file.get(FILE_INT, 4), file.get(FILE_INT, 8));
+      long arcBytes = (long) arcCount * Integer.BYTES;
+      if (file.byteSize() < HEADER_BYTES + arcBytes) {
+        throw new IllegalStateException("Truncated DAWG file: " + path);
+      }
+      return new FlatDawg(file.asSlice(HEADER_BYTES, arcBytes), FILE_INT, arcCount, arena);
+    } catch (IOException | RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  private static int readHeader(Path path, int magic, int version, int arcCount) {
+    if (magic != MAGIC) {
+      throw new IllegalStateException("Not a DAWG file: " + path);
+    }
+    if (version != VERSION) {
+      throw new IllegalStateException("Unsupported DAWG version: " + version);
+    }
+    return arcCount;
+  }
+
+  // Lays the FST's nodes out one after another. Each node's run of arcs is reserved when the
+  // node is first reached, so its parents can point at it before it is written.
+  private static final class FstConversion {
+    private final FST<Object> fst;
+    private final BytesReader reader;
+    private final Map<Long, Integer> offsets = new HashMap<>();
+    private final Deque<Arc<Object>> pending = new ArrayDeque<>();
+    private int reserved;
+
+    FstConversion(FST<Object> fst) {
+      this.fst = fst;
+      this.reader = fst.getBytesReader();
+    }
+
+    FlatDawg convert() throws IOException {
+      Arc<Object> root = fst.getFirstArc(new Arc<>());
+      if (!FST.targetHasArcs(root)) {
+        return of(new int[0]);
+      }
+      reserve(root);
+      int[] arcs = new int[1024];
+      while (!pending.isEmpty()) {
+        Arc<Object> follow = pending.pop();
+        int index = offsets.get(follow.target());
+        Arc<Object> arc = fst.readFirstTargetArc(follow, new Arc<>(), reader);
+        while (true) {
+          if (arc.label() != FST.END_LABEL) {
+            int child = 0;
+            if (FST.targetHasArcs(arc)) {
+              Integer offset = offsets.get(arc.target());
+              child = offset != null ? offset : reserve(arc);
+            }
+            if (index >= arcs.length) {
+              arcs = Arrays.copyOf(arcs, Math.max(index + 1, arcs.length * 2));
+            }
+            arcs[index++] = encode(arc.label(), arc.isFinal(), arc.isLast(), child);
+          }
+          if (arc.isLast()) {
+            break;
+          }
+          fst.readNextArc(arc, reader);
+        }
+      }
+      return of(Arrays.copyOf(arcs, reserved));
+    }
+
+    private int reserve(Arc<Object> follow) throws IOException {
+      int count = 0;
+      Arc<Object> arc = fst.readFirstTargetArc(follow, new Arc<>(), reader);
+      while (true) {
+        if (arc.label() != FST.END_LABEL) {
+          count++;
+        }
+        if (arc.isLast()) {
+          break;
+        }
+        fst.readNextArc(arc, reader);
+      }
+      int offset = reserved;
+      if ((long) offset + count >= MAX_ARCS) {
+        throw new IllegalStateException("DAWG exceeds " + MAX_ARCS + " arcs");
+      }
+      reserved = offset + count;
+      offsets.put(follow.target(), offset);
+      pending.push(new Arc<>().copyFrom(follow));
+      return offset;
+    }
+  }
+}
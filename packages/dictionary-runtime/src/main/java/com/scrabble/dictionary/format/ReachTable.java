@@ -0,0 +1,270 @@
+package com.scrabble.dictionary.format;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.FST.Arc;
+import org.apache.lucene.util.fst.FST.BytesReader;
+
+// Pruning bounds for every node of a word automaton that has outgoing arcs: the fewest and
+// most letters that still complete a word from the node, and the letters on any path below it
+// (bit i is DictionaryAlphabet.POLISH[i], other letters are left out). Nodes are keyed by their
+// FST address, or by their first arc index in a FlatDawg, and kept sorted for binary search.
+public final class ReachTable {
+  public static final int UNKNOWN = -1;
+  private static final int MAGIC = 0x52454348;
+  private static final int VERSION = 1;
+  private static final int MAX_LENGTH = 0xFFFF;
+
+  private final long[] nodes;
+  // Minimum remaining length in the high 16 bits, maximum in the low 16 bits.
+  private final int[] lengths;
+  private final int[] letters;
+  private final String sourceSha256;
+
+  private ReachTable(long[] nodes, int[] lengths, int[] letters, String sourceSha256) {
+    this.nodes = nodes;
+    this.lengths = lengths;
+    this.letters = letters;
+    this.sourceSha256 = sourceSha256;
+  }
+
+  // Only for dense alphabets, where every arc label is one letter.
+  public static <T> ReachTable ofFst(FST<T> fst, String sourceSha256) throws IOException {
+    Builder builder = new Builder();
+    Arc<T> root = fst.getFirstArc(new Arc<>());
+    if (FST.targetHasArcs(root)) {
+      new FstWalk<>(fst, builder).visit(root);
+    }
+    return builder.build(sourceSha256);
+  }
+
+  public static ReachTable ofDawg(FlatDawg dawg, String sourceSha256) {
+    Builder builder = new Builder();
+    int root = dawg.firstArc(FlatDawg.ROOT);
+    if (root != FlatDawg.NONE) {
+      new DawgWalk(dawg, builder).visit(root);
+    }
+    return builder.build(sourceSha256);
+  }
+
+  // Returns null when the file is missing or was built from another word list: the bounds are
+  // only a pruning aid, so cursors fall back to reporting no bounds.
+  public static ReachTable loadIfMatches(Path path, String sourceSha256) throws IOException {
+    if (!Files.exists(path)) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IllegalStateException("Not a reach table file: " + path);
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IllegalStateException("Unsupported reach table version: " + version);
+      }
+      String fileSha256 = in.readUTF();
+      if (!fileSha256.equals(sourceSha256)) {
+        return null;
+      }
+      int count = in.readInt();
+      long[] nodes = new long[count];
+      int[] lengths = new int[count];
+      int[] letters = new int[count];
+      for (int i = 0; i < count; i++) {
+        nodes[i] = in.readLong();
+        lengths[i] = in.readInt();
+        letters[i] = in.readInt();
+      }
+      return new ReachTable(nodes, lengths, letters, fileSha256);
+    }
+  }
+
+  public void write(Path path) throws IOException {
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeUTF(sourceSha256);
+      out.writeInt(nodes.length);
+      for (int i = 0; i < nodes.length; i++) {
+        out.writeLong(nodes[i]);
+        out.writeInt(lengths[i]);
+        out.writeInt(letters[i]);
+      }
+    }
+  }
+
+  public int size() {
+    return nodes.length;
+  }
+
+  // Index of the node's bounds, or UNKNOWN.
+  public int indexOf(long node) {
+    int index = Arrays.binarySearch(nodes, node);
+    return index >= 0 ? index : UNKNOWN;
+  }
+
+  public int minRemaining(int index) {
+    return lengths[index] >>> 16;
+  }
+
+  public int maxRemaining(int index) {
+    return lengths[index] & MAX_LENGTH;
+  }
+
+  public int reachableLetters(int index) {
+    return letters[index];
+  }
+
+  private static int letterBit(int label) {
+    return label >= 1 && label <= DictionaryAlphabet.POLISH.length() ? 1 << (label - 1) : 0;
+  }
+
+  // Collects bounds per node while a walk combines each node's arcs.
+  private static final class Builder {
+    private final Map<Long, Integer> indexes = new HashMap<>();
+    private long[] nodes = new long[1024];
+    private int[] lengths = new int[1024];
+    private int[] letters = new int[1024];
+    private int count;
+
+    Integer find(long node) {
+      return indexes.get(node);
+    }
+
+    int add(long node, int min, int max, int reachable) {
+      if (count == nodes.length) {
+        nodes = Arrays.copyOf(nodes, count * 2);
+        lengths = Arrays.copyOf(lengths, count * 2);
+        letters = Arrays.copyOf(letters, count * 2);
+      }
+      nodes[count] = node;
+      lengths[count] = Math.min(min, MAX_LENGTH) << 16 | Math.min(max, MAX_LENGTH);
+      letters[count] = reachable;
+      indexes.put(node, count);
+      return count++;
+    }
+
+    int min(int index) {
+      return lengths[index] >>> 16;
+    }
+
+    int max(int index) {
+      return lengths[index] & MAX_LENGTH;
+    }
+
+    int letters(int index) {
+      return letters[index];
+    }
+
+    ReachTable build(String sourceSha256) {
+      Integer[] order = new Integer[count];
+      for (int i = 0; i < count; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> Long.compare(nodes[a], nodes[b]));
+      long[] sortedNodes = new long[count];
+      int[] sortedLengths = new int[count];
+      int[] sortedLetters = new int[count];
+      for (int i = 0; i < count; i++) {
+        sortedNodes[i] = nodes[order[i]];
+        sortedLengths[i] = lengths[order[i]];
+        sortedLetters[i] = letters[order[i]];
+      }
+      return new ReachTable(sortedNodes, sortedLengths, sortedLetters, sourceSha256);
+    }
+  }
+
+  // Depth-first, so recursion is bounded by the longest word. Each node is combined from its
+  // arcs: an arc that completes a word counts as one letter, otherwise it adds one letter to
+  // its target's bounds. An arc without a target always completes a word.
+  private static final class FstWalk<T> {
+    private final FST<T> fst;
+    private final BytesReader reader;
+    private final Builder builder;
+
+    FstWalk(FST<T> fst, Builder builder) {
+      this.fst = fst;
+      this.reader = fst.getBytesReader();
+      this.builder = builder;
+    }
+
+    int visit(Arc<T> follow) throws IOException {
+      Integer known = builder.find(follow.target());
+      if (known != null) {
+        return known;
+      }
+      int min = Integer.MAX_VALUE;
+      int max = 0;
+      int reachable = 0;
+      Arc<T> arc = fst.readFirstTargetArc(follow, new Arc<>(), reader);
+      while (true) {
+        if (arc.label() != FST.END_LABEL) {
+          int childMin = 0;
+          int childMax = 0;
+          if (FST.targetHasArcs(arc)) {
+            int child = visit(new Arc<T>().copyFrom(arc));
+            childMin = builder.min(child);
+            childMax = builder.max(child);
+            reachable |= builder.letters(child);
+          }
+          min = Math.min(min, arc.isFinal() ? 1 : 1 + childMin);
+          max = Math.max(max, 1 + childMax);
+          reachable |= letterBit(arc.label());
+        }
+        if (arc.isLast()) {
+          break;
+        }
+        fst.readNextArc(arc, reader);
+      }
+      return builder.add(follow.target(), min, max, reachable);
+    }
+  }
+
+  private static final class DawgWalk {
+    private final FlatDawg dawg;
+    private final Builder builder;
+
+    DawgWalk(FlatDawg dawg, Builder builder) {
+      this.dawg = dawg;
+      this.builder = builder;
+    }
+
+    int visit(int first) {
+      Integer known = builder.find(first);
+      if (known != null) {
+        return known;
+      }
+      int min = Integer.MAX_VALUE;
+      int max = 0;
+      int reachable = 0;
+      for (int index = first; ; index++) {
+        int childMin = 0;
+        int childMax = 0;
+        int target = dawg.firstArc(index);
+        if (target != FlatDawg.NONE) {
+          int child = visit(target);
+          childMin = builder.min(child);
+          childMax = builder.max(child);
+          reachable |= builder.letters(child);
+        }
+        min = Math.min(min, dawg.isTerminal(index) ? 1 : 1 + childMin);
+        max = Math.max(max, 1 + childMax);
+        reachable |= letterBit(dawg.label(index));
+        if (dawg.isLast(index)) {
+          break;
+        }
+      }
+      return builder.add(first, min, max, reachable);
+    }
+  }
+}
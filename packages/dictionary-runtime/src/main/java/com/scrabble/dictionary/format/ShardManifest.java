@@ -0,0 +1,37 @@
+package com.scrabble.dictionary.format;
+
+import java.util.List;
+import java.util.Objects;
+
+// The word artifacts of a sharded compile, one per initial letter in alphabet order. Each file
+// is named relative to the manifest and has its own meta; sourceSha256 names the source list
+// every shard was compiled from.
+public record ShardManifest(int formatVersion, String sourceSha256, List<Shard> shards) {
+  public static final int FORMAT_VERSION = 1;
+
+  public ShardManifest {
+    Objects.requireNonNull(sourceSha256, "sourceSha256");
+    shards = shards == null ? List.of() : List.copyOf(shards);
+  }
+
+  public ShardManifest(String sourceSha256, List<Shard> shards) {
+    this(FORMAT_VERSION, sourceSha256, shards);
+  }
+
+  public long wordCount() {
+    return shards.stream().mapToLong(Shard::wordCount).sum();
+  }
+
+  public record Shard(String initial, String file, long wordCount) {
+    public Shard {
+      if (initial == null || initial.length() != 1) {
+        throw new IllegalArgumentException("Shard initial must be one letter: " + initial);
+      }
+      Objects.requireNonNull(file, "file");
+    }
+
+    public char letter() {
+      return initial.charAt(0);
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.scrabble.dictionary.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public final class ShardManifestIO {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private ShardManifestIO() { }
+
+  public static ShardManifest read(Path path) throws IOException {
+    ShardManifest manifest = MAPPER.readValue(Files.readAllBytes(path), ShardManifest.class);
+    if (manifest.formatVersion() != ShardManifest.FORMAT_VERSION) {
+      throw new IllegalStateException(
+          "Unsupported shard manifest version: " + manifest.formatVersion());
+    }
+    return manifest;
+  }
+
+  public static void write(Path path, ShardManifest manifest) throws IOException {
+    if (path.getParent() != null) {
+      Files.createDirectories(path.getParent());
+    }
+    Files.write(path, MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+  }
+}
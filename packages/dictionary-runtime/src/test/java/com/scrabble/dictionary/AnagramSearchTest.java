@@ -0,0 +1,64 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnagramSearchTest {
+
+  @Test
+  void findsEveryWordFormableFromRack() throws Exception {
+    // given
+    FstDictionary dictionary = compile("anagram-test", "kot", "tok", "kto", "ok", "oko", "koty", "to");
+
+    // when
+    List<String> words = dictionary.anagrams(AnagramQuery.of("tok", 0)).toList();
+
+    // then
+    assertThat(words).containsExactly("KOT", "KTO", "OK", "TO", "TOK");
+  }
+
+  @Test
+  void usesBlanksOnlyForMissingLetters() throws Exception {
+    // given
+    FstDictionary dictionary = compile("anagram-test-blanks", "kot", "oko", "koty", "żółw");
+
+    // when
+    List<String> withBlank = dictionary.anagrams(AnagramQuery.of("kot", 1)).toList();
+    List<String> threeLetters = dictionary.anagrams(AnagramQuery.of("kot", 1).withLength(3, 3)).toList();
+    List<String> twoBlanks = dictionary.anagrams(AnagramQuery.of("żw", 2)).toList();
+
+    // then
+    assertThat(withBlank).containsExactly("KOT", "KOTY", "OKO");
+    assertThat(threeLetters).containsExactly("KOT", "OKO");
+    assertThat(twoBlanks).containsExactly("ŻÓŁW");
+  }
+
+  @Test
+  void keepsBoardLettersOfPatternOutOfRack() throws Exception {
+    // given
+    FstDictionary dictionary = compile("anagram-test-pattern", "kot", "kit", "kat", "koty");
+
+    // when
+    List<String> words = dictionary.anagrams(AnagramQuery.of("oa", 0).withPattern("k.t")).toList();
+
+    // then
+    assertThat(words).containsExactly("KAT", "KOT");
+    assertThatThrownBy(() -> dictionary.anagrams(AnagramQuery.of("k1", 0)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static FstDictionary compile(String prefix, String... words) throws Exception {
+    Path tempDir = Files.createTempDirectory(prefix);
+    Path input = Files.write(tempDir.resolve("words.txt"), List.of(words));
+    Path fstPath = tempDir.resolve("words.fst");
+    new DictionaryCompiler().compile(input, fstPath);
+    return FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+  }
+}
@@ -0,0 +1,138 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingDictionaryTest {
+  private static final Set<String> WORDS = Set.of("KOT", "KOTY", "KOC", "PIES");
+
+  @Test
+  void answersRepeatedQueriesFromTheCache() {
+    // given
+    AtomicInteger lookups = new AtomicInteger();
+    CachingDictionary dictionary = new CachingDictionary(counting(lookups), 64);
+
+    // when
+    boolean first = dictionary.contains("KOT");
+    boolean second = dictionary.contains("KOT");
+    boolean missing = dictionary.contains("KOTA");
+    boolean missingAgain = dictionary.contains("KOTA");
+    boolean prefix = dictionary.containsPrefix("KO");
+    boolean prefixAgain = dictionary.containsPrefix("KO");
+
+    // then
+    assertThat(first).isTrue();
+    assertThat(second).isTrue();
+    assertThat(missing).isFalse();
+    assertThat(missingAgain).isFalse();
+    assertThat(prefix).isTrue();
+    assertThat(prefixAgain).isTrue();
+    assertThat(lookups).hasValue(3);
+    CachingDictionary.Stats stats = dictionary.stats();
+    assertThat(stats.hits()).isEqualTo(3);
+    assertThat(stats.misses()).isEqualTo(3);
+    assertThat(stats.size()).isEqualTo(3);
+    assertThat(stats.hitRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  void keepsQueryKindsAndCrossCheckSquaresApart() {
+    // given
+    CachingDictionary dictionary = new CachingDictionary(counting(new AtomicInteger()), 64);
+
+    // when
+    boolean prefix = dictionary.containsPrefix("KO");
+    boolean word = dictionary.contains("KO");
+    int kotMask = dictionary.crossCheckMask("KO", "");
+    int kotyMask = dictionary.crossCheckMask("KOT", "");
+    int splitMask = dictionary.crossCheckMask("K", "T");
+
+    // then
+    assertThat(prefix).isTrue();
+    assertThat(word).isFalse();
+    assertThat(dictionary.crossCheckMask("KO", "")).isEqualTo(kotMask);
+    assertThat(kotMask).isEqualTo(letterBits('C', 'T'));
+    assertThat(kotyMask).isEqualTo(letterBits('Y'));
+    assertThat(splitMask).isEqualTo(letterBits('O'));
+  }
+
+  @Test
+  void staysWithinCapacityAndCountsEvictions() {
+    // given
+    AtomicInteger lookups = new AtomicInteger();
+    CachingDictionary dictionary = new CachingDictionary(counting(lookups), 16);
+    List<String> queries = IntStream.range(0, 1_000).mapToObj(i -> "W" + i).toList();
+
+    // when
+    queries.forEach(dictionary::contains);
+    for (int i = 0; i < 100; i++) {
+      dictionary.contains("KOT");
+    }
+
+    // then
+    CachingDictionary.Stats stats = dictionary.stats();
+    assertThat(stats.capacity()).isEqualTo(16);
+    assertThat(stats.size()).isLessThanOrEqualTo(16);
+    assertThat(stats.evictions()).isGreaterThanOrEqualTo(1_000 - 16);
+    assertThat(lookups).hasValue(1_001);
+    assertThat(stats.hits()).isEqualTo(99);
+  }
+
+  @Test
+  void agreesWithTheDelegateUnderConcurrentLookups() {
+    // given
+    CachingDictionary dictionary = new CachingDictionary(counting(new AtomicInteger()), 32);
+    List<String> queries = List.of("KOT", "KOTY", "KOC", "PIES", "KOTA", "PIESY", "K", "KO");
+
+    // when
+    long wrong = IntStream.range(0, 100_000).parallel()
+        .filter(i -> {
+          String query = queries.get(i % queries.size());
+          return dictionary.contains(query) != WORDS.contains(query);
+        })
+        .count();
+
+    // then
+    assertThat(wrong).isZero();
+    assertThat(dictionary.stats().hits() + dictionary.stats().misses()).isEqualTo(100_000);
+    assertThat(dictionary.stats().size()).isLessThanOrEqualTo(dictionary.stats().capacity());
+  }
+
+  @Test
+  void rejectsNonPositiveCapacity() {
+    // when / then
+    assertThatThrownBy(() -> new CachingDictionary(WORDS::contains, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Dictionary counting(AtomicInteger lookups) {
+    return new Dictionary() {
+      @Override
+      public boolean contains(String word) {
+        lookups.incrementAndGet();
+        return WORDS.contains(word);
+      }
+
+      @Override
+      public boolean containsPrefix(String prefix) {
+        lookups.incrementAndGet();
+        return WORDS.stream().anyMatch(word -> word.startsWith(prefix));
+      }
+    };
+  }
+
+  private static int letterBits(char... letters) {
+    int mask = 0;
+    for (char letter : letters) {
+      mask |= 1 << DictionaryAlphabet.POLISH.indexOf(letter);
+    }
+    return mask;
+  }
+}
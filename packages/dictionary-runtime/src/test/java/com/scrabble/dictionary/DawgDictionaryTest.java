@@ -0,0 +1,106 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DawgDictionaryTest {
+
+  @Test
+  void answersLikeFstDictionary() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("dawg-test");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path dawgPath = tempDir.resolve("osps-dawg.fst");
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    new DictionaryCompiler(CompileOptions.defaults().withDawg(true)).compile(input, dawgPath);
+    List<String> lines = Files.readAllLines(input, StandardCharsets.UTF_8).stream()
+        .filter(line -> !line.isBlank())
+        .toList();
+    String[][] squares = {
+        {"H", "ŁMU"}, {"RONDL", ""}, {"", "IRNY"}, {"ŚCI", "N"}, {"zajawiałe", ""}, {"QQ", "X"}
+    };
+
+    // when
+    try (FstDictionary fst = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+        DawgDictionary dawg =
+            DawgDictionary.load(dawgPath, DictionaryPaths.metaPathFor(dawgPath))) {
+      // then
+      assertThat(DictionaryMetaIO.read(DictionaryPaths.metaPathFor(dawgPath)).usesDawg()).isTrue();
+      for (String line : lines) {
+        assertThat(dawg.contains(line)).as(line).isTrue();
+        assertThat(dawg.contains(line + "Ź")).as(line + "Ź").isEqualTo(fst.contains(line + "Ź"));
+        String prefix = line.substring(0, Math.max(1, line.length() / 2));
+        assertThat(dawg.containsPrefix(prefix)).as(prefix).isTrue();
+      }
+      assertThat(dawg.contains("QQQ")).isFalse();
+      assertThat(dawg.contains("")).isFalse();
+      for (String[] square : squares) {
+        assertThat(dawg.crossCheckMask(square[0], square[1]))
+            .as("%s_%s", square[0], square[1])
+            .isEqualTo(fst.crossCheckMask(square[0], square[1]));
+      }
+      assertThat(dawg.matching(WordPattern.wildcard("ZAJAWIA*")).toList())
+          .isEqualTo(fst.matching(WordPattern.wildcard("ZAJAWIA*")).toList());
+      assertThat(dawg.sizeInBytes()).isPositive();
+    }
+  }
+
+  @Test
+  void walksCursorFromMemoryMappedDawg() throws Exception {
+    // given
+    Path dawgPath = Files.createTempDirectory("dawg-test-mmap").resolve("osps.fst");
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler(CompileOptions.defaults().withDawg(true)).compile(input, dawgPath);
+
+    try (DawgDictionary dictionary = DawgDictionary.load(
+        dawgPath, DictionaryPaths.metaPathFor(dawgPath), DictionaryLoadMode.MMAP)) {
+      // when
+      PrefixCursor cursor = dictionary.cursor();
+      for (char letter : "ZAJAWIAŁE".toCharArray()) {
+        cursor.advance(letter);
+      }
+      PrefixCursor branch = cursor.copy();
+      boolean extended = cursor.advance('Ś');
+      boolean wrongBranch = branch.advance('Q');
+
+      // then
+      assertThat(extended).isTrue();
+      assertThat(cursor.isWord()).isTrue();
+      assertThat(wrongBranch).isFalse();
+      assertThat(branch.isDead()).isTrue();
+      assertThat(branch.isWord()).isFalse();
+    }
+  }
+
+  @Test
+  void loadsOnlyTheEncodingItsMetaNames() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("dawg-test-encoding");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path dawgPath = tempDir.resolve("osps-dawg.fst");
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    new DictionaryCompiler(CompileOptions.defaults().withDawg(true)).compile(input, dawgPath);
+
+    // when / then
+    assertThatThrownBy(() -> FstDictionary.load(dawgPath, DictionaryPaths.metaPathFor(dawgPath)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("flat DAWG");
+    assertThatThrownBy(() -> DawgDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("not a flat DAWG");
+    assertThatThrownBy(() -> CompileOptions.defaults().withOrdinals(true).withDawg(true))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -1,6 +1,9 @@
 package com.scrabble.dictionary;
 
+import com.scrabble.dictionary.compile.CompileOptions;
 import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.BlockedBloomFilter;
+import com.scrabble.dictionary.format.DictionaryAlphabet;
 import com.scrabble.dictionary.format.DictionaryFormat;
 import com.scrabble.dictionary.format.DictionaryMeta;
 import com.scrabble.dictionary.format.DictionaryMetaIO;
@@ -8,10 +11,23 @@ import com.scrabble.dictionary.format.DictionaryPaths;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.IntsRefBuilder;
+import org.apache.lucene.util.fst.FST;
+import org.apache.lucene.util.fst.FSTCompiler;
+import org.apache.lucene.util.fst.NoOutputs;
+import org.apache.lucene.util.fst.Util;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 class FstDictionaryTest {
 
@@ -34,6 +50,298 @@ class FstDictionaryTest {
     assertThat(dictionary.contains("półroczniakach")).isTrue();
   }
 
+  @Test
+  void compilesThroughSpilledRunsUnderSmallMemoryLimit() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-spill");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path input = tempDir.resolve("words.txt");
+    String letters = "AĄBCĆDEĘ";
+    List<String> words = new ArrayList<>();
+    for (int i = 0; i < 40_000; i++) {
+      StringBuilder word = new StringBuilder();
+      for (int n = i; word.length() < 6; n /= letters.length()) {
+        word.append(letters.charAt(n % letters.length()));
+      }
+      words.add(word.toString().toLowerCase(Locale.ROOT));
+    }
+    Files.write(input, words);
+
+    // when
+    DictionaryCompiler.Result result = new DictionaryCompiler(CompileOptions.defaults()
+        .withMemoryLimit(CompileOptions.MIN_MEMORY_LIMIT_BYTES)
+        .withTempDir(tempDir.resolve("spill")))
+        .compile(input, fstPath);
+
+    // then
+    assertThat(result.wordCount()).isEqualTo(40_000);
+    assertThat(result.gaddagEntryCount()).isEqualTo(240_000);
+    assertThat(result.spilledRuns()).isPositive();
+    assertThat(tempDir.resolve("spill")).isEmptyDirectory();
+    assertThat(DictionaryMetaIO.read(DictionaryPaths.metaPathFor(fstPath)).wordCount())
+        .isEqualTo(40_000);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+    assertThat(dictionary.containsAll(words).cardinality()).isEqualTo(40_000);
+    assertThat(dictionary.contains("ĘĘĘĘĘĘ")).isFalse();
+  }
+
+  @Test
+  void findsWordsWithMemoryMappedLoad() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-mmap");
+    Path fstPath = tempDir.resolve("osps.fst");
+
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+
+    // when
+    try (FstDictionary dictionary = FstDictionary.load(
+        fstPath, DictionaryPaths.metaPathFor(fstPath), DictionaryLoadMode.MMAP)) {
+      // then
+      assertThat(dictionary.contains("zajawiałeś")).isTrue();
+      assertThat(dictionary.containsPrefix("PÓŁROCZ")).isTrue();
+      assertThat(dictionary.contains("nieistniejaceslowo")).isFalse();
+    }
+  }
+
+  @Test
+  void looksUpCharSequencesAndCharArrays() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-chars");
+    Path fstPath = tempDir.resolve("osps.fst");
+
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+    char[] buffer = "..ZAJAWIAŁEŚ..".toCharArray();
+
+    // when
+    boolean word = dictionary.contains(buffer, 2, 10);
+    boolean prefix = dictionary.containsPrefix(buffer, 2, 5);
+    boolean truncated = dictionary.contains(buffer, 2, 9);
+    boolean builder = dictionary.contains(new StringBuilder(" zajawiałeś "));
+
+    // then
+    assertThat(word).isTrue();
+    assertThat(prefix).isTrue();
+    assertThat(truncated).isFalse();
+    assertThat(builder).isTrue();
+    assertThat(dictionary.contains(buffer, 0, 12)).isFalse();
+    assertThatThrownBy(() -> dictionary.contains(buffer, 10, 10))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void checksWholeBatchIntoBitSet() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-batch");
+    Path fstPath = tempDir.resolve("osps.fst");
+
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+    List<CharSequence> words = Arrays.asList(
+        "ZAJAWIAŁEŚ", new StringBuilder("półroczniakach"), "NIEISTNIEJACE", null, "");
+
+    // when
+    BitSet found = dictionary.containsAll(words);
+
+    // then
+    assertThat(found.stream().boxed().toList()).containsExactly(0, 1);
+  }
+
+  @Test
+  void consultsBloomFilterOnlyWhenItMatchesTheWordList() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-bloom");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path bloomPath = DictionaryPaths.bloomPathFor(fstPath);
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+
+    // when
+    new DictionaryCompiler().compile(input, fstPath);
+    FstDictionary filtered = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+    new DictionaryCompiler(CompileOptions.defaults().withBloomFalsePositiveRate(0))
+        .compile(input, fstPath);
+    FstDictionary unfiltered = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+    BlockedBloomFilter.create(10, 0.01, "stale").write(bloomPath);
+    FstDictionary stale = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+
+    // then
+    assertThat(bloomPath.getFileName().toString()).isEqualTo("osps.bloom");
+    assertThat(filtered.hasBloomFilter()).isTrue();
+    assertThat(unfiltered.hasBloomFilter()).isFalse();
+    assertThat(stale.hasBloomFilter()).isFalse();
+    for (FstDictionary dictionary : List.of(filtered, unfiltered, stale)) {
+      assertThat(dictionary.contains("zajawiałeś")).isTrue();
+      assertThat(dictionary.contains("ZAJAWIAŁEŚĄ")).isFalse();
+      assertThat(dictionary.crossCheckMask("H", "ŁMU"))
+          .isEqualTo(1 << DictionaryAlphabet.POLISH.indexOf('E'));
+    }
+  }
+
+  @Test
+  void mapsWordsToDenseOrdinalsAndBack() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-ordinals");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler(CompileOptions.defaults().withOrdinals(true)).compile(input, fstPath);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+    List<String> words = dictionary.matching(WordPattern.wildcard("*")).toList();
+
+    // when
+    int[] ordinals = words.stream().mapToInt(dictionary::ordinal).toArray();
+
+    // then
+    assertThat(dictionary.hasOrdinals()).isTrue();
+    assertThat(DictionaryMetaIO.read(DictionaryPaths.metaPathFor(fstPath)).outputs())
+        .isEqualTo(DictionaryFormat.OUTPUTS_ORDINAL);
+    assertThat(ordinals).containsExactly(IntStream.range(0, words.size()).toArray());
+    for (int i = 0; i < words.size(); i++) {
+      assertThat(dictionary.wordAt(i)).isEqualTo(words.get(i));
+    }
+    assertThat(dictionary.ordinal("zajawiałeś")).isEqualTo(words.indexOf("ZAJAWIAŁEŚ"));
+    assertThat(dictionary.ordinal("NIEISTNIEJACE")).isEqualTo(-1);
+    assertThat(dictionary.ordinal("ZAJAWIAŁ")).isEqualTo(-1);
+    assertThatThrownBy(() -> dictionary.wordAt(words.size()))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void rejectsOrdinalLookupsWithoutOrdinalOutputs() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-no-ordinals");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+
+    // when / then
+    assertThat(dictionary.hasOrdinals()).isFalse();
+    assertThatThrownBy(() -> dictionary.ordinal("ZAJAWIAŁEŚ"))
+        .isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> dictionary.wordAt(0))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void reportsStructureAndContentStats() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-stats");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path input = tempDir.resolve("words.txt");
+    Files.writeString(input, String.join("\n", "kot", "koty", "koc"));
+    new DictionaryCompiler().compile(input, fstPath);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+
+    // when
+    DictionaryStats stats = dictionary.stats();
+
+    // then
+    assertThat(stats.wordCount()).isEqualTo(3);
+    assertThat(stats.nodeCount()).isEqualTo(4);
+    assertThat(stats.arcCount()).isEqualTo(5);
+    assertThat(stats.fstBytes()).isPositive();
+    assertThat(stats.wordLengths()).containsExactly(entry(3, 2L), entry(4, 1L));
+    assertThat(stats.letterFrequencies()).containsExactly(
+        entry('C', 1L), entry('K', 3L), entry('O', 3L), entry('T', 2L), entry('Y', 1L));
+  }
+
+  @Test
+  void crossCheckMaskMatchesLetterByLetterLookups() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-cross");
+    Path fstPath = tempDir.resolve("osps.fst");
+
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+    Dictionary lookups = dictionary::contains;
+    String[][] squares = {
+        {"H", "ŁMU"}, {"RONDL", ""}, {"", "IRNY"}, {"ŚCI", "N"}, {"zajawiałe", ""}, {"QQ", "X"}
+    };
+
+    // when
+    int mask = dictionary.crossCheckMask("H", "ŁMU");
+
+    // then
+    assertThat(mask).isEqualTo(1 << DictionaryAlphabet.POLISH.indexOf('E'));
+    for (String[] square : squares) {
+      assertThat(dictionary.crossCheckMask(square[0], square[1]))
+          .as("%s_%s", square[0], square[1])
+          .isEqualTo(lookups.crossCheckMask(square[0], square[1]));
+    }
+  }
+
+  @Test
+  void cursorExtendsPrefixLetterByLetter() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-cursor");
+    Path fstPath = tempDir.resolve("osps.fst");
+
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    FstDictionary dictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+
+    // when
+    PrefixCursor cursor = dictionary.cursor();
+    for (char letter : "ZAJAWIAŁE".toCharArray()) {
+      cursor.advance(letter);
+    }
+    PrefixCursor branch = cursor.copy();
+    boolean extended = cursor.advance('Ś');
+    boolean wrongBranch = branch.advance('Q');
+
+    // then
+    assertThat(extended).isTrue();
+    assertThat(cursor.isWord()).isTrue();
+    assertThat(wrongBranch).isFalse();
+    assertThat(branch.isDead()).isTrue();
+    assertThat(branch.isWord()).isFalse();
+    assertThat(branch.advance('Ś')).isFalse();
+  }
+
+  @Test
+  void cursorReportsPruningBoundsFromReachTable() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-reach");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path dawgPath = tempDir.resolve("dawg").resolve("osps.fst");
+    Files.createDirectories(dawgPath.getParent());
+    Path input = Files.write(tempDir.resolve("words.txt"), List.of("kot", "koty", "koc"));
+
+    // when
+    DictionaryCompiler.Result result = new DictionaryCompiler().compile(input, fstPath);
+    new DictionaryCompiler(CompileOptions.defaults().withDawg(true)).compile(input, dawgPath);
+    FstDictionary fst = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+
+    // then
+    assertThat(DictionaryPaths.reachPathFor(fstPath).getFileName().toString())
+        .isEqualTo("osps.reach");
+    assertThat(result.reachNodes()).isPositive();
+    assertThat(fst.hasReachTable()).isTrue();
+    try (DawgDictionary dawg =
+        DawgDictionary.load(dawgPath, DictionaryPaths.metaPathFor(dawgPath))) {
+      for (Dictionary dictionary : List.of(fst, dawg)) {
+        PrefixCursor cursor = dictionary.cursor();
+        cursor.advance('K');
+        cursor.advance('O');
+        assertThat(cursor.minRemaining()).isEqualTo(1);
+        assertThat(cursor.maxRemaining()).isEqualTo(2);
+        assertThat(cursor.reachableLetters()).isEqualTo(IntStream.of('C', 'T', 'Y')
+            .map(letter -> 1 << DictionaryAlphabet.POLISH.indexOf(letter))
+            .sum());
+        cursor.advance('T');
+        assertThat(cursor.minRemaining()).isZero();
+        assertThat(cursor.maxRemaining()).isEqualTo(1);
+        cursor.advance('Y');
+        assertThat(cursor.maxRemaining()).isZero();
+        assertThat(cursor.reachableLetters()).isZero();
+      }
+    }
+  }
+
   @Test
   void rejectsUnknownWords() throws Exception {
     // given
@@ -67,6 +375,74 @@ class FstDictionaryTest {
     assertThat(dictionary.contains("POLROCZNIAKACH")).isFalse();
   }
 
+  @Test
+  void recordsDenseAlphabetInMeta() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-alphabet");
+    Path fstPath = tempDir.resolve("osps.fst");
+
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+
+    // when
+    DictionaryMeta meta = DictionaryMetaIO.read(DictionaryPaths.metaPathFor(fstPath));
+
+    // then
+    assertThat(meta.formatVersion()).isEqualTo(DictionaryFormat.FORMAT_VERSION);
+    assertThat(meta.alphabet()).startsWith(DictionaryAlphabet.POLISH);
+  }
+
+  @Test
+  void rejectsAlphabetThatDoesNotStartWithPolish() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("fst-test-foreign-alphabet").resolve("osps.fst");
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    Path metaPath = DictionaryPaths.metaPathFor(fstPath);
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+
+    // when
+    DictionaryMetaIO.write(metaPath,
+        meta.withAlphabet("Ą" + meta.alphabet().replace("Ą", "")));
+
+    // then
+    assertThatThrownBy(() -> FstDictionary.load(fstPath, metaPath))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Polish letters");
+  }
+
+  @Test
+  void loadsVersionOneUtf8Artifacts() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("fst-test-v1");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path metaPath = DictionaryPaths.metaPathFor(fstPath);
+
+    NoOutputs outputs = NoOutputs.getSingleton();
+    FSTCompiler<Object> compiler =
+        new FSTCompiler.Builder<>(FST.INPUT_TYPE.BYTE1, outputs).build();
+    IntsRefBuilder scratch = new IntsRefBuilder();
+    for (String word : List.of("KOT", "ŻÓŁW", "ŻÓŁWIE")) {
+      compiler.add(Util.toIntsRef(new BytesRef(word), scratch), outputs.getNoOutput());
+    }
+    FST.fromFSTReader(compiler.compile(), compiler.getFSTReader()).save(fstPath);
+    DictionaryMetaIO.write(metaPath, DictionaryMeta.of(3, "sha", Instant.now())
+        .withFormatVersion(1));
+
+    // when
+    FstDictionary dictionary = FstDictionary.load(fstPath, metaPath);
+    PrefixCursor cursor = dictionary.cursor();
+    for (char letter : "ŻÓŁW".toCharArray()) {
+      cursor.advance(letter);
+    }
+
+    // then
+    assertThat(dictionary.contains("żółw")).isTrue();
+    assertThat(dictionary.contains("ŻÓŁ")).isFalse();
+    assertThat(dictionary.containsPrefix("ŻÓŁWI")).isTrue();
+    assertThat(cursor.isWord()).isTrue();
+  }
+
   @Test
   void rejectsMismatchedFormatVersion() throws Exception {
     // given
@@ -78,12 +454,8 @@ class FstDictionaryTest {
     new DictionaryCompiler().compile(input, fstPath);
 
     DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
-    DictionaryMeta invalid = new DictionaryMeta(
-        DictionaryFormat.FORMAT_VERSION + 1,
-        meta.normalisation(),
-        meta.wordCount(),
-        meta.sourceSha256(),
-        Instant.now());
+    DictionaryMeta invalid = DictionaryMeta.of(meta.wordCount(), meta.sourceSha256(), Instant.now())
+        .withFormatVersion(DictionaryFormat.FORMAT_VERSION + 1);
     DictionaryMetaIO.write(metaPath, invalid);
 
     // when + then
@@ -102,12 +474,8 @@ class FstDictionaryTest {
     new DictionaryCompiler().compile(input, fstPath);
 
     DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
-    DictionaryMeta invalid = new DictionaryMeta(
-        meta.formatVersion(),
-        "NFD_LOWERCASE",
-        meta.wordCount(),
-        meta.sourceSha256(),
-        Instant.now());
+    DictionaryMeta invalid = DictionaryMeta.of(meta.wordCount(), meta.sourceSha256(), Instant.now())
+        .withNormalisation("NFD_LOWERCASE");
     DictionaryMetaIO.write(metaPath, invalid);
 
     // when + then
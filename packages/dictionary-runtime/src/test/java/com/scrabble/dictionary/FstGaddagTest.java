@@ -0,0 +1,71 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FstGaddagTest {
+
+  @Test
+  void walksReversedPrefixThenSuffix() throws Exception {
+    // given
+    Path fstPath = compileShortenedList("gaddag-test");
+    Path gaddagPath = DictionaryPaths.gaddagPathFor(fstPath);
+    FstGaddag gaddag = FstGaddag.load(gaddagPath, DictionaryPaths.metaPathFor(gaddagPath));
+
+    // when
+    FstGaddag.Node node = walk(gaddag.root(), "JAZ").pivot();
+    node = walk(node, "AWIAŁEŚ");
+
+    // then
+    assertThat(node).isNotNull();
+    assertThat(node.isWord()).isTrue();
+  }
+
+  @Test
+  void acceptsWholeReversedWordBeforeSeparator() throws Exception {
+    // given
+    Path fstPath = compileShortenedList("gaddag-test-reversed");
+    Path gaddagPath = DictionaryPaths.gaddagPathFor(fstPath);
+    FstGaddag gaddag = FstGaddag.load(gaddagPath, DictionaryPaths.metaPathFor(gaddagPath));
+
+    // when
+    FstGaddag.Node node = walk(gaddag.root(), new StringBuilder("PÓŁROCZNIAKACH").reverse().toString());
+
+    // then
+    assertThat(node.isWord()).isFalse();
+    assertThat(node.pivot().isWord()).isTrue();
+    assertThat(gaddag.root().next('Q')).isNull();
+  }
+
+  @Test
+  void rejectsWordLayoutArtifact() throws Exception {
+    // given
+    Path fstPath = compileShortenedList("gaddag-test-layout");
+
+    // when + then
+    assertThatThrownBy(() -> FstGaddag.load(fstPath, DictionaryPaths.metaPathFor(fstPath)))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static Path compileShortenedList(String prefix) throws Exception {
+    Path tempDir = Files.createTempDirectory(prefix);
+    Path fstPath = tempDir.resolve("osps.fst");
+    Path input = TestWordlists.loadResourceToTempFile("osps_shortened.txt");
+    new DictionaryCompiler().compile(input, fstPath);
+    return fstPath;
+  }
+
+  private static FstGaddag.Node walk(FstGaddag.Node start, String letters) {
+    FstGaddag.Node node = start;
+    for (int i = 0; i < letters.length() && node != null; i++) {
+      node = node.next(letters.charAt(i));
+    }
+    return node;
+  }
+}
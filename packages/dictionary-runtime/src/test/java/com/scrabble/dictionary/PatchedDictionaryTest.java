@@ -0,0 +1,139 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import com.scrabble.dictionary.format.DictionaryPatchIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatchedDictionaryTest {
+
+  @Test
+  void answersLookupsFromBaseAndPatch() throws Exception {
+    // given
+    Path fstPath = compile("patched-lookups", "kot", "koty", "koc", "pies");
+    DictionaryPatch patch = new DictionaryPatch(
+        sourceSha256(fstPath), List.of("KOTEK", "ŻUK"), List.of("KOC", "PIES"));
+
+    try (FstDictionary base = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath))) {
+      // when
+      PatchedDictionary dictionary = new PatchedDictionary(base, patch);
+
+      // then
+      assertThat(dictionary.contains("KOT")).isTrue();
+      assertThat(dictionary.contains("kotek")).isTrue();
+      assertThat(dictionary.contains("ŻUK")).isTrue();
+      assertThat(dictionary.contains("KOC")).isFalse();
+      assertThat(dictionary.contains("PIES")).isFalse();
+      assertThat(dictionary.containsPrefix("KOTE")).isTrue();
+      assertThat(dictionary.containsPrefix("ŻU")).isTrue();
+      assertThat(dictionary.containsPrefix("PI")).isFalse();
+      assertThat(dictionary.containsPrefix("KO")).isTrue();
+      assertThat(dictionary.containsAll(List.of("KOT", "KOC", "ŻUK", "PIES")).stream().toArray())
+          .containsExactly(0, 2);
+      assertThat(dictionary.crossCheckMask("KO", "")).isEqualTo(letterBits('T'));
+      assertThat(dictionary.crossCheckMask("KOT", "K")).isEqualTo(letterBits('E'));
+      assertThat(dictionary.matching(WordPattern.wildcard("KO*")).toList())
+          .containsExactly("KOT", "KOTEK", "KOTY");
+    }
+  }
+
+  @Test
+  void extendsCursorIntoAddedWordsAndSkipsRemovedOnes() throws Exception {
+    // given
+    Path fstPath = compile("patched-cursor", "kot", "koc");
+    DictionaryPatch patch = new DictionaryPatch(
+        sourceSha256(fstPath), List.of("KOTEK"), List.of("KOT"));
+
+    try (FstDictionary base = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath))) {
+      PatchedDictionary dictionary = new PatchedDictionary(base, patch);
+
+      // when
+      PrefixCursor cursor = dictionary.cursor();
+      for (char letter : "KOT".toCharArray()) {
+        cursor.advance(letter);
+      }
+      boolean kot = cursor.isWord();
+      PrefixCursor branch = cursor.copy();
+      boolean extended = cursor.advance('E') && cursor.advance('K');
+      boolean dead = branch.advance('Y');
+
+      // then
+      assertThat(kot).isFalse();
+      assertThat(extended).isTrue();
+      assertThat(cursor.isWord()).isTrue();
+      assertThat(dead).isFalse();
+      assertThat(branch.isDead()).isTrue();
+    }
+  }
+
+  @Test
+  void foldsPatchIntoFullCompile() throws Exception {
+    // given
+    Path fstPath = compile("patched-fold", "kot", "koc");
+    Path patchPath = DictionaryPaths.patchPathFor(fstPath);
+    DictionaryPatchIO.write(patchPath,
+        new DictionaryPatch(sourceSha256(fstPath), List.of("ŻUK"), List.of("KOC")));
+    Path input = Files.write(fstPath.resolveSibling("words.txt"), List.of("kot", "koc"));
+
+    // when
+    DictionaryCompiler.Result result =
+        new DictionaryCompiler().compile(input, fstPath, DictionaryPatchIO.read(patchPath));
+
+    // then
+    assertThat(result.wordCount()).isEqualTo(2);
+    assertThat(patchPath).doesNotExist();
+    try (FstDictionary dictionary =
+        FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath))) {
+      assertThat(dictionary.contains("ŻUK")).isTrue();
+      assertThat(dictionary.contains("KOT")).isTrue();
+      assertThat(dictionary.contains("KOC")).isFalse();
+    }
+  }
+
+  @Test
+  void keepsPatchListsSortedAndDisjoint() throws Exception {
+    // given
+    Path patchPath = Files.createTempDirectory("patch-io").resolve("osps.patch.json");
+
+    // when
+    DictionaryPatchIO.write(patchPath,
+        new DictionaryPatch("sha", List.of("ŻUK", "KOTEK", "ŻUK"), List.of("PIES")));
+    DictionaryPatch patch = DictionaryPatchIO.read(patchPath);
+
+    // then
+    assertThat(patch.added()).containsExactly("KOTEK", "ŻUK");
+    assertThat(patch.removed()).containsExactly("PIES");
+    assertThat(patch.size()).isEqualTo(3);
+    assertThatThrownBy(() -> new DictionaryPatch("sha", List.of("KOT"), List.of("KOT")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("KOT");
+  }
+
+  private static Path compile(String directory, String... words) throws Exception {
+    Path fstPath = Files.createTempDirectory(directory).resolve("osps.fst");
+    Path input = Files.write(fstPath.resolveSibling("words.txt"), List.of(words));
+    new DictionaryCompiler().compile(input, fstPath);
+    return fstPath;
+  }
+
+  private static String sourceSha256(Path fstPath) throws Exception {
+    return DictionaryMetaIO.read(DictionaryPaths.metaPathFor(fstPath)).sourceSha256();
+  }
+
+  private static int letterBits(char... letters) {
+    int mask = 0;
+    for (char letter : letters) {
+      mask |= 1 << DictionaryAlphabet.POLISH.indexOf(letter);
+    }
+    return mask;
+  }
+}
@@ -0,0 +1,66 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatternSearchTest {
+
+  @Test
+  void matchesWildcardsAgainstFst() throws Exception {
+    // given
+    FstDictionary dictionary = compile("pattern-test", "kat", "kit", "kot", "koty", "żółw", "kółko");
+
+    // when
+    List<String> single = dictionary.matching(WordPattern.wildcard("k?t")).toList();
+    List<String> run = dictionary.matching(WordPattern.wildcard("K*")).toList();
+    List<String> classes = dictionary.matching(WordPattern.wildcard("[ŻK]ó*")).toList();
+
+    // then
+    assertThat(single).containsExactly("KAT", "KIT", "KOT");
+    assertThat(run).containsExactly("KAT", "KIT", "KOT", "KOTY", "KÓŁKO");
+    assertThat(classes).containsExactly("KÓŁKO", "ŻÓŁW");
+  }
+
+  @Test
+  void matchesRegexAndFallsBackToCursorWalk() throws Exception {
+    // given
+    FstDictionary dictionary = compile("pattern-test-regex", "kat", "kit", "kot", "koty", "żółw");
+    Dictionary cursorOnly = new Dictionary() {
+      @Override
+      public boolean contains(String word) {
+        return dictionary.contains(word);
+      }
+
+      @Override
+      public boolean containsPrefix(String prefix) {
+        return dictionary.containsPrefix(prefix);
+      }
+    };
+    WordPattern pattern = WordPattern.regex("K(O|A)TY?");
+
+    // when
+    List<String> fst = dictionary.matching(pattern).toList();
+    List<String> cursor = cursorOnly.matching(pattern).toList();
+
+    // then
+    assertThat(fst).containsExactly("KAT", "KOT", "KOTY");
+    assertThat(cursor).isEqualTo(fst);
+    assertThatThrownBy(() -> dictionary.matching(WordPattern.regex("(KO")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static FstDictionary compile(String prefix, String... words) throws Exception {
+    Path tempDir = Files.createTempDirectory(prefix);
+    Path input = Files.write(tempDir.resolve("words.txt"), List.of(words));
+    Path fstPath = tempDir.resolve("words.fst");
+    new DictionaryCompiler().compile(input, fstPath);
+    return FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+  }
+}
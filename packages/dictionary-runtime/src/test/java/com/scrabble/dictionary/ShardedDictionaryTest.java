@@ -0,0 +1,182 @@
+package com.scrabble.dictionary;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import com.scrabble.dictionary.format.ShardManifest;
+import com.scrabble.dictionary.format.ShardManifestIO;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedDictionaryTest {
+
+  @Test
+  void compilesOneShardPerInitialLetter() throws Exception {
+    // given
+    Path fstPath = Files.createTempDirectory("sharded-compile").resolve("osps.fst");
+    Path input = Files.write(fstPath.resolveSibling("words.txt"),
+        List.of("kot", "koty", "koc", "pies", "żuk"));
+    new DictionaryCompiler().compile(input, fstPath);
+
+    // when
+    DictionaryCompiler.Result result = new DictionaryCompiler(
+        CompileOptions.defaults().withShards(true).withOrdinals(true)).compile(input, fstPath);
+
+    // then
+    ShardManifest manifest = ShardManifestIO.read(DictionaryPaths.shardManifestPathFor(fstPath));
+    assertThat(result.shards()).isEqualTo(3);
+    assertThat(result.wordCount()).isEqualTo(5);
+    assertThat(result.gaddagEntryCount()).isEqualTo(17);
+    assertThat(manifest.shards()).extracting(ShardManifest.Shard::initial)
+        .containsExactly("K", "P", "Ż");
+    assertThat(manifest.shards()).extracting(ShardManifest.Shard::wordCount)
+        .containsExactly(3L, 1L, 1L);
+    assertThat(DictionaryMetaIO.read(DictionaryPaths.metaPathFor(fstPath)).layout())
+        .isEqualTo(DictionaryFormat.LAYOUT_SHARDED);
+    assertThat(fstPath).doesNotExist();
+    assertThat(DictionaryPaths.bloomPathFor(fstPath)).doesNotExist();
+    assertThat(DictionaryPaths.gaddagPathFor(fstPath)).exists();
+    assertThat(DictionaryPaths.shardDirectoryFor(fstPath).resolve("14.fst")).exists();
+    assertThatThrownBy(() -> FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("ShardedDictionary");
+  }
+
+  @Test
+  void switchesBackToOneArtifactWithoutLeavingScratchFiles() throws Exception {
+    // given
+    Path fstPath = compile("sharded-unshard", CompileOptions.defaults());
+    Path input = fstPath.resolveSibling("words.txt");
+
+    // when
+    new DictionaryCompiler().compile(input, fstPath);
+
+    // then
+    try (Stream<Path> files = Files.list(fstPath.getParent())) {
+      assertThat(files.map(path -> path.getFileName().toString()))
+          .noneMatch(name -> name.endsWith(".tmp"));
+    }
+    assertThat(DictionaryMetaIO.read(DictionaryPaths.metaPathFor(fstPath)).layout())
+        .isEqualTo(DictionaryFormat.LAYOUT_WORDS);
+    assertThat(DictionaryPaths.shardDirectoryFor(fstPath)).doesNotExist();
+    assertThat(fstPath).exists();
+    assertThat(DictionaryPaths.reachPathFor(fstPath)).exists();
+  }
+
+  @Test
+  void routesLookupsToTheShardOfTheFirstLetter() throws Exception {
+    // given
+    Path fstPath = compile("sharded-lookups", CompileOptions.defaults().withOrdinals(true));
+
+    try (ShardedDictionary dictionary =
+        ShardedDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath))) {
+      // when
+      List<String> words = dictionary.matching(WordPattern.wildcard("*")).toList();
+
+      // then
+      assertThat(dictionary.shardCount()).isEqualTo(3);
+      assertThat(words).containsExactly("KOC", "KOT", "KOTY", "PIES", "ŻUK");
+      assertThat(dictionary.contains("kot")).isTrue();
+      assertThat(dictionary.contains("ŻUK")).isTrue();
+      assertThat(dictionary.contains("KO")).isFalse();
+      assertThat(dictionary.contains("AS")).isFalse();
+      assertThat(dictionary.containsPrefix("PI")).isTrue();
+      assertThat(dictionary.containsPrefix("ŻA")).isFalse();
+      assertThat(dictionary.containsAll(List.of("KOTY", "PIES", "ŻUKI")).stream().toArray())
+          .containsExactly(0, 1);
+      assertThat(dictionary.crossCheckMask("KO", "")).isEqualTo(letterBits('C', 'T'));
+      assertThat(dictionary.crossCheckMask("", "UK")).isEqualTo(letterBits('Ż'));
+      for (int ordinal = 0; ordinal < words.size(); ordinal++) {
+        assertThat(dictionary.wordAt(ordinal)).isEqualTo(words.get(ordinal));
+        assertThat(dictionary.ordinal(words.get(ordinal))).isEqualTo(ordinal);
+      }
+      assertThat(dictionary.ordinal("KOTEK")).isEqualTo(-1);
+    }
+  }
+
+  @Test
+  void followsTheShardCursorOnceTheFirstLetterIsKnown() throws Exception {
+    // given
+    Path fstPath = compile("sharded-cursor", CompileOptions.defaults().withDawg(true));
+
+    try (ShardedDictionary dictionary =
+        ShardedDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath))) {
+      // when
+      PrefixCursor cursor = dictionary.cursor();
+      PrefixCursor missing = cursor.copy();
+      boolean kot = cursor.advance('K') && cursor.advance('O') && cursor.advance('T');
+      PrefixCursor branch = cursor.copy();
+      boolean koty = cursor.advance('Y');
+      boolean a = missing.advance('A');
+
+      // then
+      assertThat(kot).isTrue();
+      assertThat(branch.isWord()).isTrue();
+      assertThat(branch.maxRemaining()).isEqualTo(1);
+      assertThat(koty).isTrue();
+      assertThat(cursor.isWord()).isTrue();
+      assertThat(a).isFalse();
+      assertThat(missing.isDead()).isTrue();
+      assertThat(dictionary.anagrams(AnagramQuery.of("TOK", 0)).toList()).containsExactly("KOT");
+      assertThatThrownBy(() -> dictionary.wordAt(0))
+          .isInstanceOf(UnsupportedOperationException.class);
+    }
+  }
+
+  @Test
+  void rejectsShardsFromAnotherWordList() throws Exception {
+    // given
+    Path fstPath = compile("sharded-stale", CompileOptions.defaults());
+    Path manifestPath = DictionaryPaths.shardManifestPathFor(fstPath);
+    ShardManifestIO.write(manifestPath,
+        new ShardManifest("stale", ShardManifestIO.read(manifestPath).shards()));
+
+    // when / then
+    assertThatThrownBy(() -> ShardedDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("different word list");
+  }
+
+  @Test
+  void rejectsShardFilesOutsideTheShardDirectory() throws Exception {
+    // given
+    Path fstPath = compile("sharded-escape", CompileOptions.defaults());
+    Path manifestPath = DictionaryPaths.shardManifestPathFor(fstPath);
+    ShardManifest manifest = ShardManifestIO.read(manifestPath);
+    ShardManifest.Shard first = manifest.shards().get(0);
+    List<ShardManifest.Shard> shards = new ArrayList<>(manifest.shards());
+    shards.set(0, new ShardManifest.Shard(first.initial(), "../osps.fst", first.wordCount()));
+    ShardManifestIO.write(manifestPath, new ShardManifest(manifest.sourceSha256(), shards));
+
+    // when / then
+    assertThatThrownBy(() -> ShardedDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath)))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("outside the shard directory");
+  }
+
+  private static Path compile(String directory, CompileOptions options) throws Exception {
+    Path fstPath = Files.createTempDirectory(directory).resolve("osps.fst");
+    Path input = Files.write(fstPath.resolveSibling("words.txt"),
+        List.of("kot", "koty", "koc", "pies", "żuk"));
+    new DictionaryCompiler(options.withShards(true)).compile(input, fstPath);
+    return fstPath;
+  }
+
+  private static int letterBits(char... letters) {
+    int mask = 0;
+    for (char letter : letters) {
+      mask |= 1 << DictionaryAlphabet.POLISH.indexOf(letter);
+    }
+    return mask;
+  }
+}
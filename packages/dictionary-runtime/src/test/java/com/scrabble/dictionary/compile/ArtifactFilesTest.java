@@ -0,0 +1,42 @@
+package com.scrabble.dictionary.compile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArtifactFilesTest {
+
+  @Test
+  void replacesLiveDirectoryAndHandsBackTheOldOne() throws Exception {
+    // given
+    Path parent = Files.createTempDirectory("artifact-files");
+    Path live = Files.createDirectory(parent.resolve("words.shards"));
+    Files.writeString(live.resolve("01.fst"), "old");
+    Path built = Files.createTempDirectory(parent, "words.shards.");
+    Files.writeString(built.resolve("01.fst"), "new");
+
+    // when
+    Path retired = ArtifactFiles.replaceDirectory(built, live);
+
+    // then
+    assertThat(Files.readString(live.resolve("01.fst"))).isEqualTo("new");
+    assertThat(Files.readString(retired.resolve("01.fst"))).isEqualTo("old");
+    assertThat(Files.exists(built)).isFalse();
+  }
+
+  @Test
+  void deletesNestedDirectories() throws Exception {
+    // given
+    Path directory = Files.createTempDirectory("artifact-files");
+    Path nested = Files.createDirectories(directory.resolve("a").resolve("b"));
+    Files.writeString(nested.resolve("file"), "x");
+
+    // when
+    ArtifactFiles.deleteDirectory(directory);
+
+    // then
+    assertThat(Files.exists(directory)).isFalse();
+  }
+}
@@ -0,0 +1,36 @@
+package com.scrabble.dictionary.compile;
+
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExternalSortTest {
+
+  @Test
+  void mergesSpilledRunsInLabelOrderWithoutDuplicates() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("external-sort");
+    List<String> merged = new ArrayList<>();
+
+    try (ExternalSort sort = new ExternalSort(DictionaryAlphabet.LABEL_ORDER, 200, tempDir)) {
+      for (String entry : List.of("ŻUK", "AB", "ĄB", "KOT", "AB", "K^OT", "KA", "ZUK", "ĄB", "XA")) {
+        sort.add(entry);
+      }
+
+      // when
+      sort.forEachSorted(merged::add);
+
+      // then
+      assertThat(sort.spilledRuns()).isGreaterThan(1);
+    }
+    assertThat(merged).containsExactly("AB", "ĄB", "K^OT", "KA", "KOT", "ZUK", "ŻUK", "XA");
+    try (var files = Files.list(tempDir)) {
+      assertThat(files).isEmpty();
+    }
+  }
+}
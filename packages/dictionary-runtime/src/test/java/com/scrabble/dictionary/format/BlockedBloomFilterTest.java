@@ -0,0 +1,59 @@
+package com.scrabble.dictionary.format;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockedBloomFilterTest {
+
+  @Test
+  void keepsEveryWordAndRejectsMostMisses() throws Exception {
+    // given
+    List<String> words = words(0, 20_000);
+    BlockedBloomFilter filter = BlockedBloomFilter.create(words.size(), 0.01, "sha");
+    words.forEach(filter::add);
+    Path path = Files.createTempDirectory("bloom").resolve("words.bloom");
+    filter.write(path);
+
+    // when
+    BlockedBloomFilter loaded = BlockedBloomFilter.loadIfMatches(path, "sha");
+
+    // then
+    assertThat(loaded).isNotNull();
+    assertThat(words).allMatch(loaded::mightContain);
+    long falsePositives = words(20_000, 20_000).stream().filter(loaded::mightContain).count();
+    assertThat(falsePositives).isLessThan(200);
+    assertThat(BlockedBloomFilter.loadIfMatches(path, "other")).isNull();
+    assertThat(BlockedBloomFilter.loadIfMatches(path.resolveSibling("missing.bloom"), "sha"))
+        .isNull();
+  }
+
+  @Test
+  void hashesIncrementally() {
+    // given
+    long prefix = BlockedBloomFilter.hash("KO");
+
+    // when
+    long extended = BlockedBloomFilter.update(prefix, 'T');
+
+    // then
+    assertThat(extended).isEqualTo(BlockedBloomFilter.hash("KOT"));
+  }
+
+  private static List<String> words(int from, int count) {
+    String letters = DictionaryAlphabet.POLISH;
+    List<String> words = new ArrayList<>(count);
+    for (int i = from; i < from + count; i++) {
+      StringBuilder word = new StringBuilder();
+      for (int n = i; word.length() < 5; n /= letters.length()) {
+        word.append(letters.charAt(n % letters.length()));
+      }
+      words.add(word.toString());
+    }
+    return words;
+  }
+}
@@ -0,0 +1,81 @@
+package com.scrabble.dictionary.format;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlatDawgTest {
+  private static final int C = 4;
+  private static final int K = 14;
+  private static final int O = 20;
+  private static final int T = 26;
+  private static final int Y = 29;
+
+  @Test
+  void followsArcsAndFlagsCompleteWords() {
+    // given
+    FlatDawg dawg = kotKotyKoc();
+
+    // when
+    int ko = dawg.follow(dawg.follow(FlatDawg.ROOT, K), O);
+    int kot = dawg.follow(ko, T);
+
+    // then
+    assertThat(dawg.isTerminal(ko)).isFalse();
+    assertThat(dawg.isTerminal(kot)).isTrue();
+    assertThat(dawg.isTerminal(dawg.follow(ko, C))).isTrue();
+    assertThat(dawg.isTerminal(dawg.follow(kot, Y))).isTrue();
+    assertThat(dawg.follow(ko, O)).isEqualTo(FlatDawg.NONE);
+    assertThat(dawg.follow(dawg.follow(ko, C), Y)).isEqualTo(FlatDawg.NONE);
+    assertThat(dawg.firstArc(ko)).isEqualTo(dawg.follow(ko, C));
+    assertThat(dawg.isLast(dawg.follow(ko, T))).isTrue();
+    assertThat(dawg.isTerminal(FlatDawg.ROOT)).isFalse();
+  }
+
+  @Test
+  void readsWrittenArcsOnHeapAndMapped() throws Exception {
+    // given
+    Path path = Files.createTempDirectory("dawg").resolve("words.fst");
+    kotKotyKoc().write(path);
+
+    for (boolean mapped : new boolean[] {false, true}) {
+      // when
+      try (FlatDawg loaded = mapped ? FlatDawg.map(path) : FlatDawg.read(path)) {
+        // then
+        int ko = loaded.follow(loaded.follow(FlatDawg.ROOT, K), O);
+        assertThat(loaded.arcCount()).isEqualTo(5);
+        assertThat(loaded.sizeInBytes()).isEqualTo(20);
+        assertThat(loaded.isTerminal(loaded.follow(loaded.follow(ko, T), Y))).isTrue();
+        assertThat(loaded.label(loaded.firstArc(ko))).isEqualTo(C);
+      }
+    }
+  }
+
+  @Test
+  void rejectsLabelsOutsideTheEncodingAndForeignFiles() throws Exception {
+    // given
+    Path path = Files.createTempFile("not-a-dawg", ".fst");
+    Files.write(path, new byte[32]);
+
+    // when / then
+    assertThatThrownBy(() -> FlatDawg.encode(FlatDawg.MAX_LABEL + 1, false, true, 0))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> FlatDawg.read(path))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Not a DAWG file");
+  }
+
+  // KOT, KOTY and KOC: one node per run of sibling arcs, with labels from the Polish alphabet.
+  private static FlatDawg kotKotyKoc() {
+    return FlatDawg.of(new int[] {
+        FlatDawg.encode(K, false, true, 1),
+        FlatDawg.encode(O, false, true, 2),
+        FlatDawg.encode(C, true, false, 0),
+        FlatDawg.encode(T, true, true, 4),
+        FlatDawg.encode(Y, true, true, 0)
+    });
+  }
+}
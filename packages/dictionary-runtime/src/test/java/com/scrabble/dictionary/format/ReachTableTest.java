@@ -0,0 +1,78 @@
+package com.scrabble.dictionary.format;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReachTableTest {
+  private static final int C = 4;
+  private static final int K = 14;
+  private static final int O = 20;
+  private static final int T = 26;
+  private static final int Y = 29;
+
+  @Test
+  void boundsEveryNodeWithArcs() {
+    // given
+    FlatDawg dawg = kotKotyKoc();
+
+    // when
+    ReachTable reach = ReachTable.ofDawg(dawg, "sha");
+    int root = reach.indexOf(dawg.firstArc(FlatDawg.ROOT));
+    int ko = reach.indexOf(dawg.firstArc(dawg.follow(dawg.follow(FlatDawg.ROOT, K), O)));
+    int kot = reach.indexOf(dawg.firstArc(dawg.follow(dawg.follow(
+        dawg.follow(FlatDawg.ROOT, K), O), T)));
+
+    // then
+    assertThat(reach.size()).isEqualTo(4);
+    assertThat(reach.minRemaining(root)).isEqualTo(3);
+    assertThat(reach.maxRemaining(root)).isEqualTo(4);
+    assertThat(reach.reachableLetters(root)).isEqualTo(bits(K, O, C, T, Y));
+    assertThat(reach.minRemaining(ko)).isEqualTo(1);
+    assertThat(reach.maxRemaining(ko)).isEqualTo(2);
+    assertThat(reach.reachableLetters(ko)).isEqualTo(bits(C, T, Y));
+    assertThat(reach.minRemaining(kot)).isEqualTo(1);
+    assertThat(reach.maxRemaining(kot)).isEqualTo(1);
+    assertThat(reach.reachableLetters(kot)).isEqualTo(bits(Y));
+    assertThat(reach.indexOf(12345)).isEqualTo(ReachTable.UNKNOWN);
+  }
+
+  @Test
+  void loadsOnlyWhenTheWordListMatches() throws Exception {
+    // given
+    Path path = Files.createTempDirectory("reach").resolve("osps.reach");
+    ReachTable.ofDawg(kotKotyKoc(), "sha").write(path);
+
+    // when
+    ReachTable loaded = ReachTable.loadIfMatches(path, "sha");
+    ReachTable stale = ReachTable.loadIfMatches(path, "other");
+    ReachTable missing = ReachTable.loadIfMatches(path.resolveSibling("none.reach"), "sha");
+
+    // then
+    assertThat(loaded.size()).isEqualTo(4);
+    assertThat(loaded.maxRemaining(loaded.indexOf(0))).isEqualTo(4);
+    assertThat(stale).isNull();
+    assertThat(missing).isNull();
+  }
+
+  // KOT, KOTY and KOC, as in FlatDawgTest.
+  private static FlatDawg kotKotyKoc() {
+    return FlatDawg.of(new int[] {
+        FlatDawg.encode(K, false, true, 1),
+        FlatDawg.encode(O, false, true, 2),
+        FlatDawg.encode(C, true, false, 0),
+        FlatDawg.encode(T, true, true, 4),
+        FlatDawg.encode(Y, true, true, 0)
+    });
+  }
+
+  private static int bits(int... labels) {
+    int mask = 0;
+    for (int label : labels) {
+      mask |= 1 << (label - 1);
+    }
+    return mask;
+  }
+}
@@ -0,0 +1,214 @@
+package com.scrabble.dictionary.tools;
+
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.DictionaryLoadMode;
+import com.scrabble.dictionary.DictionaryNormalizer;
+import com.scrabble.dictionary.WordPattern;
+import com.scrabble.dictionary.format.DictionaryAlphabet;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+// Timed contains() workload against a compiled artifact: a seeded mix of sampled words and
+// near-miss misses, timed per lookup, reported as latency percentiles and throughput.
+final class BenchCommand {
+  static final Set<String> OPTIONS = Set.of(
+      "--fst", "--input", "--ops", "--warmup", "--threads", "--hit-ratio", "--mode");
+  static final long SEED = 42;
+  private static final int SAMPLE_SIZE = 65_536;
+  // Keeps the lookup results observable so the JIT cannot drop them.
+  private static volatile int sink;
+
+  private BenchCommand() { }
+
+  static int run(CommandArgs args, PrintStream out) throws Exception {
+    Path fstPath = args.requiredPath("--fst");
+    Path input = args.path("--input");
+    int ops = args.positiveInt("--ops", 1_000_000);
+    int warmup = args.positiveInt("--warmup", Math.min(ops, 200_000));
+    int threads = args.positiveInt("--threads", 1);
+    double hitRatio = args.ratio("--hit-ratio", 0.5);
+    DictionaryLoadMode mode = parseMode(args.value("--mode", "heap"));
+
+    try (LoadedDictionary loaded = LoadedDictionary.load(fstPath, mode)) {
+      Dictionary dictionary = loaded.dictionary();
+      Random random = new Random(SEED);
+      List<String> sample = input == null
+          ? sampleDictionary(dictionary, random)
+          : sampleWordlist(input, random);
+      if (sample.isEmpty()) {
+        throw new IllegalStateException("No words to sample");
+      }
+      String[] workload = workload(dictionary, sample, ops, hitRatio, random);
+
+      runThreads(dictionary, workload, warmup, threads);
+      long started = System.nanoTime();
+      long[] latencies = runThreads(dictionary, workload, ops, threads);
+      long elapsed = System.nanoTime() - started;
+
+      Arrays.sort(latencies);
+      String encoding = loaded.meta().usesDawg()
+          ? DictionaryFormat.ENCODING_DAWG
+          : DictionaryFormat.ENCODING_FST;
+      out.printf(Locale.ROOT,
+          "Benchmark: %d lookups (%d warm-up) on %d thread(s), %.0f%% hits, %s %s%n",
+          latencies.length, warmup, threads, hitRatio * 100, mode, encoding);
+      out.printf(Locale.ROOT, "  ops/sec: %.0f%n", latencies.length * 1e9 / elapsed);
+      out.printf(Locale.ROOT, "  p50: %s  p99: %s  p99.9: %s  max: %s%n",
+          formatNanos(percentile(latencies, 0.50)), formatNanos(percentile(latencies, 0.99)),
+          formatNanos(percentile(latencies, 0.999)), formatNanos(latencies[latencies.length - 1]));
+    }
+    return 0;
+  }
+
+  static long percentile(long[] sorted, double quantile) {
+    int index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+  }
+
+  // Each thread walks the workload from its own offset and times every lookup on its own.
+  private static long[] runThreads(
+      Dictionary dictionary,
+      String[] workload,
+      int ops,
+      int threads) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<long[]>> futures = new ArrayList<>(threads);
+      for (int t = 0; t < threads; t++) {
+        int count = ops / threads + (t < ops % threads ? 1 : 0);
+        int offset = (int) ((long) workload.length * t / threads);
+        futures.add(executor.submit(() -> timeLookups(dictionary, workload, offset, count)));
+      }
+      long[] latencies = new long[ops];
+      int filled = 0;
+      for (Future<long[]> future : futures) {
+        long[] part = future.get();
+        System.arraycopy(part, 0, latencies, filled, part.length);
+        filled += part.length;
+      }
+      return latencies;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static long[] timeLookups(
+      Dictionary dictionary,
+      String[] workload,
+      int offset,
+      int count) {
+    long[] latencies = new long[count];
+    int hits = 0;
+    for (int i = 0; i < count; i++) {
+      String word = workload[(offset + i) % workload.length];
+      long started = System.nanoTime();
+      if (dictionary.contains(word)) {
+        hits++;
+      }
+      latencies[i] = System.nanoTime() - started;
+    }
+    sink = hits;
+    return latencies;
+  }
+
+  private static String[] workload(
+      Dictionary dictionary,
+      List<String> sample,
+      int ops,
+      double hitRatio,
+      Random random) {
+    String[] workload = new String[Math.min(ops, SAMPLE_SIZE)];
+    for (int i = 0; i < workload.length; i++) {
+      String word = sample.get(random.nextInt(sample.size()));
+      workload[i] = random.nextDouble() < hitRatio ? word : miss(dictionary, word, random);
+    }
+    return workload;
+  }
+
+  // Swaps the last letter, then keeps appending letters until the word is not in the dictionary.
+  private static String miss(Dictionary dictionary, String word, Random random) {
+    StringBuilder candidate = new StringBuilder(word);
+    candidate.setCharAt(candidate.length() - 1, randomLetter(random));
+    while (dictionary.contains(candidate.toString())) {
+      candidate.append(randomLetter(random));
+    }
+    return candidate.toString();
+  }
+
+  private static char randomLetter(Random random) {
+    return DictionaryAlphabet.POLISH.charAt(random.nextInt(DictionaryAlphabet.POLISH.length()));
+  }
+
+  private static List<String> sampleDictionary(Dictionary dictionary, Random random) {
+    Reservoir reservoir = new Reservoir(random);
+    try (Stream<String> words = dictionary.matching(WordPattern.wildcard("*"))) {
+      words.forEach(reservoir::offer);
+    }
+    return reservoir.sample;
+  }
+
+  private static List<String> sampleWordlist(Path input, Random random) throws IOException {
+    DictionaryNormalizer normalizer = new DictionaryNormalizer();
+    Reservoir reservoir = new Reservoir(random);
+    try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String word = normalizer.normalize(line);
+        if (!word.isEmpty()) {
+          reservoir.offer(word);
+        }
+      }
+    }
+    return reservoir.sample;
+  }
+
+  private static DictionaryLoadMode parseMode(String value) {
+    try {
+      return DictionaryLoadMode.valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("--mode must be heap or mmap: " + value);
+    }
+  }
+
+  private static String formatNanos(long nanos) {
+    return String.format(Locale.ROOT, "%.2f us", nanos / 1000.0);
+  }
+
+  // Uniform sample of SAMPLE_SIZE words from a stream of unknown length.
+  private static final class Reservoir {
+    private final Random random;
+    private final List<String> sample = new ArrayList<>(SAMPLE_SIZE);
+    private long seen;
+
+    Reservoir(Random random) {
+      this.random = random;
+    }
+
+    void offer(String word) {
+      seen++;
+      if (sample.size() < SAMPLE_SIZE) {
+        sample.add(word);
+      } else {
+        long slot = (long) (random.nextDouble() * seen);
+        if (slot < SAMPLE_SIZE) {
+          sample.set((int) slot, word);
+        }
+      }
+    }
+  }
+}
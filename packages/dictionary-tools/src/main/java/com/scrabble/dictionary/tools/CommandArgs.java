@@ -0,0 +1,92 @@
+package com.scrabble.dictionary.tools;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// "--name value" options and bare "--name" flags after the command name. Parse failures are
+// IllegalArgumentExceptions, which the CLI reports as usage errors.
+final class CommandArgs {
+  private final Map<String, String> values;
+  private final Set<String> flags;
+
+  private CommandArgs(Map<String, String> values, Set<String> flags) {
+    this.values = values;
+    this.flags = flags;
+  }
+
+  static CommandArgs parse(String[] args, Set<String> options) {
+    return parse(args, options, Set.of());
+  }
+
+  static CommandArgs parse(String[] args, Set<String> options, Set<String> flagOptions) {
+    Map<String, String> values = new HashMap<>();
+    Set<String> flags = new HashSet<>();
+    for (int i = 1; i < args.length; i++) {
+      String arg = args[i];
+      if (options.contains(arg) && i + 1 < args.length) {
+        values.put(arg, args[++i]);
+      } else if (flagOptions.contains(arg)) {
+        flags.add(arg);
+      } else {
+        throw new IllegalArgumentException("Unexpected argument: " + arg);
+      }
+    }
+    return new CommandArgs(values, flags);
+  }
+
+  boolean flag(String option) {
+    return flags.contains(option);
+  }
+
+  Path requiredPath(String option) {
+    String value = values.get(option);
+    if (value == null) {
+      throw new IllegalArgumentException(option + " is required");
+    }
+    return Path.of(value);
+  }
+
+  Path path(String option) {
+    String value = values.get(option);
+    return value == null ? null : Path.of(value);
+  }
+
+  String value(String option, String defaultValue) {
+    return values.getOrDefault(option, defaultValue);
+  }
+
+  int positiveInt(String option, int defaultValue) {
+    String value = values.get(option);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      int parsed = Integer.parseInt(value.replace("_", ""));
+      if (parsed > 0) {
+        return parsed;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new IllegalArgumentException(option + " must be a positive integer: " + value);
+  }
+
+  double ratio(String option, double defaultValue) {
+    String value = values.get(option);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      double parsed = Double.parseDouble(value);
+      if (parsed >= 0 && parsed <= 1) {
+        return parsed;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new IllegalArgumentException(option + " must be between 0 and 1: " + value);
+  }
+}
@@ -0,0 +1,124 @@
+package com.scrabble.dictionary.tools;
+
+import com.scrabble.dictionary.compile.CompileOptions;
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import com.scrabble.dictionary.format.DictionaryPatchIO;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+
+// Compiles a word list, optionally with a patch folded in, and reports the entry counts,
+// build time and peak RSS.
+final class CompileCommand {
+  static final Set<String> OPTIONS =
+      Set.of("--input", "--output", "--memory", "--temp-dir", "--bloom-fpp", "--patch");
+  static final Set<String> FLAGS = Set.of("--ordinals", "--dawg", "--shards", "--no-gaddag");
+
+  private CompileCommand() { }
+
+  static int run(CommandArgs args, PrintStream out) throws IOException {
+    Path inputPath = args.path("--input");
+    Path outputPath = args.path("--output");
+    if (inputPath == null || outputPath == null) {
+      throw new IllegalArgumentException("--input and --output are required");
+    }
+    String memory = args.value("--memory", null);
+    long memoryLimit = memory == null
+        ? CompileOptions.DEFAULT_MEMORY_LIMIT_BYTES
+        : parseSize(memory);
+    if (memoryLimit < CompileOptions.MIN_MEMORY_LIMIT_BYTES) {
+      throw new IllegalArgumentException("--memory must be at least "
+          + formatMegabytes(CompileOptions.MIN_MEMORY_LIMIT_BYTES));
+    }
+    String bloomRate = args.value("--bloom-fpp", null);
+    CompileOptions options = new CompileOptions(
+        memoryLimit,
+        args.path("--temp-dir"),
+        bloomRate == null ? CompileOptions.DEFAULT_BLOOM_FALSE_POSITIVE_RATE : parseRate(bloomRate),
+        args.flag("--ordinals"),
+        args.flag("--dawg"),
+        args.flag("--shards"),
+        !args.flag("--no-gaddag"));
+    Path patchPath = args.path("--patch");
+    DictionaryPatch patch = patchPath == null ? null : DictionaryPatchIO.read(patchPath);
+
+    long started = System.nanoTime();
+    DictionaryCompiler.Result result =
+        new DictionaryCompiler(options).compile(inputPath, outputPath, patch);
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+    out.printf(Locale.ROOT,
+        "Compiled %d words (%d GADDAG entries, %d spilled runs, %s Bloom filter%s)"
+            + " in %d ms, peak RSS %s%n",
+        result.wordCount(), result.gaddagEntryCount(), result.spilledRuns(),
+        formatMegabytes(result.bloomFilterBytes()),
+        result.shards() == 0 ? "" : ", " + result.shards() + " shards", elapsedMillis,
+        formatMegabytes(peakResidentBytes()));
+    return 0;
+  }
+
+  // VmHWM from /proc on Linux; elsewhere the summed peak of the JVM memory pools.
+  static long peakResidentBytes() {
+    Path status = Path.of("/proc/self/status");
+    if (Files.isReadable(status)) {
+      try {
+        for (String line : Files.readAllLines(status)) {
+          if (line.startsWith("VmHWM:")) {
+            String kilobytes = line.substring("VmHWM:".length()).replace("kB", "").trim();
+            return Long.parseLong(kilobytes) * 1024;
+          }
+        }
+      } catch (IOException | NumberFormatException e) {
+        // fall back to the JVM's own view
+      }
+    }
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getPeakUsage() != null) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+
+  static long parseSize(String value) {
+    String size = value.trim().toLowerCase(Locale.ROOT);
+    long multiplier = 1;
+    if (size.endsWith("k")) {
+      multiplier = 1024;
+    } else if (size.endsWith("m")) {
+      multiplier = 1024 * 1024;
+    } else if (size.endsWith("g")) {
+      multiplier = 1024 * 1024 * 1024;
+    }
+    if (multiplier > 1) {
+      size = size.substring(0, size.length() - 1);
+    }
+    try {
+      return Math.multiplyExact(Long.parseLong(size), multiplier);
+    } catch (NumberFormatException | ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid size: " + value);
+    }
+  }
+
+  private static double parseRate(String value) {
+    try {
+      double rate = Double.parseDouble(value);
+      if (rate >= 0 && rate < 1) {
+        return rate;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new IllegalArgumentException("--bloom-fpp must be a rate in [0, 1): " + value);
+  }
+
+  static String formatMegabytes(long bytes) {
+    return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024.0));
+  }
+}
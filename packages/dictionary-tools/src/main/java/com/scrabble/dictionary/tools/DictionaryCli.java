@@ -1,8 +1,6 @@
 package com.scrabble.dictionary.tools;
 
-import com.scrabble.dictionary.compile.DictionaryCompiler;
 import java.io.PrintStream;
-import java.nio.file.Path;
 
 public final class DictionaryCli {
   public static void main(String[] args) throws Exception {
@@ -18,57 +16,46 @@ public final class DictionaryCli {
       return 0;
     }
 
-    if (!"compile".equals(args[0])) {
-      err.println("Unknown command: " + args[0]);
-      printHelp(out);
-      return 2;
-    }
-
-    Args parsed;
     try {
-      parsed = Args.parse(args);
+      return switch (args[0]) {
+        case "compile" -> CompileCommand.run(
+            CommandArgs.parse(args, CompileCommand.OPTIONS, CompileCommand.FLAGS), out);
+        case "stats" -> StatsCommand.run(CommandArgs.parse(args, StatsCommand.OPTIONS), out);
+        case "bench" -> BenchCommand.run(CommandArgs.parse(args, BenchCommand.OPTIONS), out);
+        case "verify" -> VerifyCommand.run(CommandArgs.parse(args, VerifyCommand.OPTIONS), out);
+        case "patch" -> PatchCommand.run(CommandArgs.parse(args, PatchCommand.OPTIONS), out);
+        default -> {
+          err.println("Unknown command: " + args[0]);
+          printHelp(out);
+          yield 2;
+        }
+      };
     } catch (IllegalArgumentException e) {
       err.println(e.getMessage());
       printHelp(out);
       return 2;
-    }
-
-    DictionaryCompiler compiler = new DictionaryCompiler();
-    try {
-      compiler.compile(parsed.inputPath, parsed.outputPath);
-      return 0;
     } catch (Exception e) {
-      err.println("Compilation failed: " + e.getMessage());
+      err.println(capitalize(args[0]) + " failed: " + e.getMessage());
       return 1;
     }
   }
 
   private static void printHelp(PrintStream out) {
     out.println("Usage:");
-    out.println("  dictionary-cli compile --input <wordlist> --output <fst>");
+    out.println("  dictionary-cli compile --input <wordlist> --output <fst>"
+        + " [--memory <size, e.g. 256m>] [--temp-dir <dir>]"
+        + " [--bloom-fpp <rate, 0 to skip>] [--ordinals | --dawg] [--shards] [--no-gaddag]"
+        + " [--patch <patch to fold in>]");
+    out.println("  dictionary-cli stats --fst <fst>");
+    out.println("  dictionary-cli bench --fst <fst> [--input <wordlist>] [--ops <n>]"
+        + " [--warmup <n>] [--threads <n>] [--hit-ratio <0..1>] [--mode heap|mmap]");
+    out.println("  dictionary-cli verify --fst <fst> --input <wordlist>"
+        + " [--patch <folded patch>]");
+    out.println("  dictionary-cli patch --fst <fst> [--add <wordlist>] [--remove <wordlist>]"
+        + " [--output <patch>]");
   }
 
-  private record Args(Path inputPath, Path outputPath) {
-    private static Args parse(String[] args) {
-      Path input = null;
-      Path output = null;
-
-      for (int i = 1; i < args.length; i++) {
-        String arg = args[i];
-        if ("--input".equals(arg) && i + 1 < args.length) {
-          input = Path.of(args[++i]);
-        } else if ("--output".equals(arg) && i + 1 < args.length) {
-          output = Path.of(args[++i]);
-        } else {
-          throw new IllegalArgumentException("Unexpected argument: " + arg);
-        }
-      }
-
-      if (input == null || output == null) {
-        throw new IllegalArgumentException("--input and --output are required");
-      }
-
-      return new Args(input, output);
-    }
+  private static String capitalize(String command) {
+    return Character.toUpperCase(command.charAt(0)) + command.substring(1);
   }
 }
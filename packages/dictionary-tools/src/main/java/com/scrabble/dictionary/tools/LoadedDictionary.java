@@ -0,0 +1,39 @@
+package com.scrabble.dictionary.tools;
+
+import com.scrabble.dictionary.DawgDictionary;
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.DictionaryLoadMode;
+import com.scrabble.dictionary.FstDictionary;
+import com.scrabble.dictionary.ShardedDictionary;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// A word artifact in whichever encoding and layout its meta names.
+record LoadedDictionary(Dictionary dictionary, DictionaryMeta meta, Closeable resources)
+    implements Closeable {
+
+  static LoadedDictionary load(Path path, DictionaryLoadMode mode) throws IOException {
+    Path metaPath = DictionaryPaths.metaPathFor(path);
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+    if (DictionaryFormat.LAYOUT_SHARDED.equals(meta.layout())) {
+      ShardedDictionary sharded = ShardedDictionary.load(path, metaPath, mode);
+      return new LoadedDictionary(sharded, meta, sharded);
+    }
+    if (meta.usesDawg()) {
+      DawgDictionary dawg = DawgDictionary.load(path, metaPath, mode);
+      return new LoadedDictionary(dawg, meta, dawg);
+    }
+    FstDictionary fst = FstDictionary.load(path, metaPath, mode);
+    return new LoadedDictionary(fst, meta, fst);
+  }
+
+  @Override
+  public void close() throws IOException {
+    resources.close();
+  }
+}
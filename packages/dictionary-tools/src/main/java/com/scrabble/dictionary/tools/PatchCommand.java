@@ -0,0 +1,82 @@
+package com.scrabble.dictionary.tools;
+
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.DictionaryLoadMode;
+import com.scrabble.dictionary.DictionaryNormalizer;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import com.scrabble.dictionary.format.DictionaryPatchIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Adds and bans words by writing a small overlay next to the compiled base instead of
+// recompiling it. Runs merge into the existing overlay; words the base already agrees with
+// are left out, and a later add or remove cancels an earlier one.
+final class PatchCommand {
+  static final Set<String> OPTIONS = Set.of("--fst", "--add", "--remove", "--output");
+
+  private PatchCommand() { }
+
+  static int run(CommandArgs args, PrintStream out) throws IOException {
+    Path fstPath = args.requiredPath("--fst");
+    Path addPath = args.path("--add");
+    Path removePath = args.path("--remove");
+    if (addPath == null && removePath == null) {
+      throw new IllegalArgumentException("--add or --remove is required");
+    }
+    Path patchPath = args.path("--output") == null
+        ? DictionaryPaths.patchPathFor(fstPath)
+        : args.path("--output");
+
+    DictionaryPatch patch;
+    try (LoadedDictionary loaded = LoadedDictionary.load(fstPath, DictionaryLoadMode.HEAP)) {
+      String baseSha256 = loaded.meta().sourceSha256();
+      DictionaryPatch previous = Files.exists(patchPath)
+          ? DictionaryPatchIO.read(patchPath)
+          : new DictionaryPatch(baseSha256, List.of(), List.of());
+      if (!previous.baseSha256().equals(baseSha256)) {
+        throw new IllegalStateException(patchPath + " was made for another base;"
+            + " fold it in with compile --patch first");
+      }
+      Dictionary base = loaded.dictionary();
+      Set<String> added = new TreeSet<>(previous.added());
+      Set<String> removed = new TreeSet<>(previous.removed());
+      for (String word : readWords(addPath)) {
+        removed.remove(word);
+        if (!base.contains(word)) {
+          added.add(word);
+        }
+      }
+      for (String word : readWords(removePath)) {
+        added.remove(word);
+        if (base.contains(word)) {
+          removed.add(word);
+        }
+      }
+      patch = new DictionaryPatch(baseSha256, List.copyOf(added), List.copyOf(removed));
+    }
+    DictionaryPatchIO.write(patchPath, patch);
+
+    out.printf(Locale.ROOT, "Patched %s: %d added, %d removed words in %s%n",
+        fstPath.getFileName(), patch.added().size(), patch.removed().size(), patchPath);
+    return 0;
+  }
+
+  private static List<String> readWords(Path path) throws IOException {
+    if (path == null) {
+      return List.of();
+    }
+    DictionaryNormalizer normalizer = new DictionaryNormalizer();
+    return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+        .map(normalizer::normalize)
+        .filter(word -> !word.isEmpty())
+        .toList();
+  }
+}
@@ -0,0 +1,73 @@
+package com.scrabble.dictionary.tools;
+
+import com.scrabble.dictionary.DictionaryLoadMode;
+import com.scrabble.dictionary.DictionaryStats;
+import com.scrabble.dictionary.format.DictionaryFormat;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Structure and content of a compiled dictionary in any layout: automaton nodes, arcs and
+// bytes, artifact sizes, word lengths and letter frequencies. Shards are summed.
+final class StatsCommand {
+  static final Set<String> OPTIONS = Set.of("--fst");
+  private static final int HISTOGRAM_WIDTH = 40;
+
+  private StatsCommand() { }
+
+  static int run(CommandArgs args, PrintStream out) throws IOException {
+    Path fstPath = args.requiredPath("--fst");
+
+    DictionaryMeta meta;
+    DictionaryStats stats;
+    try (LoadedDictionary loaded = LoadedDictionary.load(fstPath, DictionaryLoadMode.HEAP)) {
+      meta = loaded.meta();
+      stats = DictionaryStats.of(loaded.dictionary());
+    }
+    String encoding = meta.usesDawg() ? "DAWG" : "FST";
+
+    out.printf(Locale.ROOT, "Dictionary: %s (format v%d, %s, %s %s%s)%n", fstPath,
+        meta.formatVersion(), meta.normalisation(), meta.layout().toLowerCase(Locale.ROOT),
+        encoding, meta.hasOrdinals() ? ", ordinals" : "");
+    out.printf(Locale.ROOT, "  words: %d%n", stats.wordCount());
+    out.printf(Locale.ROOT, "  nodes: %d%n", stats.nodeCount());
+    out.printf(Locale.ROOT, "  arcs:  %d (%.2f per node)%n", stats.arcCount(),
+        stats.nodeCount() == 0 ? 0.0 : (double) stats.arcCount() / stats.nodeCount());
+    out.printf(Locale.ROOT, "  %s bytes: %d (%.2f per word)%n", encoding, stats.fstBytes(),
+        stats.wordCount() == 0 ? 0.0 : (double) stats.fstBytes() / stats.wordCount());
+    if (DictionaryFormat.LAYOUT_SHARDED.equals(meta.layout())) {
+      printFileSize(out, "shard manifest", DictionaryPaths.shardManifestPathFor(fstPath));
+    } else {
+      printFileSize(out, "words " + encoding, fstPath);
+    }
+    printFileSize(out, "GADDAG FST", DictionaryPaths.gaddagPathFor(fstPath));
+    printFileSize(out, "Bloom filter", DictionaryPaths.bloomPathFor(fstPath));
+
+    out.println("Word lengths:");
+    long longest = stats.wordLengths().values().stream().mapToLong(Long::longValue).max().orElse(1);
+    for (Map.Entry<Integer, Long> entry : stats.wordLengths().entrySet()) {
+      out.printf(Locale.ROOT, "  %3d %10d %s%n", entry.getKey(), entry.getValue(),
+          "#".repeat((int) Math.max(1, entry.getValue() * HISTOGRAM_WIDTH / longest)));
+    }
+
+    long letters = stats.letterFrequencies().values().stream().mapToLong(Long::longValue).sum();
+    out.println("Letter frequencies:");
+    stats.letterFrequencies().entrySet().stream()
+        .sorted(Map.Entry.<Character, Long>comparingByValue().reversed())
+        .forEach(entry -> out.printf(Locale.ROOT, "  %c %10d %6.2f%%%n",
+            entry.getKey(), entry.getValue(), 100.0 * entry.getValue() / letters));
+    return 0;
+  }
+
+  private static void printFileSize(PrintStream out, String label, Path path) throws IOException {
+    if (Files.exists(path)) {
+      out.printf(Locale.ROOT, "  %s: %d bytes (%s)%n", label, Files.size(path), path.getFileName());
+    }
+  }
+}
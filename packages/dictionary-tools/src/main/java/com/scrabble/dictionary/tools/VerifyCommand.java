@@ -0,0 +1,193 @@
+package com.scrabble.dictionary.tools;
+
+import com.scrabble.dictionary.Dictionary;
+import com.scrabble.dictionary.DictionaryLoadMode;
+import com.scrabble.dictionary.DictionaryNormalizer;
+import com.scrabble.dictionary.format.DictionaryMeta;
+import com.scrabble.dictionary.format.DictionaryMetaIO;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import com.scrabble.dictionary.format.DictionaryPatchIO;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Round-trips every source word through a compiled artifact, normalising and looking up each
+// chunk of lines in parallel. With ordinal outputs it also checks wordAt(ordinal(word)) and
+// that every ordinal is reached, which proves the FST holds no words beyond the source. A build
+// that folded in a patch is checked against the source with that patch applied.
+final class VerifyCommand {
+  static final Set<String> OPTIONS = Set.of("--fst", "--input", "--patch");
+  private static final int CHUNK_LINES = 65_536;
+  private static final int REPORTED_WORDS = 10;
+
+  private VerifyCommand() { }
+
+  static int run(CommandArgs args, PrintStream out) throws IOException {
+    Path fstPath = args.requiredPath("--fst");
+    Path input = args.requiredPath("--input");
+    Path metaPath = DictionaryPaths.metaPathFor(fstPath);
+    DictionaryMeta meta = DictionaryMetaIO.read(metaPath);
+    DictionaryPatch patch = foldedPatch(args.path("--patch"), meta);
+
+    long started = System.nanoTime();
+    Report report;
+    try (LoadedDictionary loaded = LoadedDictionary.load(fstPath, DictionaryLoadMode.MMAP)) {
+      report = new Report(loaded.dictionary(), meta.hasOrdinals(), patch);
+      MessageDigest digest = sha256();
+      try (InputStream stream = Files.newInputStream(input);
+          DigestInputStream digestStream = new DigestInputStream(stream, digest);
+          BufferedReader reader = new BufferedReader(
+              new InputStreamReader(digestStream, StandardCharsets.UTF_8))) {
+        List<String> chunk = new ArrayList<>(CHUNK_LINES);
+        String line;
+        while ((line = reader.readLine()) != null) {
+          chunk.add(line);
+          if (chunk.size() == CHUNK_LINES) {
+            report.check(chunk);
+            chunk.clear();
+          }
+        }
+        report.check(chunk);
+      }
+      if (patch != null) {
+        report.check(patch.added());
+      }
+      report.sourceSha256 = HexFormat.of().formatHex(digest.digest());
+    }
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+    boolean shaMatches = report.sourceSha256.equals(meta.sourceSha256());
+    long unreached = meta.hasOrdinals() ? meta.wordCount() - report.reached.cardinality() : 0;
+    out.printf(Locale.ROOT, "Verified %d source words against %s in %d ms on %d cores%n",
+        report.words, fstPath.getFileName(), elapsedMillis,
+        Runtime.getRuntime().availableProcessors());
+    out.printf(Locale.ROOT, "  missing: %d%s%n", report.missing, sampleOf(report.missingWords));
+    if (meta.hasOrdinals()) {
+      out.printf(Locale.ROOT, "  ordinal round-trip failures: %d%s%n",
+          report.roundTripFailures, sampleOf(report.roundTripWords));
+      out.printf(Locale.ROOT, "  dictionary words not in the source: %d%n", unreached);
+    } else {
+      out.println("  ordinal round-trip: skipped (compiled without --ordinals)");
+    }
+    out.printf(Locale.ROOT, "  source SHA-256: %s%n", shaMatches
+        ? "matches " + metaPath.getFileName()
+        : "differs from " + metaPath.getFileName() + " (" + meta.sourceSha256() + ")");
+    boolean patchGiven = meta.patchSha256() == null || patch != null;
+    if (meta.patchSha256() != null) {
+      out.printf(Locale.ROOT, "  folded patch: %s%n", patchGiven
+          ? "applied (" + patch.added().size() + " added, " + patch.removed().size() + " removed)"
+          : "missing, the build folded one in; pass it with --patch");
+    }
+
+    boolean passed = report.missing == 0
+        && report.roundTripFailures == 0
+        && unreached == 0
+        && shaMatches
+        && patchGiven;
+    out.println(passed ? "OK" : "FAILED");
+    return passed ? 0 : 1;
+  }
+
+  // The patch must be the one the meta says was folded in, and made for the same source.
+  private static DictionaryPatch foldedPatch(Path patchPath, DictionaryMeta meta)
+      throws IOException {
+    if (patchPath == null) {
+      return null;
+    }
+    DictionaryPatch patch = DictionaryPatchIO.read(patchPath);
+    if (!patch.sha256().equals(meta.patchSha256())) {
+      throw new IllegalStateException(patchPath + " is not the patch folded into this build");
+    }
+    return patch;
+  }
+
+  private static String sampleOf(List<String> words) {
+    return words.isEmpty() ? "" : " " + words;
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private record Check(String word, boolean found, int ordinal) { }
+
+  private static final class Report {
+    private final Dictionary dictionary;
+    private final boolean ordinals;
+    private final List<String> removed;
+    private final DictionaryNormalizer normalizer = new DictionaryNormalizer();
+    private final BitSet reached = new BitSet();
+    private final List<String> missingWords = new ArrayList<>();
+    private final List<String> roundTripWords = new ArrayList<>();
+    private long words;
+    private long missing;
+    private long roundTripFailures;
+    private String sourceSha256;
+
+    Report(Dictionary dictionary, boolean ordinals, DictionaryPatch patch) {
+      this.dictionary = dictionary;
+      this.ordinals = ordinals;
+      this.removed = patch == null ? List.of() : patch.removed();
+    }
+
+    // Source words the folded patch removed are skipped.
+    void check(List<String> lines) {
+      List<Check> checks = lines.parallelStream()
+          .map(normalizer::normalize)
+          .filter(word -> !word.isEmpty())
+          .filter(word -> Collections.binarySearch(removed, word) < 0)
+          .map(this::check)
+          .toList();
+      for (Check check : checks) {
+        words++;
+        if (!check.found()) {
+          missing++;
+          addSample(missingWords, check.word());
+        } else if (ordinals && check.ordinal() < 0) {
+          roundTripFailures++;
+          addSample(roundTripWords, check.word());
+        } else if (check.ordinal() >= 0) {
+          reached.set(check.ordinal());
+        }
+      }
+    }
+
+    private Check check(String word) {
+      if (!dictionary.contains(word)) {
+        return new Check(word, false, -1);
+      }
+      if (!ordinals) {
+        return new Check(word, true, -1);
+      }
+      int ordinal = dictionary.ordinal(word);
+      boolean roundTrips = ordinal >= 0 && word.equals(dictionary.wordAt(ordinal));
+      return new Check(word, true, roundTrips ? ordinal : -1);
+    }
+
+    private static void addSample(List<String> sample, String word) {
+      if (sample.size() < REPORTED_WORDS) {
+        sample.add(word);
+      }
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package com.scrabble.dictionary.tools;
 
 import com.scrabble.dictionary.FstDictionary;
+import com.scrabble.dictionary.format.DictionaryPatch;
+import com.scrabble.dictionary.format.DictionaryPatchIO;
 import com.scrabble.dictionary.format.DictionaryPaths;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
@@ -36,6 +38,360 @@ class DictionaryCliTest {
     assertThat(dictionary.contains("ZAJAWIAŁEŚ")).isTrue();
   }
 
+  @Test
+  void reportsBuildTimeAndPeakRssUnderMemoryLimit() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("dictionary-cli-memory");
+    Path wordlist = tempDir.resolve("wordlist.txt");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Files.writeString(wordlist, String.join(System.lineSeparator(), "kot", "KOT", "żuk"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int exitCode = DictionaryCli.run(new String[] {
+        "compile",
+        "--input", wordlist.toString(),
+        "--output", fstPath.toString(),
+        "--memory", "16m",
+        "--temp-dir", tempDir.resolve("spill").toString(),
+        "--bloom-fpp", "0.001",
+        "--ordinals"
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(exitCode).isZero();
+    assertThat(out.toString())
+        .contains("Compiled 2 words (6 GADDAG entries")
+        .contains("Bloom filter")
+        .contains("peak RSS");
+    assertThat(DictionaryPaths.bloomPathFor(fstPath)).exists();
+    try (FstDictionary dictionary =
+        FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath))) {
+      assertThat(dictionary.wordAt(dictionary.ordinal("żuk"))).isEqualTo("ŻUK");
+    }
+    assertThat(CompileCommand.peakResidentBytes()).isPositive();
+  }
+
+  @Test
+  void printsStatsForCompiledDictionary() throws Exception {
+    // given
+    Path fstPath = compile("dictionary-cli-stats", "kot", "koty", "koc");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int exitCode = DictionaryCli.run(new String[] {"stats", "--fst", fstPath.toString()},
+        new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(exitCode).isZero();
+    assertThat(out.toString())
+        .contains("words: 3")
+        .contains("nodes: 4")
+        .contains("arcs:  5")
+        .contains("Word lengths:")
+        .contains("Letter frequencies:")
+        .contains("GADDAG FST");
+  }
+
+  @Test
+  void benchmarksLookupsWithLatencyPercentiles() throws Exception {
+    // given
+    Path fstPath = compile("dictionary-cli-bench", "kot", "koty", "koc", "żuk");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int exitCode = DictionaryCli.run(new String[] {
+        "bench", "--fst", fstPath.toString(),
+        "--ops", "2000", "--warmup", "500", "--threads", "2", "--hit-ratio", "0.9"
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(exitCode).isZero();
+    assertThat(out.toString())
+        .contains("Benchmark: 2000 lookups (500 warm-up) on 2 thread(s), 90% hits")
+        .contains("ops/sec:")
+        .contains("p50:")
+        .contains("p99:");
+  }
+
+  @Test
+  void compilesBenchmarksAndVerifiesDawgArtifacts() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("dictionary-cli-dawg");
+    Path wordlist = tempDir.resolve("wordlist.txt");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Files.writeString(wordlist, String.join(System.lineSeparator(), "kot", "koty", "żuk"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int compiled = DictionaryCli.run(new String[] {
+        "compile", "--input", wordlist.toString(), "--output", fstPath.toString(), "--dawg"
+    }, new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+    int benchmarked = DictionaryCli.run(new String[] {
+        "bench", "--fst", fstPath.toString(), "--ops", "1000", "--mode", "mmap"
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+    int verified = DictionaryCli.run(new String[] {
+        "verify", "--fst", fstPath.toString(), "--input", wordlist.toString()
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+    int stats = DictionaryCli.run(new String[] {"stats", "--fst", fstPath.toString()},
+        new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(compiled).isZero();
+    assertThat(benchmarked).isZero();
+    assertThat(verified).isZero();
+    assertThat(stats).isZero();
+    assertThat(out.toString())
+        .contains("MMAP DAWG")
+        .contains("words: 3")
+        .contains("nodes: 6")
+        .contains("arcs:  7")
+        .contains("DAWG bytes: 28")
+        .contains("missing: 0")
+        .contains("OK");
+  }
+
+  @Test
+  void compilesAndVerifiesShardedArtifacts() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("dictionary-cli-shards");
+    Path wordlist = tempDir.resolve("wordlist.txt");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Files.writeString(wordlist, String.join(System.lineSeparator(), "kot", "koty", "żuk"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int compiled = DictionaryCli.run(new String[] {
+        "compile", "--input", wordlist.toString(), "--output", fstPath.toString(),
+        "--shards", "--ordinals"
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+    int verified = DictionaryCli.run(new String[] {
+        "verify", "--fst", fstPath.toString(), "--input", wordlist.toString()
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+    int stats = DictionaryCli.run(new String[] {"stats", "--fst", fstPath.toString()},
+        new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(compiled).isZero();
+    assertThat(verified).isZero();
+    assertThat(stats).isZero();
+    assertThat(DictionaryPaths.shardManifestPathFor(fstPath)).exists();
+    assertThat(out.toString())
+        .contains("2 shards")
+        .contains("sharded FST")
+        .contains("words: 3")
+        .contains("shard manifest")
+        .contains("missing: 0")
+        .contains("ordinal round-trip failures: 0")
+        .contains("OK");
+  }
+
+  @Test
+  void skipsTheGaddagAndRemovesAStaleOne() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("dictionary-cli-no-gaddag");
+    Path wordlist = tempDir.resolve("wordlist.txt");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Files.writeString(wordlist, String.join(System.lineSeparator(), "kot", "koty"));
+    String[] compile = {"compile", "--input", wordlist.toString(), "--output", fstPath.toString()};
+    DictionaryCli.run(compile, new PrintStream(new ByteArrayOutputStream()),
+        new PrintStream(new ByteArrayOutputStream()));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int exitCode = DictionaryCli.run(new String[] {
+        "compile", "--input", wordlist.toString(), "--output", fstPath.toString(), "--no-gaddag"
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    Path gaddagPath = DictionaryPaths.gaddagPathFor(fstPath);
+    assertThat(exitCode).isZero();
+    assertThat(out.toString()).contains("Compiled 2 words (0 GADDAG entries");
+    assertThat(gaddagPath).doesNotExist();
+    assertThat(DictionaryPaths.metaPathFor(gaddagPath)).doesNotExist();
+    assertThat(fstPath).exists();
+  }
+
+  @Test
+  void takesPercentilesFromSortedLatencies() {
+    // given
+    long[] latencies = new long[100];
+    for (int i = 0; i < latencies.length; i++) {
+      latencies[i] = i + 1;
+    }
+
+    // when / then
+    assertThat(BenchCommand.percentile(latencies, 0.50)).isEqualTo(50);
+    assertThat(BenchCommand.percentile(latencies, 0.99)).isEqualTo(99);
+    assertThat(BenchCommand.percentile(latencies, 1.0)).isEqualTo(100);
+  }
+
+  @Test
+  void verifiesEverySourceWordRoundTrips() throws Exception {
+    // given
+    Path tempDir = Files.createTempDirectory("dictionary-cli-verify");
+    Path wordlist = tempDir.resolve("wordlist.txt");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Files.writeString(wordlist, String.join(System.lineSeparator(), "kot", "KOT", "żuk", "koc"));
+    DictionaryCli.run(new String[] {
+        "compile", "--input", wordlist.toString(), "--output", fstPath.toString(), "--ordinals"
+    }, new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int exitCode = DictionaryCli.run(new String[] {
+        "verify", "--fst", fstPath.toString(), "--input", wordlist.toString()
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(exitCode).isZero();
+    assertThat(out.toString())
+        .contains("Verified 4 source words")
+        .contains("missing: 0")
+        .contains("ordinal round-trip failures: 0")
+        .contains("dictionary words not in the source: 0")
+        .contains("source SHA-256: matches")
+        .contains("OK");
+  }
+
+  @Test
+  void failsVerificationAgainstAnotherWordlist() throws Exception {
+    // given
+    Path fstPath = compile("dictionary-cli-verify-fail", "kot", "koc");
+    Path other = fstPath.resolveSibling("other.txt");
+    Files.writeString(other, String.join(System.lineSeparator(), "kot", "pies"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int exitCode = DictionaryCli.run(new String[] {
+        "verify", "--fst", fstPath.toString(), "--input", other.toString()
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(exitCode).isEqualTo(1);
+    assertThat(out.toString())
+        .contains("missing: 1 [PIES]")
+        .contains("ordinal round-trip: skipped")
+        .contains("source SHA-256: differs")
+        .contains("FAILED");
+  }
+
+  @Test
+  void writesAndMergesPatchesThenFoldsThemIn() throws Exception {
+    // given
+    Path fstPath = compile("dictionary-cli-patch", "kot", "koc", "pies");
+    Path add = Files.writeString(fstPath.resolveSibling("add.txt"), "żuk\nkot\nkotek");
+    Path remove = Files.writeString(fstPath.resolveSibling("remove.txt"), "koc\nlis");
+    Path undo = Files.writeString(fstPath.resolveSibling("undo.txt"), "kotek");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // when
+    int firstExit = DictionaryCli.run(new String[] {
+        "patch", "--fst", fstPath.toString(), "--add", add.toString(), "--remove", remove.toString()
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+    int secondExit = DictionaryCli.run(new String[] {
+        "patch", "--fst", fstPath.toString(), "--remove", undo.toString()
+    }, new PrintStream(out), new PrintStream(new ByteArrayOutputStream()));
+    DictionaryPatch patch = DictionaryPatchIO.read(DictionaryPaths.patchPathFor(fstPath));
+    int foldExit = DictionaryCli.run(new String[] {
+        "compile", "--input", fstPath.resolveSibling("wordlist.txt").toString(),
+        "--output", fstPath.toString(), "--patch", DictionaryPaths.patchPathFor(fstPath).toString()
+    }, new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+    Path folded = fstPath.resolveSibling("folded.patch.json");
+    DictionaryPatchIO.write(folded, patch);
+    ByteArrayOutputStream verifyOut = new ByteArrayOutputStream();
+    int unpatchedVerifyExit = DictionaryCli.run(new String[] {
+        "verify", "--fst", fstPath.toString(),
+        "--input", fstPath.resolveSibling("wordlist.txt").toString()
+    }, new PrintStream(verifyOut), new PrintStream(new ByteArrayOutputStream()));
+    int patchedVerifyExit = DictionaryCli.run(new String[] {
+        "verify", "--fst", fstPath.toString(),
+        "--input", fstPath.resolveSibling("wordlist.txt").toString(), "--patch", folded.toString()
+    }, new PrintStream(verifyOut), new PrintStream(new ByteArrayOutputStream()));
+
+    // then
+    assertThat(firstExit).isZero();
+    assertThat(secondExit).isZero();
+    assertThat(out.toString())
+        .contains("Patched osps.fst: 2 added, 1 removed words")
+        .contains("Patched osps.fst: 1 added, 1 removed words");
+    assertThat(patch.added()).containsExactly("ŻUK");
+    assertThat(patch.removed()).containsExactly("KOC");
+    assertThat(foldExit).isZero();
+    assertThat(DictionaryPaths.patchPathFor(fstPath)).doesNotExist();
+    assertThat(unpatchedVerifyExit).isEqualTo(1);
+    assertThat(patchedVerifyExit).isZero();
+    assertThat(verifyOut.toString())
+        .contains("folded patch: missing")
+        .contains("folded patch: applied (1 added, 1 removed)")
+        .contains("OK");
+    try (FstDictionary dictionary =
+        FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath))) {
+      assertThat(dictionary.contains("ŻUK")).isTrue();
+      assertThat(dictionary.contains("KOC")).isFalse();
+      assertThat(dictionary.contains("PIES")).isTrue();
+    }
+  }
+
+  @Test
+  void rejectsPatchWithoutWords() {
+    // given
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    // when
+    int exitCode = DictionaryCli.run(new String[] {"patch", "--fst", "foo.fst"},
+        new PrintStream(new ByteArrayOutputStream()), new PrintStream(err));
+    // then
+    assertThat(exitCode).isEqualTo(2);
+    assertThat(err.toString()).contains("--add or --remove is required");
+  }
+
+  @Test
+  void rejectsUnexpectedSubcommandOptions() {
+    // given
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    // when
+    int exitCode = DictionaryCli.run(new String[] {"bench", "--fst", "foo.fst", "--ops", "0"},
+        new PrintStream(new ByteArrayOutputStream()), new PrintStream(err));
+    // then
+    assertThat(exitCode).isEqualTo(2);
+    assertThat(err.toString()).contains("--ops must be a positive integer");
+  }
+
+  @Test
+  void parsesMemorySizes() {
+    // when / then
+    assertThat(CompileCommand.parseSize("512k")).isEqualTo(512L * 1024);
+    assertThat(CompileCommand.parseSize("64M")).isEqualTo(64L * 1024 * 1024);
+    assertThat(CompileCommand.parseSize("2g")).isEqualTo(2L * 1024 * 1024 * 1024);
+    assertThat(CompileCommand.parseSize("1000")).isEqualTo(1000L);
+  }
+
+  @Test
+  void rejectsTooSmallMemoryLimit() {
+    // given
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    // when
+    int exitCode = DictionaryCli.run(new String[] {
+        "compile", "--input", "foo.txt", "--output", "foo.fst", "--memory", "1m"
+    }, new PrintStream(new ByteArrayOutputStream()), new PrintStream(err));
+    // then
+    assertThat(exitCode).isEqualTo(2);
+    assertThat(err.toString()).contains("--memory must be at least");
+  }
+
+  @Test
+  void rejectsInvalidBloomRate() {
+    // given
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    // when
+    int exitCode = DictionaryCli.run(new String[] {
+        "compile", "--input", "foo.txt", "--output", "foo.fst", "--bloom-fpp", "2"
+    }, new PrintStream(new ByteArrayOutputStream()), new PrintStream(err));
+    // then
+    assertThat(exitCode).isEqualTo(2);
+    assertThat(err.toString()).contains("--bloom-fpp must be a rate");
+  }
+
   @Test
   void printsHelpForNoArgs() {
     // given
@@ -68,4 +424,16 @@ class DictionaryCliTest {
     assertThat(exitCode).isEqualTo(2);
     assertThat(err.toString()).contains("--input and --output are required");
   }
+
+  private static Path compile(String directory, String... words) throws Exception {
+    Path tempDir = Files.createTempDirectory(directory);
+    Path wordlist = tempDir.resolve("wordlist.txt");
+    Path fstPath = tempDir.resolve("osps.fst");
+    Files.writeString(wordlist, String.join(System.lineSeparator(), words));
+    int exitCode = DictionaryCli.run(new String[] {
+        "compile", "--input", wordlist.toString(), "--output", fstPath.toString()
+    }, new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+    assertThat(exitCode).isZero();
+    return fstPath;
+  }
 }
@@ -0,0 +1,184 @@
+package com.scrabble.engine.ai;
+
+import com.scrabble.dictionary.FstDictionary;
+import com.scrabble.dictionary.FstGaddag;
+import com.scrabble.dictionary.PrefixCursor;
+import com.scrabble.dictionary.compile.DictionaryCompiler;
+import com.scrabble.dictionary.format.DictionaryPaths;
+import com.scrabble.engine.Board;
+import com.scrabble.engine.BoardState;
+import com.scrabble.engine.PlacedTile;
+import com.scrabble.engine.Player;
+import com.scrabble.engine.Rack;
+import com.scrabble.engine.TileBag;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// One bot turn through the window search (AiMoveGenerator on a dictionary without a GADDAG)
+// against the anchor search (GaddagMoveGenerator), on the same board and rack. The position is
+// replayed from a fixed seed for the given number of turns, so runs stay comparable.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MoveGeneratorBenchmark {
+  private static final long SEED = 20_240_611L;
+
+  @State(Scope.Benchmark)
+  public static class Position {
+    // Moves already on the board; 0 is the opening move.
+    @Param({"0", "8"})
+    public int turns;
+
+    private FstDictionary fstDictionary;
+    private FstGaddag fstGaddag;
+    private WordDictionary dictionary;
+    private Gaddag gaddag;
+    private BoardState board;
+    private Player player;
+
+    @Setup
+    public void setUp() throws IOException {
+      Path fstPath = Files.createTempDirectory("move-bench").resolve("osps.fst");
+      new DictionaryCompiler().compile(Path.of(System.getProperty("dictionary.wordlistPath")),
+          fstPath);
+      fstDictionary = FstDictionary.load(fstPath, DictionaryPaths.metaPathFor(fstPath));
+      Path gaddagPath = DictionaryPaths.gaddagPathFor(fstPath);
+      fstGaddag = FstGaddag.load(gaddagPath, DictionaryPaths.metaPathFor(gaddagPath));
+      dictionary = new Words(fstDictionary);
+      gaddag = () -> new Node(fstGaddag.root());
+      replay();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+      fstGaddag.close();
+      fstDictionary.close();
+    }
+
+    private void replay() {
+      TileBag bag = TileBag.standard(new Random(SEED));
+      player = new Player("Bot");
+      board = BoardState.empty();
+      GaddagMoveGenerator generator = new GaddagMoveGenerator();
+      for (int turn = 0; turn < turns; turn++) {
+        player.rack().addAll(bag.draw(player.rack().remainingCapacity()));
+        Optional<AiMove> move =
+            generator.bestMove(board, player, Board.standard(), dictionary, gaddag);
+        if (move.isEmpty()) {
+          break;
+        }
+        for (PlacedTile placed : move.get().placement().placements().values()) {
+          player.rack().remove(placed.tile());
+        }
+        board = board.withPlaced(move.get().placement().placements());
+      }
+      player.rack().addAll(bag.draw(Rack.CAPACITY - player.rack().size()));
+    }
+  }
+
+  @Benchmark
+  public Optional<AiMove> windowSearch(Position position) {
+    return new AiMoveGenerator().bestMove(
+        position.board, position.player, Board.standard(), position.dictionary);
+  }
+
+  @Benchmark
+  public Optional<AiMove> gaddagSearch(Position position) {
+    return new GaddagMoveGenerator().bestMove(
+        position.board, position.player, Board.standard(), position.dictionary, position.gaddag);
+  }
+
+  // The runtime dictionary behind the engine port, without a GADDAG so AiMoveGenerator keeps
+  // its own window search.
+  private record Words(FstDictionary dictionary) implements WordDictionary {
+    @Override
+    public boolean contains(String word) {
+      return dictionary.contains(word);
+    }
+
+    @Override
+    public boolean containsPrefix(String prefix) {
+      return dictionary.containsPrefix(prefix);
+    }
+
+    @Override
+    public int crossCheckMask(String prefix, String suffix) {
+      return dictionary.crossCheckMask(prefix, suffix);
+    }
+
+    @Override
+    public WordCursor cursor() {
+      return new Cursor(dictionary.cursor());
+    }
+  }
+
+  private record Cursor(PrefixCursor cursor) implements WordCursor {
+    @Override
+    public boolean advance(char letter) {
+      return cursor.advance(letter);
+    }
+
+    @Override
+    public boolean isWord() {
+      return cursor.isWord();
+    }
+
+    @Override
+    public boolean isDead() {
+      return cursor.isDead();
+    }
+
+    @Override
+    public WordCursor copy() {
+      return new Cursor(cursor.copy());
+    }
+
+    @Override
+    public int minRemaining() {
+      return cursor.minRemaining();
+    }
+
+    @Override
+    public int maxRemaining() {
+      return cursor.maxRemaining();
+    }
+
+    @Override
+    public int reachableLetters() {
+      return cursor.reachableLetters();
+    }
+  }
+
+  private record Node(FstGaddag.Node node) implements Gaddag.Node {
+    @Override
+    public Gaddag.Node next(char letter) {
+      return wrap(node.next(letter));
+    }
+
+    @Override
+    public Gaddag.Node pivot() {
+      return wrap(node.pivot());
+    }
+
+    @Override
+    public boolean isWord() {
+      return node.isWord();
+    }
+
+    private static Gaddag.Node wrap(FstGaddag.Node next) {
+      return next == null ? null : new Node(next);
+    }
+  }
+}
@@ -4,23 +4,89 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+// Premiums live in flat row-major tables indexed like BoardState squares, with the letter and
+// word multiplier of every square precomputed, so scoring reads a byte instead of a map entry.
 public final class Board {
   public static final int SIZE = Coordinate.SIZE;
+  private static final int SQUARES = SIZE * SIZE;
+  // Marks a square without a premium in a descriptor.
+  private static final char PLAIN = '.';
 
   private static final Board STANDARD = new Board(buildPremiums());
 
-  private final Map<Coordinate, Premium> premiums;
+  private final Premium[] premiums;
+  private final byte[] letterMultipliers;
+  private final byte[] wordMultipliers;
 
   private Board(Map<Coordinate, Premium> premiums) {
-    this.premiums = Map.copyOf(premiums);
+    this.premiums = new Premium[SQUARES];
+    this.letterMultipliers = new byte[SQUARES];
+    this.wordMultipliers = new byte[SQUARES];
+    for (int square = 0; square < SQUARES; square++) {
+      Premium premium = premiums.get(Coordinate.of(square / SIZE, square % SIZE));
+      this.premiums[square] = premium;
+      letterMultipliers[square] = (byte) (premium == null ? 1 : premium.letterMultiplier());
+      wordMultipliers[square] = (byte) (premium == null ? 1 : premium.wordMultiplier());
+    }
   }
 
   public static Board standard() {
     return STANDARD;
   }
 
+  // Reads a layout of 15 rows of 15 squares, rows separated by '/' or line breaks. Each square is
+  // '.' or a premium code: T and D for triple and double word, t and d for triple and double
+  // letter.
+  public static Board fromDescriptor(String descriptor) {
+    if (descriptor == null || descriptor.isBlank()) {
+      throw new IllegalArgumentException("Board descriptor is blank");
+    }
+    String[] rows = descriptor.strip().split("\\s*[/\\n]\\s*");
+    if (rows.length != SIZE) {
+      throw new IllegalArgumentException(
+          "Board descriptor must have " + SIZE + " rows: " + rows.length);
+    }
+    Map<Coordinate, Premium> premiums = new HashMap<>();
+    for (int row = 0; row < SIZE; row++) {
+      String cells = rows[row].strip();
+      if (cells.length() != SIZE) {
+        throw new IllegalArgumentException(
+            "Board descriptor row " + (row + 1) + " must have " + SIZE + " squares: " + cells);
+      }
+      for (int col = 0; col < SIZE; col++) {
+        char code = cells.charAt(col);
+        if (code != PLAIN) {
+          premiums.put(Coordinate.of(row, col), Premium.fromCode(code));
+        }
+      }
+    }
+    return new Board(premiums);
+  }
+
+  // The layout in the form fromDescriptor reads, one row per line.
+  public String descriptor() {
+    StringBuilder descriptor = new StringBuilder(SQUARES + SIZE);
+    for (int square = 0; square < SQUARES; square++) {
+      if (square > 0 && square % SIZE == 0) {
+        descriptor.append('\n');
+      }
+      descriptor.append(premiums[square] == null ? PLAIN : premiums[square].code());
+    }
+    return descriptor.toString();
+  }
+
   public Optional<Premium> premiumAt(Coordinate coordinate) {
-    return Optional.ofNullable(premiums.get(coordinate));
+    int square = BoardState.indexOf(coordinate.rowIndex(), coordinate.colIndex());
+    return Optional.ofNullable(premiums[square]);
+  }
+
+  // Multipliers of a square by its BoardState.indexOf index; 1 where there is no premium.
+  public int letterMultiplier(int square) {
+    return letterMultipliers[square];
+  }
+
+  public int wordMultiplier(int square) {
+    return wordMultipliers[square];
   }
 
   public boolean isInside(Coordinate coordinate) {
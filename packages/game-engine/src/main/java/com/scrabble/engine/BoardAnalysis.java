@@ -0,0 +1,174 @@
+package com.scrabble.engine;
+
+import java.util.Map;
+import java.util.Objects;
+
+// Anchors and cross-check letter masks for one board version, as move searches need them.
+// Bit i of a cross-check is the letter of LetterTile ordinal i. withPlaced and update carry the
+// analysis to the next board and recompute only the rows and columns that gained tiles, so one
+// instance can follow a game and be shared by every search over the same board.
+public final class BoardAnalysis {
+  // Cross-check of an empty square with no tiles on either side of it across the move.
+  public static final int UNCONSTRAINED = -1;
+  private static final int SQUARES = Coordinate.SIZE * Coordinate.SIZE;
+  private static final int FULL_LINE = (1 << Coordinate.SIZE) - 1;
+
+  // Bit i is set when prefix + the letter of LetterTile ordinal i + suffix is a word.
+  @FunctionalInterface
+  public interface CrossCheck {
+    int mask(String prefix, String suffix);
+  }
+
+  private final BoardState board;
+  private final CrossCheck crossCheck;
+  private final short[] anchors;
+  // Letters each square accepts as part of a horizontal move, limited by the column through it.
+  private final int[] horizontal;
+  // Letters each square accepts as part of a vertical move, limited by the row through it.
+  private final int[] vertical;
+
+  private BoardAnalysis(
+      BoardState board, CrossCheck crossCheck, short[] anchors, int[] horizontal, int[] vertical) {
+    this.board = board;
+    this.crossCheck = crossCheck;
+    this.anchors = anchors;
+    this.horizontal = horizontal;
+    this.vertical = vertical;
+  }
+
+  public static BoardAnalysis of(BoardState board, CrossCheck crossCheck) {
+    Objects.requireNonNull(board, "board");
+    Objects.requireNonNull(crossCheck, "crossCheck");
+    BoardAnalysis analysis = new BoardAnalysis(
+        board, crossCheck, new short[Coordinate.SIZE], new int[SQUARES], new int[SQUARES]);
+    analysis.recompute(FULL_LINE, FULL_LINE);
+    return analysis;
+  }
+
+  public BoardState board() {
+    return board;
+  }
+
+  public boolean isAnchor(int row, int col) {
+    return (anchors[row] & (1 << col)) != 0;
+  }
+
+  public int anchorMask(int row) {
+    return anchors[row];
+  }
+
+  // Letters the empty square accepts for a move in the given direction, or UNCONSTRAINED.
+  public int crossCheck(Direction direction, int row, int col) {
+    int index = BoardState.indexOf(row, col);
+    return direction == Direction.HORIZONTAL ? horizontal[index] : vertical[index];
+  }
+
+  public BoardAnalysis withPlaced(Map<Coordinate, PlacedTile> placements) {
+    return update(board.withPlaced(placements));
+  }
+
+  // Carries the analysis to a later version of the board. A board that is not this one plus
+  // some new tiles, such as the start of another game, is analysed from scratch.
+  public BoardAnalysis update(BoardState next) {
+    Objects.requireNonNull(next, "next");
+    if (next == board) {
+      return this;
+    }
+    if (board.isEmpty()) {
+      return of(next, crossCheck);
+    }
+    int touchedRows = 0;
+    int touchedColumns = 0;
+    for (int row = 0; row < Coordinate.SIZE; row++) {
+      int before = board.rowMask(row);
+      int after = next.rowMask(row);
+      if ((before & ~after) != 0 || !sameTiles(next, row, before)) {
+        return of(next, crossCheck);
+      }
+      if (after != before) {
+        touchedRows |= 1 << row;
+        touchedColumns |= after & ~before;
+      }
+    }
+    BoardAnalysis analysis = new BoardAnalysis(
+        next, crossCheck, anchors.clone(), horizontal.clone(), vertical.clone());
+    analysis.recompute(touchedRows, touchedColumns);
+    return analysis;
+  }
+
+  private boolean sameTiles(BoardState next, int row, int occupied) {
+    for (int mask = occupied; mask != 0; mask &= mask - 1) {
+      int col = Integer.numberOfTrailingZeros(mask);
+      if (!board.placedAt(row, col).equals(next.placedAt(row, col))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // A tile changes the anchors of its own and neighbouring rows, the horizontal cross-checks
+  // of its column and the vertical cross-checks of its row.
+  private void recompute(int rows, int columns) {
+    int anchorRows = (rows | (rows << 1) | (rows >>> 1)) & FULL_LINE;
+    for (int bits = anchorRows; bits != 0; bits &= bits - 1) {
+      int row = Integer.numberOfTrailingZeros(bits);
+      anchors[row] = (short) anchorsIn(row);
+    }
+    for (int bits = columns; bits != 0; bits &= bits - 1) {
+      int col = Integer.numberOfTrailingZeros(bits);
+      for (int row = 0; row < Coordinate.SIZE; row++) {
+        horizontal[BoardState.indexOf(row, col)] = crossCheckAt(Direction.VERTICAL, col, row);
+      }
+    }
+    for (int bits = rows; bits != 0; bits &= bits - 1) {
+      int row = Integer.numberOfTrailingZeros(bits);
+      for (int col = 0; col < Coordinate.SIZE; col++) {
+        vertical[BoardState.indexOf(row, col)] = crossCheckAt(Direction.HORIZONTAL, row, col);
+      }
+    }
+  }
+
+  // An anchor is an empty square next to a tile; on an empty board only the centre is one.
+  private int anchorsIn(int row) {
+    if (board.isEmpty()) {
+      int center = Coordinate.SIZE / 2;
+      return row == center ? 1 << center : 0;
+    }
+    int occupied = board.rowMask(row);
+    int around = (occupied << 1) | (occupied >>> 1);
+    if (row > 0) {
+      around |= board.rowMask(row - 1);
+    }
+    if (row < Coordinate.SIZE - 1) {
+      around |= board.rowMask(row + 1);
+    }
+    return around & ~occupied & FULL_LINE;
+  }
+
+  // The letters that fit at index between the tiles before and after it along the line.
+  private int crossCheckAt(Direction along, int line, int index) {
+    int mask = board.lineMask(along, line);
+    if ((mask & (1 << index)) != 0) {
+      return 0;
+    }
+    int first = BoardState.runStart(mask, index);
+    int last = BoardState.runEnd(mask, index);
+    if (first == index && last == index) {
+      return UNCONSTRAINED;
+    }
+    String prefix = lettersOf(along, line, first, index);
+    String suffix = lettersOf(along, line, index + 1, last + 1);
+    return crossCheck.mask(prefix, suffix);
+  }
+
+  private String lettersOf(Direction along, int line, int from, int to) {
+    StringBuilder letters = new StringBuilder(to - from);
+    for (int index = from; index < to; index++) {
+      PlacedTile tile = along == Direction.HORIZONTAL
+          ? board.placedAt(line, index)
+          : board.placedAt(index, line);
+      letters.append(tile.assignedLetter());
+    }
+    return letters.toString();
+  }
+}
@@ -1,45 +1,130 @@
 package com.scrabble.engine;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
+// Squares live in a flat row-major array. Each row and column also keeps an occupancy mask
+// (bit i is column i of a row, or row i of a column), so neighbour, run and contiguity checks
+// are a few bit operations. The arrays have a fixed size, so withPlaced copies them cheaply.
 public final class BoardState {
-  private final Map<Coordinate, PlacedTile> tiles;
+  private static final int SQUARES = Coordinate.SIZE * Coordinate.SIZE;
+  private static final BoardState EMPTY = new BoardState(
+      new PlacedTile[SQUARES], new short[Coordinate.SIZE], new short[Coordinate.SIZE], 0);
 
-  private BoardState(Map<Coordinate, PlacedTile> tiles) {
-    this.tiles = Map.copyOf(tiles);
+  private final PlacedTile[] squares;
+  private final short[] rows;
+  private final short[] columns;
+  private final int size;
+
+  private BoardState(PlacedTile[] squares, short[] rows, short[] columns, int size) {
+    this.squares = squares;
+    this.rows = rows;
+    this.columns = columns;
+    this.size = size;
   }
 
   public static BoardState empty() {
-    return new BoardState(Map.of());
+    return EMPTY;
+  }
+
+  public static int indexOf(int row, int col) {
+    return row * Coordinate.SIZE + col;
   }
 
   public boolean isEmpty() {
-    return tiles.isEmpty();
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
   }
 
   public Optional<PlacedTile> tileAt(Coordinate coordinate) {
-    return Optional.ofNullable(tiles.get(coordinate));
+    return Optional.ofNullable(placedAt(coordinate.rowIndex(), coordinate.colIndex()));
+  }
+
+  // The tile on the square, or null when it is empty or off the board.
+  public PlacedTile placedAt(int row, int col) {
+    return hasTile(row, col) ? squares[indexOf(row, col)] : null;
   }
 
   public boolean hasTile(Coordinate coordinate) {
-    return tiles.containsKey(coordinate);
+    return hasTile(coordinate.rowIndex(), coordinate.colIndex());
+  }
+
+  // Squares off the board count as empty, so callers can look past the edges.
+  public boolean hasTile(int row, int col) {
+    return row >= 0 && row < Coordinate.SIZE && col >= 0 && col < Coordinate.SIZE
+        && (rows[row] & (1 << col)) != 0;
+  }
+
+  public int rowMask(int row) {
+    return rows[row];
+  }
+
+  public int columnMask(int col) {
+    return columns[col];
+  }
+
+  // The mask of the row or column a word in this direction runs along.
+  public int lineMask(Direction direction, int line) {
+    return direction == Direction.HORIZONTAL ? rows[line] : columns[line];
+  }
+
+  public boolean hasNeighbour(int row, int col) {
+    return (rows[row] & adjacentBits(col)) != 0 || (columns[col] & adjacentBits(row)) != 0;
+  }
+
+  // Bits on either side of index; a bit past the last square never matches a mask.
+  public static int adjacentBits(int index) {
+    return (2 << index) | ((1 << index) >>> 1);
+  }
+
+  // First index of the run of occupied squares ending just before index.
+  public static int runStart(int mask, int index) {
+    int emptyBefore = ~mask & ((1 << index) - 1);
+    return 32 - Integer.numberOfLeadingZeros(emptyBefore);
+  }
+
+  // Last index of the run of occupied squares starting just after index.
+  public static int runEnd(int mask, int index) {
+    int emptyAfter = ~mask & -(2 << index);
+    return Integer.numberOfTrailingZeros(emptyAfter) - 1;
+  }
+
+  // True when every index from first to last inclusive is set in the mask.
+  public static boolean covers(int mask, int first, int last) {
+    int span = (2 << last) - (1 << first);
+    return (mask & span) == span;
   }
 
   public Map<Coordinate, PlacedTile> tiles() {
+    Map<Coordinate, PlacedTile> tiles = new LinkedHashMap<>();
+    for (int row = 0; row < Coordinate.SIZE; row++) {
+      for (int mask = rows[row]; mask != 0; mask &= mask - 1) {
+        int col = Integer.numberOfTrailingZeros(mask);
+        tiles.put(Coordinate.of(row, col), squares[indexOf(row, col)]);
+      }
+    }
     return Collections.unmodifiableMap(tiles);
   }
 
   public BoardState withPlaced(Map<Coordinate, PlacedTile> placements) {
-    Map<Coordinate, PlacedTile> next = new HashMap<>(tiles);
+    PlacedTile[] nextSquares = squares.clone();
+    short[] nextRows = rows.clone();
+    short[] nextColumns = columns.clone();
     for (Map.Entry<Coordinate, PlacedTile> entry : placements.entrySet()) {
-      if (next.containsKey(entry.getKey())) {
+      int row = entry.getKey().rowIndex();
+      int col = entry.getKey().colIndex();
+      if ((nextRows[row] & (1 << col)) != 0) {
         throw new IllegalArgumentException("Square already occupied: " + entry.getKey());
       }
-      next.put(entry.getKey(), entry.getValue());
+      nextSquares[indexOf(row, col)] = entry.getValue();
+      nextRows[row] |= (short) (1 << col);
+      nextColumns[col] |= (short) (1 << row);
     }
-    return new BoardState(next);
+    return new BoardState(nextSquares, nextRows, nextColumns, size + placements.size());
   }
 }
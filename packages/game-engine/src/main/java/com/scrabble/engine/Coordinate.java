@@ -4,6 +4,8 @@ import java.util.Locale;
 
 public record Coordinate(int rowIndex, int colIndex) {
   public static final int SIZE = 15;
+  // Every square, row-major, so of() never allocates.
+  private static final Coordinate[] SQUARES = buildSquares();
 
   public Coordinate {
     if (rowIndex < 0 || rowIndex >= SIZE || colIndex < 0 || colIndex >= SIZE) {
@@ -36,7 +38,14 @@ public record Coordinate(int rowIndex, int colIndex) {
 
     int rowIndex = rowChar - 'A';
     int colIndex = col - 1;
-    return new Coordinate(rowIndex, colIndex);
+    return of(rowIndex, colIndex);
+  }
+
+  public static Coordinate of(int rowIndex, int colIndex) {
+    if (rowIndex < 0 || rowIndex >= SIZE || colIndex < 0 || colIndex >= SIZE) {
+      throw new IllegalArgumentException("Coordinate out of bounds: " + rowIndex + "," + colIndex);
+    }
+    return SQUARES[rowIndex * SIZE + colIndex];
   }
 
   public String format() {
@@ -48,4 +57,14 @@ public record Coordinate(int rowIndex, int colIndex) {
   public String toString() {
     return format();
   }
+
+  private static Coordinate[] buildSquares() {
+    Coordinate[] squares = new Coordinate[SIZE * SIZE];
+    for (int row = 0; row < SIZE; row++) {
+      for (int col = 0; col < SIZE; col++) {
+        squares[row * SIZE + col] = new Coordinate(row, col);
+      }
+    }
+    return squares;
+  }
 }
@@ -37,10 +37,15 @@ public enum LetterTile {
   Ż('Ż', 5, 1),
   BLANK('\0', 0, 2, true);
 
+  // Indexed by letter; null for characters that are not a letter tile.
+  private static final LetterTile[] BY_LETTER = buildByLetter();
+
   private final char letter;
   private final int points;
   private final int count;
   private final boolean blank;
+  // The one Tile value of this kind, shared by every rack, bag and board.
+  private final Tile tile;
 
   LetterTile(char letter, int points, int count) {
     this(letter, points, count, false);
@@ -51,6 +56,7 @@ public enum LetterTile {
     this.points = points;
     this.count = count;
     this.blank = blank;
+    this.tile = new Tile(letter, points, blank);
   }
 
   public char letter() {
@@ -70,19 +76,34 @@ public enum LetterTile {
   }
 
   public Tile toTile() {
-    if (blank) {
-      return Tile.blankTile();
-    }
-    return Tile.of(letter, points);
+    return tile;
   }
 
   public static LetterTile fromLetter(char letter) {
+    LetterTile tile = forLetter(letter);
+    if (tile == null) {
+      throw new IllegalArgumentException("Unknown letter: " + letter);
+    }
+    return tile;
+  }
+
+  // The letter tile for the letter, or null when there is none.
+  public static LetterTile forLetter(char letter) {
+    return letter > 0 && letter < BY_LETTER.length ? BY_LETTER[letter] : null;
+  }
+
+  private static LetterTile[] buildByLetter() {
+    char max = 0;
+    for (LetterTile tile : values()) {
+      max = (char) Math.max(max, tile.letter);
+    }
+    LetterTile[] byLetter = new LetterTile[max + 1];
     for (LetterTile tile : values()) {
-      if (tile.letter == letter && !tile.blank) {
-        return tile;
+      if (!tile.blank) {
+        byLetter[tile.letter] = tile;
       }
     }
-    throw new IllegalArgumentException("Unknown letter: " + letter);
+    return byLetter;
   }
 
   public static int totalTiles() {
@@ -1,10 +1,11 @@
 package com.scrabble.engine;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 public final class MoveValidator {
+  private static final Coordinate CENTER = Coordinate.of(Coordinate.SIZE / 2, Coordinate.SIZE / 2);
+
   private MoveValidator() { }
 
   public static void validatePlacement(BoardState board, MovePlacement move) {
@@ -41,8 +42,7 @@ public final class MoveValidator {
     if (move.size() < 2) {
       throw new IllegalArgumentException("First move must place at least 2 tiles");
     }
-    Coordinate center = Coordinate.parse("H8");
-    if (!move.placements().containsKey(center)) {
+    if (!move.placements().containsKey(CENTER)) {
       throw new IllegalArgumentException("First move must cover H8");
     }
   }
@@ -57,42 +57,24 @@ public final class MoveValidator {
   }
 
   private static boolean hasNeighbor(BoardState board, Coordinate coordinate) {
-    int row = coordinate.rowIndex();
-    int col = coordinate.colIndex();
-    return hasTileAt(board, row - 1, col)
-        || hasTileAt(board, row + 1, col)
-        || hasTileAt(board, row, col - 1)
-        || hasTileAt(board, row, col + 1);
-  }
-
-  private static boolean hasTileAt(BoardState board, int row, int col) {
-    if (row < 0 || row >= Coordinate.SIZE || col < 0 || col >= Coordinate.SIZE) {
-      return false;
-    }
-    return board.hasTile(new Coordinate(row, col));
+    return board.hasNeighbour(coordinate.rowIndex(), coordinate.colIndex());
   }
 
+  // The squares between the first and last new tile must all be taken, either by the board or
+  // by the move itself.
   private static void ensureContiguous(BoardState board, List<Coordinate> coords, boolean sameRow) {
-    if (sameRow) {
-      int row = coords.get(0).rowIndex();
-      int min = coords.stream().map(Coordinate::colIndex).min(Comparator.naturalOrder()).orElseThrow();
-      int max = coords.stream().map(Coordinate::colIndex).max(Comparator.naturalOrder()).orElseThrow();
-      for (int col = min; col <= max; col++) {
-        Coordinate coordinate = new Coordinate(row, col);
-        if (!board.hasTile(coordinate) && !coords.contains(coordinate)) {
-          throw new IllegalArgumentException("Move must be contiguous");
-        }
-      }
-    } else {
-      int col = coords.get(0).colIndex();
-      int min = coords.stream().map(Coordinate::rowIndex).min(Comparator.naturalOrder()).orElseThrow();
-      int max = coords.stream().map(Coordinate::rowIndex).max(Comparator.naturalOrder()).orElseThrow();
-      for (int row = min; row <= max; row++) {
-        Coordinate coordinate = new Coordinate(row, col);
-        if (!board.hasTile(coordinate) && !coords.contains(coordinate)) {
-          throw new IllegalArgumentException("Move must be contiguous");
-        }
-      }
+    int line = sameRow ? coords.get(0).rowIndex() : coords.get(0).colIndex();
+    int mask = sameRow ? board.rowMask(line) : board.columnMask(line);
+    int first = Coordinate.SIZE;
+    int last = -1;
+    for (Coordinate coordinate : coords) {
+      int index = sameRow ? coordinate.colIndex() : coordinate.rowIndex();
+      mask |= 1 << index;
+      first = Math.min(first, index);
+      last = Math.max(last, index);
+    }
+    if (!BoardState.covers(mask, first, last)) {
+      throw new IllegalArgumentException("Move must be contiguous");
     }
   }
 }
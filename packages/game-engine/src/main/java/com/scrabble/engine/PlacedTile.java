@@ -3,6 +3,9 @@ package com.scrabble.engine;
 import java.util.Objects;
 
 public record PlacedTile(Tile tile, char assignedLetter) {
+  private static final PlacedTile[] LETTERS = buildTable(false);
+  private static final PlacedTile[] BLANKS = buildTable(true);
+
   public PlacedTile {
     Objects.requireNonNull(tile, "tile");
     if (tile.blank()) {
@@ -18,6 +21,34 @@ public record PlacedTile(Tile tile, char assignedLetter) {
     if (tile.blank()) {
       throw new IllegalArgumentException("Blank tile requires an assigned letter");
     }
-    return new PlacedTile(tile, tile.letter());
+    return of(tile, tile.letter());
+  }
+
+  // Standard tiles, and the standard blank standing for a letter tile, come from two shared
+  // tables indexed by LetterTile ordinal; anything else, such as a blank carrying its own
+  // letter, is a new instance so the caller's tile is kept.
+  public static PlacedTile of(Tile tile, char assignedLetter) {
+    LetterTile letter = LetterTile.forLetter(assignedLetter);
+    if (letter != null) {
+      if (tile.equals(Tile.blankTile())) {
+        return BLANKS[letter.ordinal()];
+      }
+      if (tile.equals(letter.toTile())) {
+        return LETTERS[letter.ordinal()];
+      }
+    }
+    return new PlacedTile(tile, assignedLetter);
+  }
+
+  private static PlacedTile[] buildTable(boolean blanks) {
+    LetterTile[] letters = LetterTile.values();
+    PlacedTile[] table = new PlacedTile[letters.length];
+    for (LetterTile letter : letters) {
+      if (!letter.isBlank()) {
+        Tile tile = blanks ? Tile.blankTile() : letter.toTile();
+        table[letter.ordinal()] = new PlacedTile(tile, letter.letter());
+      }
+    }
+    return table;
   }
 }
@@ -1,8 +1,40 @@
 package com.scrabble.engine;
 
 public enum Premium {
-  TW,
-  DW,
-  TL,
-  DL
+  TW('T', 1, 3),
+  DW('D', 1, 2),
+  TL('t', 3, 1),
+  DL('d', 2, 1);
+
+  private final char code;
+  private final int letterMultiplier;
+  private final int wordMultiplier;
+
+  Premium(char code, int letterMultiplier, int wordMultiplier) {
+    this.code = code;
+    this.letterMultiplier = letterMultiplier;
+    this.wordMultiplier = wordMultiplier;
+  }
+
+  // The character standing for this premium in a board descriptor.
+  public char code() {
+    return code;
+  }
+
+  public int letterMultiplier() {
+    return letterMultiplier;
+  }
+
+  public int wordMultiplier() {
+    return wordMultiplier;
+  }
+
+  public static Premium fromCode(char code) {
+    for (Premium premium : values()) {
+      if (premium.code == code) {
+        return premium;
+      }
+    }
+    throw new IllegalArgumentException("Unknown premium code: " + code);
+  }
 }
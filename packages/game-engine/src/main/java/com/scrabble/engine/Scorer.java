@@ -32,19 +32,12 @@ public final class Scorer {
     int sum = 0;
 
     for (Coordinate coordinate : word.coordinates()) {
-      PlacedTile placed = board.tileAt(coordinate).orElseThrow();
+      PlacedTile placed = board.placedAt(coordinate.rowIndex(), coordinate.colIndex());
       int letterScore = placed.tile().points();
       if (newlyPlaced.containsKey(coordinate)) {
-        Premium premium = premiums.premiumAt(coordinate).orElse(null);
-        if (premium == Premium.DL) {
-          letterScore *= 2;
-        } else if (premium == Premium.TL) {
-          letterScore *= 3;
-        } else if (premium == Premium.DW) {
-          wordMultiplier *= 2;
-        } else if (premium == Premium.TW) {
-          wordMultiplier *= 3;
-        }
+        int square = BoardState.indexOf(coordinate.rowIndex(), coordinate.colIndex());
+        letterScore *= premiums.letterMultiplier(square);
+        wordMultiplier *= premiums.wordMultiplier(square);
       }
       sum += letterScore;
     }
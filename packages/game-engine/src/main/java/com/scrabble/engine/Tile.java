@@ -11,10 +11,15 @@ public record Tile(char letter, int points, boolean blank) {
   }
 
   public static Tile blankTile() {
-    return new Tile('\0', 0, true);
+    return LetterTile.BLANK.toTile();
   }
 
+  // Returns the shared instance when the letter and points match a letter tile.
   public static Tile of(char letter, int points) {
+    LetterTile known = LetterTile.forLetter(letter);
+    if (known != null && known.points() == points) {
+      return known.toTile();
+    }
     return new Tile(letter, points, false);
   }
 }
@@ -57,44 +57,39 @@ public final class WordBuilder {
   }
 
   private static boolean hasNeighbor(BoardState board, Coordinate coordinate, Direction direction) {
-    int row = coordinate.rowIndex();
-    int col = coordinate.colIndex();
-    return hasTileAt(board, row - direction.rowDelta(), col - direction.colDelta())
-        || hasTileAt(board, row + direction.rowDelta(), col + direction.colDelta());
-  }
-
-  private static boolean hasTileAt(BoardState board, int row, int col) {
-    if (row < 0 || row >= Coordinate.SIZE || col < 0 || col >= Coordinate.SIZE) {
-      return false;
-    }
-    return board.hasTile(new Coordinate(row, col));
+    int line = lineOf(coordinate, direction);
+    int index = indexOf(coordinate, direction);
+    return (board.lineMask(direction, line) & BoardState.adjacentBits(index)) != 0;
   }
 
+  // The word runs over the occupied squares on both sides of start, read off the line mask.
   private static Word buildWord(BoardState board, Coordinate start, Direction direction) {
-    int row = start.rowIndex();
-    int col = start.colIndex();
-
-    while (hasTileAt(board, row - direction.rowDelta(), col - direction.colDelta())) {
-      row -= direction.rowDelta();
-      col -= direction.colDelta();
-    }
-
-    List<Coordinate> coordinates = new ArrayList<>();
-    StringBuilder text = new StringBuilder();
-    int currentRow = row;
-    int currentCol = col;
-    while (hasTileAt(board, currentRow, currentCol)) {
-      Coordinate coordinate = new Coordinate(currentRow, currentCol);
-      PlacedTile placedTile = board.tileAt(coordinate).orElseThrow();
-      text.append(placedTile.assignedLetter());
-      coordinates.add(coordinate);
-      currentRow += direction.rowDelta();
-      currentCol += direction.colDelta();
+    int line = lineOf(start, direction);
+    int index = indexOf(start, direction);
+    int mask = board.lineMask(direction, line);
+    int first = BoardState.runStart(mask, index);
+    int last = BoardState.runEnd(mask, index);
+
+    List<Coordinate> coordinates = new ArrayList<>(last - first + 1);
+    StringBuilder text = new StringBuilder(last - first + 1);
+    for (int position = first; position <= last; position++) {
+      int row = direction == Direction.HORIZONTAL ? line : position;
+      int col = direction == Direction.HORIZONTAL ? position : line;
+      text.append(board.placedAt(row, col).assignedLetter());
+      coordinates.add(Coordinate.of(row, col));
     }
 
     return new Word(text.toString(), coordinates);
   }
 
+  private static int lineOf(Coordinate coordinate, Direction direction) {
+    return direction == Direction.HORIZONTAL ? coordinate.rowIndex() : coordinate.colIndex();
+  }
+
+  private static int indexOf(Coordinate coordinate, Direction direction) {
+    return direction == Direction.HORIZONTAL ? coordinate.colIndex() : coordinate.rowIndex();
+  }
+
   private static List<Word> distinctWords(List<Word> words) {
     Set<String> seen = new HashSet<>();
     List<Word> result = new ArrayList<>();
@@ -1,6 +1,7 @@
 package com.scrabble.engine.ai;
 
 import com.scrabble.engine.Board;
+import com.scrabble.engine.BoardAnalysis;
 import com.scrabble.engine.BoardState;
 import com.scrabble.engine.Coordinate;
 import com.scrabble.engine.Direction;
@@ -24,7 +25,10 @@ import java.util.Set;
 
 public final class AiMoveGenerator {
   public static final int DEFAULT_MAX_CANDIDATES = 1500;
-  private static final char[] LETTER_POOL = buildLetterPool();
+  static final char[] LETTER_POOL = buildLetterPool();
+  // LetterTile ordinal bit of each letter, indexed by char.
+  private static final int[] LETTER_BITS = buildLetterBits();
+  static final int ALL_LETTERS = (1 << LETTER_POOL.length) - 1;
 
   public Optional<AiMove> bestMove(
       BoardState board,
@@ -40,23 +44,50 @@ public final class AiMoveGenerator {
       Board premiums,
       WordDictionary dictionary,
       int maxCandidates) {
+    return bestMove(BoardAnalysis.of(board, dictionary::crossCheckMask),
+        player, premiums, dictionary, maxCandidates);
+  }
+
+  public Optional<AiMove> bestMove(
+      BoardAnalysis analysis,
+      Player player,
+      Board premiums,
+      WordDictionary dictionary) {
+    return bestMove(analysis, player, premiums, dictionary, DEFAULT_MAX_CANDIDATES);
+  }
+
+  // The analysis must come from the same dictionary's cross-checks; callers that search the
+  // same board repeatedly can keep it and carry it forward with BoardAnalysis.update.
+  public Optional<AiMove> bestMove(
+      BoardAnalysis analysis,
+      Player player,
+      Board premiums,
+      WordDictionary dictionary,
+      int maxCandidates) {
     if (player.rack().tiles().isEmpty()) {
       return Optional.empty();
     }
+    Optional<Gaddag> gaddag = dictionary.gaddag();
+    if (gaddag.isPresent()) {
+      return new GaddagMoveGenerator()
+          .bestMove(analysis, player, premiums, dictionary, gaddag.get(), maxCandidates);
+    }
+
+    BoardState board = analysis.board();
 
     List<Tile> rack = new ArrayList<>(player.rack().tiles());
     Set<String> seen = new HashSet<>();
     BestMove best = new BestMove();
     CandidateCounter counter = new CandidateCounter(maxCandidates);
-    boolean[][] anchors = buildAnchors(board);
 
     for (Direction direction : EnumSet.of(Direction.HORIZONTAL, Direction.VERTICAL)) {
       for (int line = 0; line < Coordinate.SIZE && !counter.exhausted(); line++) {
-        evaluateLine(board, rack, premiums, dictionary, direction, line, best, seen, counter, anchors);
+        evaluateLine(
+            board, rack, premiums, dictionary, direction, line, best, seen, counter, analysis);
       }
     }
 
-    return Optional.ofNullable(best.result);
+    return best.result();
   }
 
   private void evaluateLine(
@@ -69,14 +100,17 @@ public final class AiMoveGenerator {
       BestMove best,
       Set<String> seen,
       CandidateCounter counter,
-      boolean[][] anchors) {
+      BoardAnalysis analysis) {
     PlacedTile[] lineTiles = new PlacedTile[Coordinate.SIZE];
-    boolean[][] crossChecks = new boolean[Coordinate.SIZE][];
+    int[] crossChecks = new int[Coordinate.SIZE];
     for (int index = 0; index < Coordinate.SIZE; index++) {
-      Coordinate coord = coordinateFor(direction, line, index);
-      lineTiles[index] = board.tileAt(coord).orElse(null);
+      lineTiles[index] = direction == Direction.HORIZONTAL
+          ? board.placedAt(line, index)
+          : board.placedAt(index, line);
       if (lineTiles[index] == null) {
-        crossChecks[index] = allowedLettersFor(board, coord, direction, dictionary);
+        crossChecks[index] = direction == Direction.HORIZONTAL
+            ? analysis.crossCheck(direction, line, index)
+            : analysis.crossCheck(direction, index, line);
       }
     }
 
@@ -98,9 +132,9 @@ public final class AiMoveGenerator {
 
         Map<Coordinate, PlacedTile> placements = new HashMap<>();
         boolean[] used = new boolean[rack.size()];
-        StringBuilder word = new StringBuilder();
-        fillWindow(board, rack, premiums, dictionary, direction, line, lineTiles,
-            start, end, start, used, placements, word, best, seen, counter, anchors, crossChecks, false);
+        fillWindow(board, rack, premiums, dictionary, direction, line, lineTiles, start, end, start,
+            used, placements, dictionary.cursor(), best, seen, counter, analysis, crossChecks,
+            false);
       }
     }
   }
@@ -118,36 +152,45 @@ public final class AiMoveGenerator {
       int position,
       boolean[] used,
       Map<Coordinate, PlacedTile> placements,
-      StringBuilder word,
+      WordCursor cursor,
       BestMove best,
       Set<String> seen,
       CandidateCounter counter,
-      boolean[][] anchors,
-      boolean[][] crossChecks,
+      BoardAnalysis analysis,
+      int[] crossChecks,
       boolean hasAnchor) {
     if (counter.exhausted()) {
       return;
     }
+    if (!canComplete(cursor, rack, used, lineTiles, position, end)) {
+      return;
+    }
     if (position > end) {
-      evaluateCandidate(board, premiums, dictionary, placements, best, seen, counter, anchors, hasAnchor);
+      evaluateCandidate(
+          board, premiums, dictionary, placements, best, seen, counter, analysis, hasAnchor);
       return;
     }
 
+    // The cursor belongs to this call, so a forced board letter can advance it in place;
+    // rack letters branch, so each one advances its own copy.
     PlacedTile existing = lineTiles[position];
     if (existing != null) {
-      word.append(existing.assignedLetter());
-      if (!dictionary.containsPrefix(word.toString())) {
-        word.setLength(word.length() - 1);
+      if (!cursor.advance(existing.assignedLetter())) {
         return;
       }
       fillWindow(board, rack, premiums, dictionary, direction, line, lineTiles, start, end,
-          position + 1, used, placements, word, best, seen, counter, anchors, crossChecks, hasAnchor);
-      word.setLength(word.length() - 1);
+          position + 1, used, placements, cursor, best, seen, counter, analysis, crossChecks,
+          hasAnchor);
       return;
     }
 
+    // Cross-checks and rack letters are both LetterTile ordinal masks, so a square no rack tile
+    // can fill is ruled out with one AND.
+    int allowed = crossChecks[position];
+    if ((rackMask(rack, used) & allowed) == 0) {
+      return;
+    }
     Coordinate coord = coordinateFor(direction, line, position);
-    boolean[] allowed = crossChecks[position];
     for (int i = 0; i < rack.size() && !counter.exhausted(); i++) {
       if (used[i]) {
         continue;
@@ -155,21 +198,16 @@ public final class AiMoveGenerator {
       Tile tile = rack.get(i);
       used[i] = true;
       if (tile.blank()) {
-        for (char letter : LETTER_POOL) {
-          if (allowed != null && !allowed[letter]) {
-            continue;
-          }
-          placements.put(coord, new PlacedTile(tile, letter));
-          word.append(letter);
-          if (!dictionary.containsPrefix(word.toString())) {
-            word.setLength(word.length() - 1);
-            placements.remove(coord);
+        for (int bits = allowed & ALL_LETTERS; bits != 0; bits &= bits - 1) {
+          char letter = LETTER_POOL[Integer.numberOfTrailingZeros(bits)];
+          WordCursor next = cursor.copy();
+          if (!next.advance(letter)) {
             continue;
           }
+          placements.put(coord, PlacedTile.of(tile, letter));
           fillWindow(board, rack, premiums, dictionary, direction, line, lineTiles, start, end,
-              position + 1, used, placements, word, best, seen, counter, anchors, crossChecks,
-              hasAnchor || anchors[coord.rowIndex()][coord.colIndex()]);
-          word.setLength(word.length() - 1);
+              position + 1, used, placements, next, best, seen, counter, analysis, crossChecks,
+              hasAnchor || analysis.isAnchor(coord.rowIndex(), coord.colIndex()));
           placements.remove(coord);
           if (counter.exhausted()) {
             break;
@@ -177,28 +215,86 @@ public final class AiMoveGenerator {
         }
       } else {
         char letter = tile.letter();
-        if (allowed != null && !allowed[letter]) {
+        if ((allowed & letterBit(letter)) == 0) {
           used[i] = false;
           continue;
         }
-        placements.put(coord, new PlacedTile(tile, letter));
-        word.append(letter);
-        if (!dictionary.containsPrefix(word.toString())) {
-          word.setLength(word.length() - 1);
-          placements.remove(coord);
+        WordCursor next = cursor.copy();
+        if (!next.advance(letter)) {
           used[i] = false;
           continue;
         }
+        placements.put(coord, PlacedTile.of(tile, letter));
         fillWindow(board, rack, premiums, dictionary, direction, line, lineTiles, start, end,
-            position + 1, used, placements, word, best, seen, counter, anchors, crossChecks,
-            hasAnchor || anchors[coord.rowIndex()][coord.colIndex()]);
-        word.setLength(word.length() - 1);
+            position + 1, used, placements, next, best, seen, counter, analysis, crossChecks,
+            hasAnchor || analysis.isAnchor(coord.rowIndex(), coord.colIndex()));
         placements.remove(coord);
       }
       used[i] = false;
     }
   }
 
+  // Abandons a branch the cursor's pruning bounds rule out: the rest of the window must fit the
+  // remaining word lengths, its board letters must lie below the prefix, and enough unused
+  // rack tiles must too. The minimum only applies when the window is not followed by a tile,
+  // since such a word continues past the window.
+  static boolean canComplete(
+      WordCursor cursor,
+      List<Tile> rack,
+      boolean[] used,
+      PlacedTile[] lineTiles,
+      int position,
+      int end) {
+    int remaining = end - position + 1;
+    if (remaining > cursor.maxRemaining()) {
+      return false;
+    }
+    boolean closed = end + 1 >= Coordinate.SIZE || lineTiles[end + 1] == null;
+    if (closed && remaining < cursor.minRemaining()) {
+      return false;
+    }
+    int reachable = cursor.reachableLetters();
+    if (reachable == -1 || remaining == 0) {
+      return true;
+    }
+    int empty = 0;
+    for (int i = position; i <= end; i++) {
+      if (lineTiles[i] == null) {
+        empty++;
+      } else if ((reachable & letterBit(lineTiles[i].assignedLetter())) == 0) {
+        return false;
+      }
+    }
+    int usable = 0;
+    for (int i = 0; i < rack.size() && usable < empty; i++) {
+      Tile tile = rack.get(i);
+      if (!used[i] && (tile.blank() || (reachable & letterBit(tile.letter())) != 0)) {
+        usable++;
+      }
+    }
+    return usable >= empty;
+  }
+
+  static int letterBit(char letter) {
+    return letter < LETTER_BITS.length ? LETTER_BITS[letter] : 0;
+  }
+
+  // Letters the unused rack tiles can play; an unused blank plays any letter.
+  static int rackMask(List<Tile> rack, boolean[] used) {
+    int mask = 0;
+    for (int i = 0; i < rack.size(); i++) {
+      if (used[i]) {
+        continue;
+      }
+      Tile tile = rack.get(i);
+      if (tile.blank()) {
+        return ALL_LETTERS;
+      }
+      mask |= letterBit(tile.letter());
+    }
+    return mask;
+  }
+
   private void evaluateCandidate(
       BoardState board,
       Board premiums,
@@ -207,12 +303,12 @@ public final class AiMoveGenerator {
       BestMove best,
       Set<String> seen,
       CandidateCounter counter,
-      boolean[][] anchors,
+      BoardAnalysis analysis,
       boolean hasAnchor) {
     if (placements.isEmpty()) {
       return;
     }
-    if (!hasAnchor && !placementsTouchAnchor(placements, anchors)) {
+    if (!hasAnchor && !placementsTouchAnchor(placements, analysis)) {
       return;
     }
     String key = buildKey(placements);
@@ -243,91 +339,21 @@ public final class AiMoveGenerator {
     return true;
   }
 
-  private static boolean[][] buildAnchors(BoardState board) {
-    boolean[][] anchors = new boolean[Coordinate.SIZE][Coordinate.SIZE];
-    if (board.isEmpty()) {
-      int center = Coordinate.SIZE / 2;
-      anchors[center][center] = true;
-      return anchors;
-    }
-    for (Coordinate coord : board.tiles().keySet()) {
-      markAnchor(board, anchors, coord.rowIndex() - 1, coord.colIndex());
-      markAnchor(board, anchors, coord.rowIndex() + 1, coord.colIndex());
-      markAnchor(board, anchors, coord.rowIndex(), coord.colIndex() - 1);
-      markAnchor(board, anchors, coord.rowIndex(), coord.colIndex() + 1);
-    }
-    return anchors;
-  }
-
-  private static void markAnchor(BoardState board, boolean[][] anchors, int row, int col) {
-    if (row < 0 || row >= Coordinate.SIZE || col < 0 || col >= Coordinate.SIZE) {
-      return;
-    }
-    Coordinate coord = new Coordinate(row, col);
-    if (!board.hasTile(coord)) {
-      anchors[row][col] = true;
-    }
-  }
-
-  private static boolean placementsTouchAnchor(Map<Coordinate, PlacedTile> placements, boolean[][] anchors) {
+  private static boolean placementsTouchAnchor(
+      Map<Coordinate, PlacedTile> placements, BoardAnalysis analysis) {
     for (Coordinate coordinate : placements.keySet()) {
-      if (anchors[coordinate.rowIndex()][coordinate.colIndex()]) {
+      if (analysis.isAnchor(coordinate.rowIndex(), coordinate.colIndex())) {
         return true;
       }
     }
     return false;
   }
 
-  private static boolean[] allowedLettersFor(
-      BoardState board,
-      Coordinate coord,
-      Direction direction,
-      WordDictionary dictionary) {
-    Direction cross = direction == Direction.HORIZONTAL ? Direction.VERTICAL : Direction.HORIZONTAL;
-    String prefix = readCross(board, coord, cross, -1);
-    String suffix = readCross(board, coord, cross, 1);
-    if (prefix.isEmpty() && suffix.isEmpty()) {
-      return null;
-    }
-    boolean[] allowed = new boolean[Character.MAX_VALUE + 1];
-    for (char letter : LETTER_POOL) {
-      String word = prefix + letter + suffix;
-      if (dictionary.contains(word)) {
-        allowed[letter] = true;
-      }
-    }
-    return allowed;
-  }
-
-  private static String readCross(BoardState board, Coordinate origin, Direction direction, int step) {
-    StringBuilder builder = new StringBuilder();
-    int row = origin.rowIndex();
-    int col = origin.colIndex();
-    while (true) {
-      row += direction == Direction.VERTICAL ? step : 0;
-      col += direction == Direction.HORIZONTAL ? step : 0;
-      if (row < 0 || row >= Coordinate.SIZE || col < 0 || col >= Coordinate.SIZE) {
-        break;
-      }
-      Coordinate coord = new Coordinate(row, col);
-      Optional<PlacedTile> tile = board.tileAt(coord);
-      if (tile.isEmpty()) {
-        break;
-      }
-      if (step < 0) {
-        builder.insert(0, tile.get().assignedLetter());
-      } else {
-        builder.append(tile.get().assignedLetter());
-      }
-    }
-    return builder.toString();
-  }
-
-  private static Coordinate coordinateFor(Direction direction, int line, int index) {
+  static Coordinate coordinateFor(Direction direction, int line, int index) {
     if (direction == Direction.HORIZONTAL) {
-      return new Coordinate(line, index);
+      return Coordinate.of(line, index);
     }
-    return new Coordinate(index, line);
+    return Coordinate.of(index, line);
   }
 
   private static char[] buildLetterPool() {
@@ -344,7 +370,19 @@ public final class AiMoveGenerator {
     return pool;
   }
 
-  private static String buildKey(Map<Coordinate, PlacedTile> placements) {
+  private static int[] buildLetterBits() {
+    char max = 0;
+    for (char letter : LETTER_POOL) {
+      max = (char) Math.max(max, letter);
+    }
+    int[] bits = new int[max + 1];
+    for (int i = 0; i < LETTER_POOL.length; i++) {
+      bits[LETTER_POOL[i]] = 1 << i;
+    }
+    return bits;
+  }
+
+  static String buildKey(Map<Coordinate, PlacedTile> placements) {
     return placements.entrySet().stream()
         .sorted(Map.Entry.comparingByKey((a, b) -> {
           int row = Integer.compare(a.rowIndex(), b.rowIndex());
@@ -357,7 +395,7 @@ public final class AiMoveGenerator {
         .reduce("", (left, right) -> left + "|" + right);
   }
 
-  private static final class CandidateCounter {
+  static final class CandidateCounter {
     private final int max;
     private int count;
 
@@ -374,7 +412,7 @@ public final class AiMoveGenerator {
     }
   }
 
-  private static final class BestMove {
+  static final class BestMove {
     private AiMove result;
     private int score;
     private int tilesUsed;
@@ -388,5 +426,9 @@ public final class AiMoveGenerator {
         tilesUsed = nextTiles;
       }
     }
+
+    Optional<AiMove> result() {
+      return Optional.ofNullable(result);
+    }
   }
 }
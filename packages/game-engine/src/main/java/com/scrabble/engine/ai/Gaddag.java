@@ -0,0 +1,13 @@
+package com.scrabble.engine.ai;
+
+public interface Gaddag {
+  Node root();
+
+  interface Node {
+    Node next(char letter);
+
+    Node pivot();
+
+    boolean isWord();
+  }
+}
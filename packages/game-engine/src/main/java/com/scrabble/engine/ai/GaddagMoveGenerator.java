@@ -0,0 +1,259 @@
+package com.scrabble.engine.ai;
+
+import com.scrabble.engine.Board;
+import com.scrabble.engine.BoardAnalysis;
+import com.scrabble.engine.BoardState;
+import com.scrabble.engine.Coordinate;
+import com.scrabble.engine.Direction;
+import com.scrabble.engine.MovePlacement;
+import com.scrabble.engine.MoveValidator;
+import com.scrabble.engine.PlacedTile;
+import com.scrabble.engine.Player;
+import com.scrabble.engine.ScoringResult;
+import com.scrabble.engine.Scorer;
+import com.scrabble.engine.Tile;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Grows words outward from each anchor square: first leftwards through the reversed prefix,
+// then across the GADDAG separator and rightwards through the suffix. Only letter sequences
+// that are part of some dictionary word are ever explored.
+public final class GaddagMoveGenerator {
+
+  public Optional<AiMove> bestMove(
+      BoardState board,
+      Player player,
+      Board premiums,
+      WordDictionary dictionary,
+      Gaddag gaddag) {
+    return bestMove(board, player, premiums, dictionary, gaddag, AiMoveGenerator.DEFAULT_MAX_CANDIDATES);
+  }
+
+  public Optional<AiMove> bestMove(
+      BoardState board,
+      Player player,
+      Board premiums,
+      WordDictionary dictionary,
+      Gaddag gaddag,
+      int maxCandidates) {
+    return bestMove(BoardAnalysis.of(board, dictionary::crossCheckMask),
+        player, premiums, dictionary, gaddag, maxCandidates);
+  }
+
+  public Optional<AiMove> bestMove(
+      BoardAnalysis analysis,
+      Player player,
+      Board premiums,
+      WordDictionary dictionary,
+      Gaddag gaddag,
+      int maxCandidates) {
+    if (player.rack().tiles().isEmpty()) {
+      return Optional.empty();
+    }
+
+    BoardState board = analysis.board();
+
+    List<Tile> rack = new ArrayList<>(player.rack().tiles());
+    Set<String> seen = new HashSet<>();
+    AiMoveGenerator.BestMove best = new AiMoveGenerator.BestMove();
+    AiMoveGenerator.CandidateCounter counter = new AiMoveGenerator.CandidateCounter(maxCandidates);
+
+    for (Direction direction : EnumSet.of(Direction.HORIZONTAL, Direction.VERTICAL)) {
+      for (int line = 0; line < Coordinate.SIZE && !counter.exhausted(); line++) {
+        LineSearch search = new LineSearch(
+            board, rack, premiums, gaddag, direction, line, best, seen, counter);
+        search.run(analysis);
+      }
+    }
+
+    return best.result();
+  }
+
+  private static final class LineSearch {
+    private final BoardState board;
+    private final List<Tile> rack;
+    private final Board premiums;
+    private final Gaddag gaddag;
+    private final Direction direction;
+    private final int line;
+    private final AiMoveGenerator.BestMove best;
+    private final Set<String> seen;
+    private final AiMoveGenerator.CandidateCounter counter;
+    private final PlacedTile[] lineTiles = new PlacedTile[Coordinate.SIZE];
+    private final int[] crossChecks = new int[Coordinate.SIZE];
+    private final boolean[] lineAnchors = new boolean[Coordinate.SIZE];
+    private final boolean[] used;
+    private final Map<Coordinate, PlacedTile> placements = new HashMap<>();
+    private int anchor;
+
+    LineSearch(
+        BoardState board,
+        List<Tile> rack,
+        Board premiums,
+        Gaddag gaddag,
+        Direction direction,
+        int line,
+        AiMoveGenerator.BestMove best,
+        Set<String> seen,
+        AiMoveGenerator.CandidateCounter counter) {
+      this.board = board;
+      this.rack = rack;
+      this.premiums = premiums;
+      this.gaddag = gaddag;
+      this.direction = direction;
+      this.line = line;
+      this.best = best;
+      this.seen = seen;
+      this.counter = counter;
+      this.used = new boolean[rack.size()];
+    }
+
+    void run(BoardAnalysis analysis) {
+      boolean hasAnchor = false;
+      for (int index = 0; index < Coordinate.SIZE; index++) {
+        int row = direction == Direction.HORIZONTAL ? line : index;
+        int col = direction == Direction.HORIZONTAL ? index : line;
+        lineTiles[index] = board.placedAt(row, col);
+        lineAnchors[index] = analysis.isAnchor(row, col);
+        hasAnchor |= lineAnchors[index];
+      }
+      if (!hasAnchor) {
+        return;
+      }
+      for (int index = 0; index < Coordinate.SIZE; index++) {
+        if (lineTiles[index] == null) {
+          crossChecks[index] = direction == Direction.HORIZONTAL
+              ? analysis.crossCheck(direction, line, index)
+              : analysis.crossCheck(direction, index, line);
+        }
+      }
+
+      for (int index = 0; index < Coordinate.SIZE && !counter.exhausted(); index++) {
+        if (lineAnchors[index]) {
+          anchor = index;
+          placeFromRack(index, gaddag.root(), true);
+        }
+      }
+    }
+
+    // Squares left of the anchor may not be anchors themselves, so every move is generated
+    // once, from the leftmost anchor it covers.
+    private void extendLeft(int position, Gaddag.Node node) {
+      if (counter.exhausted()) {
+        return;
+      }
+      if (position >= 0 && lineTiles[position] != null) {
+        Gaddag.Node next = node.next(lineTiles[position].assignedLetter());
+        if (next != null) {
+          extendLeft(position - 1, next);
+        }
+        return;
+      }
+      Gaddag.Node pivot = node.pivot();
+      if (pivot != null) {
+        extendRight(anchor + 1, pivot);
+      }
+      if (position >= 0 && !lineAnchors[position]) {
+        placeFromRack(position, node, true);
+      }
+    }
+
+    private void extendRight(int position, Gaddag.Node node) {
+      if (counter.exhausted()) {
+        return;
+      }
+      if (position < Coordinate.SIZE && lineTiles[position] != null) {
+        Gaddag.Node next = node.next(lineTiles[position].assignedLetter());
+        if (next != null) {
+          extendRight(position + 1, next);
+        }
+        return;
+      }
+      if (node.isWord()) {
+        evaluateCandidate();
+      }
+      if (position < Coordinate.SIZE) {
+        placeFromRack(position, node, false);
+      }
+    }
+
+    private void placeFromRack(int position, Gaddag.Node node, boolean leftward) {
+      int allowed = crossChecks[position];
+      if ((AiMoveGenerator.rackMask(rack, used) & allowed) == 0) {
+        return;
+      }
+      Coordinate coord = AiMoveGenerator.coordinateFor(direction, line, position);
+      for (int i = 0; i < rack.size() && !counter.exhausted(); i++) {
+        if (used[i] || triedEarlier(i)) {
+          continue;
+        }
+        Tile tile = rack.get(i);
+        used[i] = true;
+        if (tile.blank()) {
+          for (int bits = allowed & AiMoveGenerator.ALL_LETTERS; bits != 0; bits &= bits - 1) {
+            if (counter.exhausted()) {
+              break;
+            }
+            char letter = AiMoveGenerator.LETTER_POOL[Integer.numberOfTrailingZeros(bits)];
+            tryTile(position, node, leftward, coord, PlacedTile.of(tile, letter));
+          }
+        } else if ((allowed & AiMoveGenerator.letterBit(tile.letter())) != 0) {
+          tryTile(position, node, leftward, coord, PlacedTile.fromTile(tile));
+        }
+        used[i] = false;
+      }
+    }
+
+    private void tryTile(
+        int position,
+        Gaddag.Node node,
+        boolean leftward,
+        Coordinate coord,
+        PlacedTile placed) {
+      Gaddag.Node next = node.next(placed.assignedLetter());
+      if (next == null) {
+        return;
+      }
+      placements.put(coord, placed);
+      if (leftward) {
+        extendLeft(position - 1, next);
+      } else {
+        extendRight(position + 1, next);
+      }
+      placements.remove(coord);
+    }
+
+    private boolean triedEarlier(int index) {
+      Tile tile = rack.get(index);
+      for (int i = 0; i < index; i++) {
+        if (!used[i] && rack.get(i).equals(tile)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void evaluateCandidate() {
+      String key = AiMoveGenerator.buildKey(placements);
+      if (!seen.add(key)) {
+        return;
+      }
+
+      try {
+        MovePlacement move = new MovePlacement(Map.copyOf(placements));
+        MoveValidator.validatePlacement(board, move);
+        ScoringResult scoring = Scorer.score(board, move, premiums);
+        counter.increment();
+        best.update(move, scoring);
+      } catch (RuntimeException ignored) {
+        // ignore illegal candidates
+      }
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.scrabble.engine.ai;
+
+final class StringWordCursor implements WordCursor {
+  private final WordDictionary dictionary;
+  private final StringBuilder prefix;
+  private boolean dead;
+
+  StringWordCursor(WordDictionary dictionary) {
+    this(dictionary, new StringBuilder(), false);
+  }
+
+  private StringWordCursor(WordDictionary dictionary, StringBuilder prefix, boolean dead) {
+    this.dictionary = dictionary;
+    this.prefix = prefix;
+    this.dead = dead;
+  }
+
+  @Override
+  public boolean advance(char letter) {
+    if (dead) {
+      return false;
+    }
+    prefix.append(letter);
+    dead = !dictionary.containsPrefix(prefix.toString());
+    return !dead;
+  }
+
+  @Override
+  public boolean isWord() {
+    return !dead && dictionary.contains(prefix.toString());
+  }
+
+  @Override
+  public boolean isDead() {
+    return dead;
+  }
+
+  @Override
+  public WordCursor copy() {
+    return new StringWordCursor(dictionary, new StringBuilder(prefix), dead);
+  }
+}
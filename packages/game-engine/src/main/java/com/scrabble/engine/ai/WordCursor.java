@@ -0,0 +1,27 @@
+package com.scrabble.engine.ai;
+
+// Extends a prefix one letter at a time. A cursor and its copies must stay on one thread.
+public interface WordCursor {
+  boolean advance(char letter);
+
+  boolean isWord();
+
+  boolean isDead();
+
+  WordCursor copy();
+
+  // Fewest and most letters that can still complete a word (0 when the prefix is one), and the
+  // letters that can appear below the prefix as a LetterTile ordinal mask. The defaults report
+  // no bound, so only dictionaries that know them prune with them.
+  default int minRemaining() {
+    return 0;
+  }
+
+  default int maxRemaining() {
+    return Integer.MAX_VALUE;
+  }
+
+  default int reachableLetters() {
+    return -1;
+  }
+}
@@ -1,9 +1,31 @@
 package com.scrabble.engine.ai;
 
+import com.scrabble.engine.LetterTile;
+import java.util.Optional;
+
 public interface WordDictionary {
   boolean contains(String word);
 
   default boolean containsPrefix(String prefix) {
     return true;
   }
+
+  // Bit i is set when prefix + the letter of LetterTile ordinal i + suffix is a word.
+  default int crossCheckMask(String prefix, String suffix) {
+    int mask = 0;
+    for (LetterTile tile : LetterTile.values()) {
+      if (!tile.isBlank() && contains(prefix + tile.letter() + suffix)) {
+        mask |= 1 << tile.ordinal();
+      }
+    }
+    return mask;
+  }
+
+  default WordCursor cursor() {
+    return new StringWordCursor(this);
+  }
+
+  default Optional<Gaddag> gaddag() {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,124 @@
+package com.scrabble.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardAnalysisTest {
+  private static final Set<String> WORDS = Set.of("KOT", "KOC", "OK", "TO", "KOTY");
+
+  @Test
+  void marksOnlyTheCentreOfAnEmptyBoard() {
+    // given
+    BoardAnalysis analysis = BoardAnalysis.of(BoardState.empty(), BoardAnalysisTest::crossCheck);
+
+    // when / then
+    assertThat(analysis.anchorMask(7)).isEqualTo(1 << 7);
+    assertThat(analysis.anchorMask(6)).isZero();
+    assertThat(analysis.crossCheck(Direction.HORIZONTAL, 7, 7))
+        .isEqualTo(BoardAnalysis.UNCONSTRAINED);
+  }
+
+  @Test
+  void derivesAnchorsAndCrossChecksFromNeighbouringTiles() {
+    // given
+    BoardAnalysis analysis = BoardAnalysis.of(BoardState.empty(), BoardAnalysisTest::crossCheck)
+        .withPlaced(placements("H7", 'K', "H8", 'O'));
+
+    // when
+    int belowO = analysis.crossCheck(Direction.HORIZONTAL, 8, 7);
+    int afterO = analysis.crossCheck(Direction.VERTICAL, 7, 8);
+
+    // then
+    assertThat(analysis.isAnchor(7, 5)).isTrue();
+    assertThat(analysis.isAnchor(7, 8)).isTrue();
+    assertThat(analysis.isAnchor(6, 6)).isTrue();
+    assertThat(analysis.isAnchor(7, 6)).isFalse();
+    assertThat(analysis.isAnchor(5, 6)).isFalse();
+    assertThat(belowO).isEqualTo(bits(LetterTile.K));
+    assertThat(afterO).isEqualTo(bits(LetterTile.C, LetterTile.T));
+    assertThat(analysis.crossCheck(Direction.HORIZONTAL, 7, 7)).isZero();
+    assertThat(analysis.crossCheck(Direction.HORIZONTAL, 0, 0))
+        .isEqualTo(BoardAnalysis.UNCONSTRAINED);
+  }
+
+  @Test
+  void updatesToTheSameResultAsAFreshAnalysis() {
+    // given
+    BoardAnalysis first = BoardAnalysis.of(BoardState.empty(), BoardAnalysisTest::crossCheck)
+        .withPlaced(placements("H7", 'K', "H8", 'O', "H9", 'T'));
+    AtomicInteger calls = new AtomicInteger();
+    BoardAnalysis.CrossCheck counting = (prefix, suffix) -> {
+      calls.incrementAndGet();
+      return crossCheck(prefix, suffix);
+    };
+    BoardAnalysis tracked = BoardAnalysis.of(first.board(), counting);
+    calls.set(0);
+
+    // when
+    BoardAnalysis next = tracked.withPlaced(placements("I9", 'O'));
+    BoardAnalysis fresh = BoardAnalysis.of(next.board(), BoardAnalysisTest::crossCheck);
+
+    // then
+    assertThat(calls.get()).isEqualTo(4);
+    assertThat(next.update(next.board())).isSameAs(next);
+    for (int row = 0; row < Coordinate.SIZE; row++) {
+      assertThat(next.anchorMask(row)).isEqualTo(fresh.anchorMask(row));
+      for (int col = 0; col < Coordinate.SIZE; col++) {
+        for (Direction direction : Direction.values()) {
+          assertThat(next.crossCheck(direction, row, col))
+              .isEqualTo(fresh.crossCheck(direction, row, col));
+        }
+      }
+    }
+  }
+
+  @Test
+  void startsOverWhenTheBoardIsNotAContinuation() {
+    // given
+    BoardAnalysis analysis = BoardAnalysis.of(BoardState.empty(), BoardAnalysisTest::crossCheck)
+        .withPlaced(placements("H7", 'K', "H8", 'O'));
+    BoardState other = BoardState.empty().withPlaced(placements("H8", 'T', "H9", 'O'));
+
+    // when
+    BoardAnalysis next = analysis.update(other);
+
+    // then
+    assertThat(next.board()).isSameAs(other);
+    assertThat(next.isAnchor(7, 6)).isTrue();
+    assertThat(next.isAnchor(7, 5)).isFalse();
+    assertThat(next.crossCheck(Direction.HORIZONTAL, 8, 7)).isEqualTo(bits(LetterTile.O));
+  }
+
+  private static Map<Coordinate, PlacedTile> placements(Object... squares) {
+    Map<Coordinate, PlacedTile> placements = new HashMap<>();
+    for (int i = 0; i < squares.length; i += 2) {
+      char letter = (Character) squares[i + 1];
+      placements.put(
+          Coordinate.parse((String) squares[i]), PlacedTile.fromTile(Tile.of(letter, 1)));
+    }
+    return placements;
+  }
+
+  private static int crossCheck(String prefix, String suffix) {
+    int mask = 0;
+    for (LetterTile tile : LetterTile.values()) {
+      if (!tile.isBlank() && WORDS.contains(prefix + tile.letter() + suffix)) {
+        mask |= 1 << tile.ordinal();
+      }
+    }
+    return mask;
+  }
+
+  private static int bits(LetterTile... tiles) {
+    int mask = 0;
+    for (LetterTile tile : tiles) {
+      mask |= 1 << tile.ordinal();
+    }
+    return mask;
+  }
+}
@@ -3,6 +3,7 @@ package com.scrabble.engine;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BoardPremiumTest {
 
@@ -20,4 +21,50 @@ class BoardPremiumTest {
     // then
     assertThat(board.premiumAt(Coordinate.parse("A2"))).isEmpty();
   }
+
+  @Test
+  void precomputesMultipliersForEverySquare() {
+    // given
+    Board board = Board.standard();
+
+    // when
+    int center = BoardState.indexOf(7, 7);
+    int tripleLetter = BoardState.indexOf(1, 5);
+    int plain = BoardState.indexOf(0, 1);
+
+    // then
+    assertThat(board.wordMultiplier(center)).isEqualTo(2);
+    assertThat(board.letterMultiplier(center)).isEqualTo(1);
+    assertThat(board.letterMultiplier(tripleLetter)).isEqualTo(3);
+    assertThat(board.wordMultiplier(BoardState.indexOf(0, 0))).isEqualTo(3);
+    assertThat(board.letterMultiplier(plain)).isEqualTo(1);
+    assertThat(board.wordMultiplier(plain)).isEqualTo(1);
+  }
+
+  @Test
+  void loadsCustomLayoutsFromADescriptor() {
+    // given
+    String row = "...............";
+    String descriptor = "T.............d/" + (row + "/").repeat(6)
+        + ".......D......./" + (row + "/").repeat(6) + "t..............";
+
+    // when
+    Board board = Board.fromDescriptor(descriptor);
+    Board standard = Board.fromDescriptor(Board.standard().descriptor());
+
+    // then
+    assertThat(board.premiumAt(Coordinate.parse("A1"))).contains(Premium.TW);
+    assertThat(board.premiumAt(Coordinate.parse("A15"))).contains(Premium.DL);
+    assertThat(board.premiumAt(Coordinate.parse("O1"))).contains(Premium.TL);
+    assertThat(board.wordMultiplier(BoardState.indexOf(7, 7))).isEqualTo(2);
+    assertThat(board.premiumAt(Coordinate.parse("B6"))).isEmpty();
+    assertThat(standard.descriptor()).isEqualTo(Board.standard().descriptor());
+    assertThat(standard.premiumAt(Coordinate.parse("B6"))).contains(Premium.TL);
+    assertThatThrownBy(() -> Board.fromDescriptor(row))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("15 rows");
+    assertThatThrownBy(() -> Board.fromDescriptor(descriptor.replace('T', 'X')))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Unknown premium code");
+  }
 }
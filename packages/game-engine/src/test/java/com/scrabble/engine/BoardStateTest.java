@@ -0,0 +1,62 @@
+package com.scrabble.engine;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoardStateTest {
+
+  @Test
+  void tracksOccupancyInRowAndColumnMasks() {
+    // given
+    BoardState board = BoardState.empty().withPlaced(Map.of(
+        Coordinate.parse("H8"), PlacedTile.fromTile(Tile.of('A', 1)),
+        Coordinate.parse("H9"), PlacedTile.fromTile(Tile.of('B', 3)),
+        Coordinate.parse("A1"), PlacedTile.fromTile(Tile.of('C', 2))));
+
+    // when
+    BoardState next = board.withPlaced(Map.of(
+        Coordinate.parse("I8"), PlacedTile.fromTile(Tile.of('D', 2))));
+
+    // then
+    assertThat(board.size()).isEqualTo(3);
+    assertThat(next.size()).isEqualTo(4);
+    assertThat(board.hasTile(Coordinate.parse("I8"))).isFalse();
+    assertThat(next.placedAt(8, 7).assignedLetter()).isEqualTo('D');
+    assertThat(next.placedAt(7, 9)).isNull();
+    assertThat(next.hasTile(-1, 0)).isFalse();
+    assertThat(next.rowMask(7)).isEqualTo(1 << 7 | 1 << 8);
+    assertThat(next.columnMask(7)).isEqualTo(1 << 7 | 1 << 8);
+    assertThat(next.lineMask(Direction.HORIZONTAL, 0)).isEqualTo(1);
+    assertThat(next.hasNeighbour(7, 9)).isTrue();
+    assertThat(next.hasNeighbour(0, 1)).isTrue();
+    assertThat(next.hasNeighbour(14, 14)).isFalse();
+    assertThat(List.copyOf(next.tiles().keySet())).containsExactly(
+        Coordinate.parse("A1"), Coordinate.parse("H8"),
+        Coordinate.parse("H9"), Coordinate.parse("I8"));
+    assertThatThrownBy(() -> next.withPlaced(Map.of(
+        Coordinate.parse("H8"), PlacedTile.fromTile(Tile.of('E', 1)))))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("already occupied");
+  }
+
+  @Test
+  void findsRunsAndGapsWithMaskArithmetic() {
+    // given
+    int mask = 0b110_0111_0000;
+
+    // when / then
+    assertThat(BoardState.runStart(mask, 7)).isEqualTo(4);
+    assertThat(BoardState.runEnd(mask, 7)).isEqualTo(7);
+    assertThat(BoardState.runStart(mask, 0)).isZero();
+    assertThat(BoardState.runEnd(mask, 8)).isEqualTo(10);
+    assertThat(BoardState.runEnd(0x7FFF, 14)).isEqualTo(14);
+    assertThat(BoardState.covers(mask, 4, 6)).isTrue();
+    assertThat(BoardState.covers(mask, 4, 9)).isFalse();
+    assertThat(BoardState.adjacentBits(0)).isEqualTo(0b10);
+    assertThat(BoardState.adjacentBits(5)).isEqualTo(0b101_0000);
+  }
+}
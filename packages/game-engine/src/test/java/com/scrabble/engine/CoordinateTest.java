@@ -52,4 +52,19 @@ class CoordinateTest {
         .isInstanceOf(IllegalArgumentException.class);
     // then
   }
+
+  @Test
+  void ofReturnsTheSharedInstanceForEachSquare() {
+    // given
+    Coordinate center = Coordinate.of(7, 7);
+
+    // when
+    Coordinate parsed = Coordinate.parse("H8");
+
+    // then
+    assertThat(parsed).isSameAs(center);
+    assertThat(Coordinate.of(14, 0)).isSameAs(Coordinate.of(14, 0));
+    assertThatThrownBy(() -> Coordinate.of(15, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
 }
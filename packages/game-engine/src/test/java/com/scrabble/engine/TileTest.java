@@ -35,4 +35,26 @@ class TileTest {
         .isInstanceOf(IllegalArgumentException.class);
     // then
   }
+
+  @Test
+  void sharesTileAndPlacedTileInstances() {
+    // given
+    Tile kay = LetterTile.K.toTile();
+
+    // when
+    PlacedTile placed = PlacedTile.fromTile(Tile.of('K', 2));
+    PlacedTile blank = PlacedTile.of(Tile.blankTile(), 'K');
+
+    // then
+    assertThat(Tile.of('K', 2)).isSameAs(kay);
+    assertThat(Tile.of('K', 5)).isNotSameAs(kay);
+    assertThat(Tile.blankTile()).isSameAs(LetterTile.BLANK.toTile());
+    assertThat(placed).isSameAs(PlacedTile.of(kay, 'K'));
+    assertThat(blank).isSameAs(PlacedTile.of(Tile.blankTile(), 'K'));
+    assertThat(blank.tile().blank()).isTrue();
+    assertThat(PlacedTile.of(new Tile('?', 0, true), 'K').tile().letter()).isEqualTo('?');
+    assertThat(PlacedTile.of(Tile.of('K', 5), 'K').tile().points()).isEqualTo(5);
+    assertThatThrownBy(() -> PlacedTile.of(kay, 'A'))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
 }
@@ -6,7 +6,10 @@ import com.scrabble.engine.Board;
 import com.scrabble.engine.BoardState;
 import com.scrabble.engine.LetterTile;
 import com.scrabble.engine.MoveValidator;
+import com.scrabble.engine.PlacedTile;
 import com.scrabble.engine.Player;
+import com.scrabble.engine.Tile;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 
@@ -51,4 +54,137 @@ class AiMoveGeneratorTest {
         .anyMatch(word -> word.text().equals("ŹŹ"));
     assertThat(move.scoringResult().totalScore()).isGreaterThan(2);
   }
+
+  @Test
+  void findsSameMoveWhenTheCursorReportsPruningBounds() {
+    // given
+    Player player = new Player("Bot");
+    for (LetterTile tile : List.of(LetterTile.K, LetterTile.O, LetterTile.T, LetterTile.Y)) {
+      player.rack().add(tile.toTile());
+    }
+    Set<String> words = Set.of("KOT", "KOTY", "TOK", "OK");
+    AiMoveGenerator generator = new AiMoveGenerator();
+
+    // when
+    AiMove plain = generator.bestMove(
+        BoardState.empty(), player, Board.standard(), words::contains).orElseThrow();
+    AiMove pruned = generator.bestMove(
+        BoardState.empty(), player, Board.standard(), new BoundedDictionary(words)).orElseThrow();
+
+    // then
+    assertThat(pruned.scoringResult().words().get(0).text()).isEqualTo("KOTY");
+    assertThat(pruned.scoringResult().totalScore())
+        .isEqualTo(plain.scoringResult().totalScore());
+  }
+
+  @Test
+  void stopsBranchesThatCannotCompleteTheWindow() {
+    // given
+    WordCursor cursor = new BoundedDictionary(Set.of("KOT", "KOTY")).cursor();
+    cursor.advance('K');
+    cursor.advance('O');
+    List<Tile> rack = List.of(LetterTile.T.toTile(), LetterTile.A.toTile());
+    boolean[] used = new boolean[rack.size()];
+    PlacedTile[] lineTiles = new PlacedTile[15];
+
+    // when
+    boolean fits = AiMoveGenerator.canComplete(cursor, rack, used, lineTiles, 2, 2);
+    boolean tooLong = AiMoveGenerator.canComplete(cursor, rack, used, lineTiles, 2, 4);
+    boolean shortOfTiles = AiMoveGenerator.canComplete(cursor, rack, used, lineTiles, 2, 3);
+    used[0] = true;
+    boolean unreachable = AiMoveGenerator.canComplete(cursor, rack, used, lineTiles, 2, 2);
+    boolean blank = AiMoveGenerator.canComplete(
+        cursor, List.of(Tile.blankTile()), new boolean[1], lineTiles, 2, 2);
+
+    // then
+    assertThat(fits).isTrue();
+    assertThat(tooLong).isFalse();
+    assertThat(shortOfTiles).isFalse();
+    assertThat(unreachable).isFalse();
+    assertThat(blank).isTrue();
+  }
+
+  @Test
+  void masksUnusedRackLettersByTileOrdinal() {
+    // given
+    List<Tile> rack = List.of(LetterTile.K.toTile(), LetterTile.O.toTile(), Tile.blankTile());
+    boolean[] used = {false, true, true};
+
+    // when
+    int letters = AiMoveGenerator.rackMask(rack, used);
+    used[2] = false;
+    int withBlank = AiMoveGenerator.rackMask(rack, used);
+
+    // then
+    assertThat(letters).isEqualTo(1 << LetterTile.K.ordinal());
+    assertThat(withBlank).isEqualTo(AiMoveGenerator.ALL_LETTERS);
+    assertThat(letters & (1 << LetterTile.O.ordinal())).isZero();
+  }
+
+  // Reports exact bounds by scanning the words below the prefix.
+  private record BoundedDictionary(Set<String> words) implements WordDictionary {
+    @Override
+    public boolean contains(String word) {
+      return words.contains(word);
+    }
+
+    @Override
+    public WordCursor cursor() {
+      return new BoundedCursor(words, "");
+    }
+  }
+
+  private static final class BoundedCursor implements WordCursor {
+    private final Set<String> words;
+    private String prefix;
+
+    BoundedCursor(Set<String> words, String prefix) {
+      this.words = words;
+      this.prefix = prefix;
+    }
+
+    @Override
+    public boolean advance(char letter) {
+      prefix += letter;
+      return !isDead();
+    }
+
+    @Override
+    public boolean isWord() {
+      return words.contains(prefix);
+    }
+
+    @Override
+    public boolean isDead() {
+      return below().isEmpty();
+    }
+
+    @Override
+    public WordCursor copy() {
+      return new BoundedCursor(words, prefix);
+    }
+
+    @Override
+    public int minRemaining() {
+      return below().stream().mapToInt(word -> word.length() - prefix.length()).min()
+          .orElse(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int maxRemaining() {
+      return below().stream().mapToInt(word -> word.length() - prefix.length()).max().orElse(0);
+    }
+
+    @Override
+    public int reachableLetters() {
+      return below().stream()
+          .flatMapToInt(word -> word.substring(prefix.length()).chars())
+          .map(letter -> AiMoveGenerator.letterBit((char) letter))
+          .reduce(0, (a, b) -> a | b);
+    }
+
+    private List<String> below() {
+      return words.stream().filter(word -> word.startsWith(prefix)).toList();
+    }
+  }
 }
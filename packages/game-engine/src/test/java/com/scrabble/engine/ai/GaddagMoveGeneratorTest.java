@@ -0,0 +1,93 @@
+package com.scrabble.engine.ai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.scrabble.engine.Board;
+import com.scrabble.engine.BoardState;
+import com.scrabble.engine.Coordinate;
+import com.scrabble.engine.LetterTile;
+import com.scrabble.engine.MoveValidator;
+import com.scrabble.engine.PlacedTile;
+import com.scrabble.engine.Player;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class GaddagMoveGeneratorTest {
+
+  @Test
+  void findsSameBestScoreAsWindowSearchOnEmptyBoard() {
+    // given
+    Set<String> words = Set.of("KOT", "KOTY", "TOK", "OKO", "KOTA");
+    Player player = playerWith(LetterTile.K, LetterTile.O, LetterTile.T, LetterTile.Y, LetterTile.A);
+    WordDictionary plain = words::contains;
+    TestGaddag gaddag = new TestGaddag(words);
+
+    // when
+    AiMove expected = new AiMoveGenerator()
+        .bestMove(BoardState.empty(), player, Board.standard(), plain).orElseThrow();
+    AiMove actual = new GaddagMoveGenerator()
+        .bestMove(BoardState.empty(), player, Board.standard(), plain, gaddag).orElseThrow();
+
+    // then
+    MoveValidator.validatePlacement(BoardState.empty(), actual.placement());
+    assertThat(actual.scoringResult().totalScore()).isEqualTo(expected.scoringResult().totalScore());
+  }
+
+  @Test
+  void extendsExistingWordThroughBoardTiles() {
+    // given
+    Set<String> words = Set.of("KOT", "SKOTY");
+    BoardState board = BoardState.empty().withPlaced(Map.of(
+        Coordinate.parse("H7"), PlacedTile.fromTile(LetterTile.K.toTile()),
+        Coordinate.parse("H8"), PlacedTile.fromTile(LetterTile.O.toTile()),
+        Coordinate.parse("H9"), PlacedTile.fromTile(LetterTile.T.toTile())));
+    Player player = playerWith(LetterTile.S, LetterTile.Y);
+    WordDictionary plain = words::contains;
+
+    // when
+    Optional<AiMove> move = new GaddagMoveGenerator()
+        .bestMove(board, player, Board.standard(), plain, new TestGaddag(words));
+
+    // then
+    assertThat(move).isPresent();
+    assertThat(move.get().placement().placements())
+        .containsKeys(Coordinate.parse("H6"), Coordinate.parse("H10"));
+    assertThat(move.get().scoringResult().words().get(0).text()).isEqualTo("SKOTY");
+  }
+
+  @Test
+  void windowSearchDelegatesWhenDictionaryExposesGaddag() {
+    // given
+    Set<String> words = Set.of("CAT");
+    TestGaddag gaddag = new TestGaddag(words);
+    WordDictionary dictionary = new WordDictionary() {
+      @Override
+      public boolean contains(String word) {
+        return words.contains(word);
+      }
+
+      @Override
+      public Optional<Gaddag> gaddag() {
+        return Optional.of(gaddag);
+      }
+    };
+    Player player = playerWith(LetterTile.C, LetterTile.A, LetterTile.T);
+
+    // when
+    AiMove move = new AiMoveGenerator()
+        .bestMove(BoardState.empty(), player, Board.standard(), dictionary).orElseThrow();
+
+    // then
+    assertThat(move.scoringResult().words().get(0).text()).isEqualTo("CAT");
+  }
+
+  private static Player playerWith(LetterTile... letters) {
+    Player player = new Player("Bot");
+    for (LetterTile letter : letters) {
+      player.rack().add(letter.toTile());
+    }
+    return player;
+  }
+}
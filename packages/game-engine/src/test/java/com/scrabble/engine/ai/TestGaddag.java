@@ -0,0 +1,55 @@
+package com.scrabble.engine.ai;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+final class TestGaddag implements Gaddag {
+  private static final char SEPARATOR = '^';
+
+  private final TrieNode root = new TrieNode();
+
+  TestGaddag(Set<String> words) {
+    for (String word : words) {
+      for (int split = 1; split <= word.length(); split++) {
+        String entry = new StringBuilder(word.substring(0, split)).reverse()
+            + String.valueOf(SEPARATOR)
+            + word.substring(split);
+        add(entry);
+      }
+    }
+  }
+
+  @Override
+  public Node root() {
+    return root;
+  }
+
+  private void add(String entry) {
+    TrieNode node = root;
+    for (int i = 0; i < entry.length(); i++) {
+      node = node.children.computeIfAbsent(entry.charAt(i), letter -> new TrieNode());
+    }
+    node.terminal = true;
+  }
+
+  private static final class TrieNode implements Node {
+    private final Map<Character, TrieNode> children = new HashMap<>();
+    private boolean terminal;
+
+    @Override
+    public Node next(char letter) {
+      return children.get(letter);
+    }
+
+    @Override
+    public Node pivot() {
+      return children.get(SEPARATOR);
+    }
+
+    @Override
+    public boolean isWord() {
+      return terminal;
+    }
+  }
+}